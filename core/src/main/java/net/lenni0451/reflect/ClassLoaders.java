@@ -2,6 +2,7 @@ package net.lenni0451.reflect;
 
 import lombok.SneakyThrows;
 import net.lenni0451.commons.unchecked.FieldInitializer;
+import net.lenni0451.reflect.bytecode.ConstantPool;
 import net.lenni0451.reflect.exceptions.MethodNotFoundException;
 import net.lenni0451.reflect.stream.RStream;
 
@@ -13,7 +14,7 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.security.ProtectionDomain;
-import java.util.List;
+import java.util.*;
 
 import static net.lenni0451.reflect.JVMConstants.*;
 import static net.lenni0451.reflect.JavaBypass.*;
@@ -65,6 +66,7 @@ public class ClassLoaders {
         Object urlClassPath = Fields.getObject(systemClassLoader, ucpField);
         Method addURLMethod = Methods.getDeclaredMethod(ucpField.getType(), METHOD_URLClassPath_addURL, URL.class);
         Methods.invoke(urlClassPath, addURLMethod, url);
+        Classes.invalidateLookupCache(systemClassLoader);
     }
 
     /**
@@ -127,12 +129,14 @@ public class ClassLoaders {
             throw new IllegalStateException("Unable to find URL in classpath");
         }
 
-        //Force the ClassLoader to load all URLs in the classpath
-        URL nonExistentFile;
-        do {
-            //A deadlock could occur here theoretically, but it is very impossible
-            nonExistentFile = classLoader.getResource("THIS_FILE_SHOULD_NEVER_EXIST_" + System.nanoTime());
-        } while (nonExistentFile != null);
+        if (!openNext(ucp, url)) {
+            //Force the ClassLoader to load all URLs in the classpath
+            URL nonExistentFile;
+            do {
+                //A deadlock could occur here theoretically, but it is very impossible
+                nonExistentFile = classLoader.getResource("THIS_FILE_SHOULD_NEVER_EXIST_" + System.nanoTime());
+            } while (nonExistentFile != null);
+        }
 
         //Move the loader for that URL to the front of the list
         Class<?> jarLoaderClass = Classes.forName(ucp.getClass().getName() + "$JarLoader");
@@ -147,6 +151,32 @@ public class ClassLoaders {
                 }
             }
         }
+        Classes.invalidateLookupCache(classLoader);
+    }
+
+
+    /**
+     * Only open the loader for the given URL instead of all URLs in the classpath.<br>
+     * The URL is moved to the front of the unopened URLs, so it is the next one opened by the URL class path.
+     *
+     * @param ucp The URL class path
+     * @param url The URL to open
+     * @return If the loader for the URL has been opened
+     */
+    private static boolean openNext(final Object ucp, final URL url) {
+        try {
+            Collection<URL> unopenedUrls = RStream.of(ucp).fields().by(FIELD_URLClassPath_unopenedUrls).get();
+            synchronized (unopenedUrls) {
+                if (!unopenedUrls.remove(url)) return false;
+                if (unopenedUrls instanceof Deque) ((Deque<URL>) unopenedUrls).addFirst(url); //Java 9+ polls the first URL
+                else ((Stack<URL>) unopenedUrls).push(url); //Java 8 pops the last URL
+            }
+            List<Object> loaders = RStream.of(ucp).fields().by(FIELD_URLClassPath_loaders).get();
+            RStream.of(ucp).methods().by(METHOD_URLClassPath_getLoader, int.class).invokeArgs(loaders.size());
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
     }
 
 
@@ -191,21 +221,97 @@ public class ClassLoaders {
      */
     @SneakyThrows
     public static Class<?> defineClass(final ClassLoader classLoader, final String name, final byte[] bytecode, final int offset, final int length, final ProtectionDomain protectionDomain) {
+        Class<?> clazz;
         if (classLoader != null) {
-            return (Class<?>) defineClass.invokeExact(classLoader, name, bytecode, offset, length, protectionDomain);
+            clazz = (Class<?>) defineClass.invokeExact(classLoader, name, bytecode, offset, length, protectionDomain);
         } else {
             // A null classloader likely represents the bootstrap classloader
             if (unsafeDefineClass != null) {
                 // Use sun.misc.Unsafe for Java 8
-                return (Class<?>) unsafeDefineClass.invokeExact(UNSAFE, name, bytecode, offset, length, classLoader, protectionDomain);
+                clazz = (Class<?>) unsafeDefineClass.invokeExact(UNSAFE, name, bytecode, offset, length, classLoader, protectionDomain);
             } else if (internalUnsafeDefineClass != null) {
                 // Use jdk.internal.misc.Unsafe
-                return (Class<?>) internalUnsafeDefineClass.invoke(INTERNAL_UNSAFE, name, bytecode, offset, length, classLoader, protectionDomain);
+                clazz = (Class<?>) internalUnsafeDefineClass.invoke(INTERNAL_UNSAFE, name, bytecode, offset, length, classLoader, protectionDomain);
             } else {
                 String className = INTERNAL_UNSAFE != null ? INTERNAL_UNSAFE.getClass().getName() : UNSAFE.getClass().getName();
                 throw new MethodNotFoundException(className, METHOD_INTERNAL_Unsafe_defineClass, String.class, byte[].class, int.class, int.class, ClassLoader.class, ProtectionDomain.class);
             }
         }
+        Classes.invalidateLookupCache(classLoader);
+        return clazz;
+    }
+
+    /**
+     * Define multiple classes using the given class loader.<br>
+     * Super classes and interfaces which are part of the batch are defined before the classes depending on them.
+     * All classes are defined while holding the lock of the class loader, so they can't be loaded concurrently through a non-parallel class loader.<br>
+     * If a class fails to be defined, the exception is reported and the remaining classes are still defined.
+     *
+     * @param classLoader The class loader to use
+     * @param classes     The names and bytecode of the classes
+     * @return The defined classes and failures
+     * @see #defineClass(ClassLoader, String, byte[])
+     */
+    public static DefinitionResult defineClasses(final ClassLoader classLoader, final Map<String, byte[]> classes) {
+        return defineClasses(classLoader, classes, null);
+    }
+
+    /**
+     * Define multiple classes using the given class loader.<br>
+     * Super classes and interfaces which are part of the batch are defined before the classes depending on them.
+     * All classes are defined while holding the lock of the class loader, so they can't be loaded concurrently through a non-parallel class loader.<br>
+     * If a class fails to be defined, the exception is reported and the remaining classes are still defined.
+     *
+     * @param classLoader      The class loader to use
+     * @param classes          The names and bytecode of the classes
+     * @param protectionDomain The protection domain of the classes
+     * @return The defined classes and failures
+     * @see #defineClass(ClassLoader, String, byte[], ProtectionDomain)
+     */
+    public static DefinitionResult defineClasses(final ClassLoader classLoader, final Map<String, byte[]> classes, final ProtectionDomain protectionDomain) {
+        DefinitionResult result = new DefinitionResult();
+        Map<String, String[]> superTypes = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            try {
+                superTypes.put(entry.getKey(), getSuperTypes(entry.getValue()));
+            } catch (Throwable t) {
+                result.failures.put(entry.getKey(), t);
+            }
+        }
+
+        List<String> order = new ArrayList<>(superTypes.size());
+        Set<String> visited = new HashSet<>();
+        for (String name : superTypes.keySet()) sortSuperTypesFirst(name, superTypes, visited, order);
+
+        synchronized (classLoader == null ? ClassLoaders.class : classLoader) {
+            for (String name : order) {
+                try {
+                    result.classes.put(name, defineClass(classLoader, name, classes.get(name), protectionDomain));
+                } catch (Throwable t) {
+                    result.failures.put(name, t);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void sortSuperTypesFirst(final String name, final Map<String, String[]> superTypes, final Set<String> visited, final List<String> order) {
+        if (!visited.add(name)) return;
+        for (String superType : superTypes.get(name)) {
+            if (superTypes.containsKey(superType)) sortSuperTypesFirst(superType, superTypes, visited, order);
+        }
+        order.add(name);
+    }
+
+    private static String[] getSuperTypes(final byte[] bytecode) {
+        ConstantPool constantPool = new ConstantPool(bytecode);
+        int offset = constantPool.getEnd() + 4; //access flags, this class
+        int superClass = ConstantPool.readUnsignedShort(bytecode, offset);
+        int interfaceCount = ConstantPool.readUnsignedShort(bytecode, offset + 2);
+        List<String> superTypes = new ArrayList<>(interfaceCount + 1);
+        if (superClass != 0) superTypes.add(constantPool.getClassName(superClass).replace('/', '.'));
+        for (int i = 0; i < interfaceCount; i++) superTypes.add(constantPool.getClassName(ConstantPool.readUnsignedShort(bytecode, offset + 4 + i * 2)).replace('/', '.'));
+        return superTypes.toArray(new String[0]);
     }
 
     /**
@@ -236,4 +342,60 @@ public class ClassLoaders {
         }
     }
 
+    /**
+     * Define multiple anonymous classes with the same parent.<br>
+     * Anonymous classes can't reference each other by name, so they are defined in the iteration order of the map.<br>
+     * If a class fails to be defined, the exception is reported and the remaining classes are still defined.
+     *
+     * @param parent  The parent class
+     * @param classes The names and bytecode of the classes, the names are only used as keys of the result
+     * @param flags   The flags to use
+     * @return The defined classes and failures
+     * @see #defineAnonymousClass(Class, byte[], String...)
+     */
+    public static DefinitionResult defineAnonymousClasses(final Class<?> parent, final Map<String, byte[]> classes, final String... flags) {
+        DefinitionResult result = new DefinitionResult();
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            try {
+                result.classes.put(entry.getKey(), defineAnonymousClass(parent, entry.getValue(), flags));
+            } catch (Throwable t) {
+                result.failures.put(entry.getKey(), t);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * The result of defining multiple classes.
+     */
+    public static final class DefinitionResult {
+        private final Map<String, Class<?>> classes = new LinkedHashMap<>();
+        private final Map<String, Throwable> failures = new LinkedHashMap<>();
+
+        private DefinitionResult() {
+        }
+
+        /**
+         * @return The defined classes in the order they were defined
+         */
+        public Map<String, Class<?>> getClasses() {
+            return Collections.unmodifiableMap(this.classes);
+        }
+
+        /**
+         * @return The exceptions thrown while defining the classes
+         */
+        public Map<String, Throwable> getFailures() {
+            return Collections.unmodifiableMap(this.failures);
+        }
+
+        /**
+         * @return If all classes were defined
+         */
+        public boolean isSuccessful() {
+            return this.failures.isEmpty();
+        }
+    }
+
 }
@@ -10,6 +10,14 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static net.lenni0451.reflect.JVMConstants.METHOD_Class_getDeclaredClasses0;
 import static net.lenni0451.reflect.JVMConstants.METHOD_MethodHandles_Lookup_ensureInitialized;
@@ -28,6 +36,72 @@ public class Classes {
             .attempt(() -> Methods.getDeclaredMethod(MethodHandles.Lookup.class, METHOD_MethodHandles_Lookup_ensureInitialized, Class.class))
             .map(TRUSTED_LOOKUP::unreflect)
             .silent().get();
+    private static final ClassValue<AtomicBoolean> initializedClasses = new ClassValue<AtomicBoolean>() {
+        @Override
+        protected AtomicBoolean computeValue(Class<?> type) {
+            return new AtomicBoolean();
+        }
+    };
+    private static final ReferenceQueue<ClassLoader> lookupCacheQueue = new ReferenceQueue<>();
+    private static final Map<LoaderKey, LookupCache> lookupCaches = new ConcurrentHashMap<>();
+    @Nullable
+    private static volatile LookupCache bootstrapLookupCache;
+    private static volatile int lookupCacheSize = 0;
+
+    /**
+     * @return The maximum amount of cached lookups per class loader, 0 if the lookup cache is disabled
+     */
+    public static int getLookupCacheSize() {
+        return lookupCacheSize;
+    }
+
+    /**
+     * Set the maximum amount of cached lookups per class loader used by {@link #byName(String)} and {@link #find(String, boolean, ClassLoader...)}.<br>
+     * Found classes and missing class names are cached for each class loader, once a cache is full arbitrary lookups are removed.
+     * Class loaders and classes are only weakly referenced by the cache.<br>
+     * Missing classes are forgotten when the classpath is changed or a class is defined through {@link ClassLoaders}.
+     * If classes are added to a class loader in another way, {@link #invalidateLookupCache(ClassLoader)} has to be called.<br>
+     * The cache is disabled by default. Changing the size clears the cache.
+     *
+     * @param size The maximum amount of cached lookups per class loader or 0 to disable the cache
+     */
+    public static void setLookupCacheSize(final int size) {
+        if (size < 0) throw new IllegalArgumentException("The cache size can't be negative");
+        lookupCacheSize = size;
+        lookupCaches.clear();
+        bootstrapLookupCache = null;
+    }
+
+    /**
+     * Forget all cached missing classes.<br>
+     * This has to be called when classes are added to a class loader without using {@link ClassLoaders}.
+     */
+    public static void invalidateLookupCache() {
+        LookupCache bootstrapCache = bootstrapLookupCache;
+        if (bootstrapCache != null) bootstrapCache.removeMisses();
+        for (LookupCache cache : lookupCaches.values()) cache.removeMisses();
+    }
+
+    /**
+     * Forget all cached missing classes of a class loader and the class loaders delegating to it.<br>
+     * This has to be called when classes are added to a class loader without using {@link ClassLoaders}.
+     *
+     * @param loader The class loader the classes were added to or null for the bootstrap class loader
+     */
+    public static void invalidateLookupCache(@Nullable final ClassLoader loader) {
+        if (loader == null) {
+            invalidateLookupCache(); //All class loaders delegate to the bootstrap class loader
+            return;
+        }
+        for (Map.Entry<LoaderKey, LookupCache> entry : lookupCaches.entrySet()) {
+            for (ClassLoader parent = entry.getKey().get(); parent != null; parent = parent.getParent()) {
+                if (parent == loader) {
+                    entry.getValue().removeMisses();
+                    break;
+                }
+            }
+        }
+    }
 
     /**
      * Get all declared classes of a class.<br>
@@ -59,13 +133,32 @@ public class Classes {
 
     /**
      * Ensure that a class is initialized.<br>
-     * Thrown exceptions will be ignored.
+     * Thrown exceptions will be ignored.<br>
+     * Classes which are known to be fully initialized are remembered, so repeated calls only check a cached flag.
      *
      * @param clazz The class to initialize
      */
     public static void ensureInitialized(Class<?> clazz) {
+        StartupProfile.record(clazz, true);
+        AtomicBoolean initialized = initializedClasses.get(clazz);
+        if (initialized.get()) return;
+
+        initialize(clazz);
+        if (isInitialized(clazz)) initialized.set(true);
+    }
+
+    /**
+     * @param clazz The class to check
+     * @return If the class is remembered as fully initialized by {@link #ensureInitialized(Class)}
+     */
+    static boolean isMarkedInitialized(final Class<?> clazz) {
+        return initializedClasses.get(clazz).get();
+    }
+
+    private static void initialize(final Class<?> clazz) {
         try { //Try using unsafe (deprecated since Java 15, available in internal unsafe)
             UnsafeAccess.ensureClassInitialized(clazz);
+            return;
         } catch (Throwable ignored) {
         }
         try { //Try using trusted lookup
@@ -81,6 +174,14 @@ public class Classes {
         }
     }
 
+    private static boolean isInitialized(final Class<?> clazz) {
+        try { //A class which is still being initialized by the current thread should be checked again
+            return !UnsafeAccess.shouldBeInitialized(clazz);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
 
     /**
      * Get a class by its name.<br>
@@ -91,11 +192,7 @@ public class Classes {
      */
     @Nullable
     public static Class<?> byName(final String name) {
-        try {
-            return Class.forName(name);
-        } catch (ClassNotFoundException ignored) {
-        }
-        return null;
+        return lookup(name, true, Classes.class.getClassLoader());
     }
 
     /**
@@ -135,11 +232,7 @@ public class Classes {
      */
     @Nullable
     public static Class<?> byName(final String name, final boolean initialize, final ClassLoader loader) {
-        try {
-            return Class.forName(name, initialize, loader);
-        } catch (ClassNotFoundException ignored) {
-        }
-        return null;
+        return lookup(name, initialize, loader);
     }
 
     /**
@@ -153,7 +246,7 @@ public class Classes {
     @Nonnull
     @SneakyThrows
     public static Class<?> forName(final String name) {
-        return Class.forName(name);
+        return recorded(Class.forName(name), true);
     }
 
     /**
@@ -197,7 +290,7 @@ public class Classes {
     @Nonnull
     @SneakyThrows
     public static Class<?> forName(final String name, final boolean initialize, final ClassLoader loader) {
-        return Class.forName(name, initialize, loader);
+        return recorded(Class.forName(name, initialize, loader), initialize);
     }
 
     /**
@@ -212,10 +305,8 @@ public class Classes {
     @SneakyThrows
     public static Class<?> find(final String name, final boolean initialize, final Iterable<ClassLoader> loaders) {
         for (ClassLoader loader : loaders) {
-            try {
-                return Class.forName(name, initialize, loader);
-            } catch (ClassNotFoundException ignored) {
-            }
+            Class<?> clazz = lookup(name, initialize, loader);
+            if (clazz != null) return clazz;
         }
         throw new ClassNotFoundException(name);
     }
@@ -232,10 +323,8 @@ public class Classes {
     @SneakyThrows
     public static Class<?> find(final String name, final boolean initialize, final ClassLoader... loaders) {
         for (ClassLoader loader : loaders) {
-            try {
-                return Class.forName(name, initialize, loader);
-            } catch (ClassNotFoundException ignored) {
-            }
+            Class<?> clazz = lookup(name, initialize, loader);
+            if (clazz != null) return clazz;
         }
         throw new ClassNotFoundException(name);
     }
@@ -253,4 +342,110 @@ public class Classes {
         return Classes$MR.getCallerClass(depth);
     }
 
+    private static Class<?> recorded(final Class<?> clazz, final boolean initialized) {
+        StartupProfile.record(clazz, initialized);
+        return clazz;
+    }
+
+    @Nullable
+    private static Class<?> lookup(final String name, final boolean initialize, @Nullable final ClassLoader loader) {
+        int cacheSize = lookupCacheSize;
+        if (cacheSize <= 0) return load(name, initialize, loader);
+
+        LookupCache cache = getLookupCache(loader, cacheSize);
+        LookupEntry entry = cache.entries.get(name);
+        if (entry != null) {
+            if (entry.clazz == null) return null;
+            Class<?> clazz = entry.clazz.get();
+            if (clazz != null && (entry.initialized || !initialize)) return recorded(clazz, initialize);
+        }
+        int generation = cache.generation.get();
+        Class<?> clazz = load(name, initialize, loader);
+        LookupEntry newEntry = new LookupEntry(clazz, initialize || (entry != null && entry.initialized));
+        cache.put(name, newEntry);
+        //The class may have been added while it was loaded, a miss could be outdated
+        if (clazz == null && cache.generation.get() != generation) cache.entries.remove(name, newEntry);
+        return clazz;
+    }
+
+    private static LookupCache getLookupCache(@Nullable final ClassLoader loader, final int cacheSize) {
+        if (loader == null) {
+            LookupCache cache = bootstrapLookupCache;
+            if (cache == null) bootstrapLookupCache = cache = new LookupCache(cacheSize);
+            return cache;
+        }
+        Reference<? extends ClassLoader> reference;
+        while ((reference = lookupCacheQueue.poll()) != null) lookupCaches.remove(reference);
+        LookupCache cache = lookupCaches.get(new LoaderKey(loader, null));
+        if (cache != null) return cache;
+        return lookupCaches.computeIfAbsent(new LoaderKey(loader, lookupCacheQueue), key -> new LookupCache(cacheSize));
+    }
+
+    @Nullable
+    private static Class<?> load(final String name, final boolean initialize, @Nullable final ClassLoader loader) {
+        try {
+            return recorded(Class.forName(name, initialize, loader), initialize);
+        } catch (ClassNotFoundException ignored) {
+        }
+        return null;
+    }
+
+
+    private static class LoaderKey extends WeakReference<ClassLoader> {
+        private final int hashCode;
+
+        private LoaderKey(final ClassLoader loader, @Nullable final ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            this.hashCode = System.identityHashCode(loader);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LoaderKey)) return false;
+            ClassLoader loader = this.get();
+            return loader != null && loader == ((LoaderKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static class LookupCache {
+        private final Map<String, LookupEntry> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger generation = new AtomicInteger();
+        private final int size;
+
+        private LookupCache(final int size) {
+            this.size = size;
+        }
+
+        private void put(final String name, final LookupEntry entry) {
+            if (this.entries.put(name, entry) == null && this.entries.size() > this.size) {
+                Iterator<String> it = this.entries.keySet().iterator();
+                while (this.entries.size() > this.size && it.hasNext()) {
+                    if (!it.next().equals(name)) it.remove();
+                }
+            }
+        }
+
+        private void removeMisses() {
+            this.generation.incrementAndGet();
+            this.entries.values().removeIf(entry -> entry.clazz == null);
+        }
+    }
+
+    private static class LookupEntry {
+        @Nullable
+        private final WeakReference<Class<?>> clazz;
+        private final boolean initialized;
+
+        private LookupEntry(@Nullable final Class<?> clazz, final boolean initialized) {
+            this.clazz = clazz == null ? null : new WeakReference<>(clazz);
+            this.initialized = initialized;
+        }
+    }
+
 }
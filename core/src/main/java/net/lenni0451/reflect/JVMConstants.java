@@ -45,6 +45,7 @@ public class JVMConstants {
     public static final String FIELD_URLClassLoader_ucp = calc("ucp");
     public static final String FIELD_URLClassPath_path = calc("path");
     public static final String FIELD_URLClassPath_loaders = calc("loaders");
+    public static final String FIELD_URLClassPath_unopenedUrls = calc("unopenedUrls", JAVA_VERSION <= 8, "urls");
     public static final String FIELD_Enum_$VALUES = calc("$VALUES");
     public static final String FIELD_Class_enumConstants = calc("enumConstants");
     public static final String FIELD_Class_enumConstantDirectory = calc("enumConstantDirectory");
@@ -70,6 +71,7 @@ public class JVMConstants {
     public static final String METHOD_MethodHandles_Lookup_ensureInitialized = calc("ensureInitialized");
     public static final String METHOD_URLClassPath_addURL = calc("addURL");
     public static final String METHOD_URLClassPath_getURLs = calc("getURLs");
+    public static final String METHOD_URLClassPath_getLoader = calc("getLoader");
     public static final String METHOD_ClassLoader_defineClass = calc("defineClass");
     public static final String METHOD_Module_implAddExportsOrOpens = calc("implAddExportsOrOpens");
     public static final String METHOD_Module_implAddEnableNativeAccess = calc("implAddEnableNativeAccess");
@@ -83,6 +85,9 @@ public class JVMConstants {
     public static final String METHOD_LiveStackFrameInfo_mode = calc("mode");
     public static final String METHOD_LiveStackFrameInfo_PrimitiveSlot32_value = calc("value");
     public static final String METHOD_LiveStackFrameInfo_PrimitiveSlot64_value = calc("value");
+    public static final String METHOD_Unsafe_invokeCleaner = calc("invokeCleaner");
+    public static final String METHOD_DirectByteBuffer_cleaner = calc("cleaner");
+    public static final String METHOD_Cleaner_clean = calc("clean");
 
     public static final String VM_OPTION_ObjectAlignmentInBytes = calc("ObjectAlignmentInBytes");
 
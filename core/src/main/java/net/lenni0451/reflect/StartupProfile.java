@@ -0,0 +1,293 @@
+package net.lenni0451.reflect;
+
+import lombok.SneakyThrows;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A profile of the classes used during startup which can be replayed to warm up later starts.<br>
+ * While recording, all classes resolved and initialized through {@link Classes} are logged in the order they were used.
+ * Optionally all classes loaded by the JVM are logged using {@link Agents#getInstrumentation()}.<br>
+ * Replaying the profile first loads all classes in parallel and then initializes the classes which were initialized during the recording in the recorded order.
+ * Classes which were generated at runtime (e.g. proxies and lambdas) can't be loaded by name and are not recorded.
+ * <br><br>
+ * Example:
+ * <pre>{@code
+ * StartupProfile profile = StartupProfile.startRecording(false);
+ * //Run the application startup
+ * profile.stop();
+ * profile.write(new File("startup.profile"));
+ *
+ * //On the next start
+ * StartupProfile.read(new File("startup.profile")).replay(ClassLoader.getSystemClassLoader());
+ * }</pre>
+ */
+public class StartupProfile {
+
+    private static final int MAGIC = 0x52535046; //RSPF
+    private static final int VERSION = 1;
+    @Nullable
+    private static volatile StartupProfile recording;
+
+    /**
+     * Start recording a new profile.<br>
+     * Only one profile can be recorded at a time.
+     *
+     * @param allLoadedClasses If all classes loaded by the JVM should be recorded using an agent
+     * @return The recorded profile
+     * @throws IllegalStateException If a profile is already being recorded or the agent could not be loaded
+     */
+    @SneakyThrows
+    public static synchronized StartupProfile startRecording(final boolean allLoadedClasses) {
+        if (recording != null) throw new IllegalStateException("A profile is already being recorded");
+        StartupProfile profile = new StartupProfile();
+        if (allLoadedClasses) {
+            profile.instrumentation = Agents.getInstrumentation();
+            profile.transformer = new RecordingTransformer(profile);
+            profile.instrumentation.addTransformer(profile.transformer);
+        }
+        recording = profile;
+        return profile;
+    }
+
+    /**
+     * Read a profile written by {@link #write(File)}.
+     *
+     * @param file The file to read from
+     * @return The read profile
+     * @throws IOException If an I/O error occurs or the file is not a profile
+     */
+    public static StartupProfile read(@Nonnull final File file) throws IOException {
+        try (InputStream is = new FileInputStream(file)) {
+            return read(is);
+        }
+    }
+
+    /**
+     * Read a profile written by {@link #write(OutputStream)}.<br>
+     * The stream is not closed.
+     *
+     * @param inputStream The stream to read from
+     * @return The read profile
+     * @throws IOException If an I/O error occurs or the stream does not contain a profile
+     */
+    public static StartupProfile read(@Nonnull final InputStream inputStream) throws IOException {
+        DataInputStream dis = new DataInputStream(new GZIPInputStream(inputStream));
+        if (dis.readInt() != MAGIC) throw new IOException("The input is not a startup profile");
+        int version = dis.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported startup profile version " + version);
+
+        StartupProfile profile = new StartupProfile();
+        int count = dis.readInt();
+        for (int i = 0; i < count; i++) {
+            boolean initialize = dis.readBoolean();
+            profile.add(dis.readUTF(), initialize);
+        }
+        return profile;
+    }
+
+    static void record(final Class<?> clazz, final boolean initialized) {
+        StartupProfile profile = recording;
+        if (profile == null || clazz.isArray() || clazz.isPrimitive()) return;
+        String name = clazz.getName();
+        if (name.indexOf('/') != -1) return; //Hidden and anonymous classes (e.g. lambdas) can't be loaded by name
+        if (profile.contains(name, initialized) || !hasClassFile(clazz.getClassLoader(), name.replace('.', '/'))) return;
+        profile.add(name, initialized);
+    }
+
+    private static boolean hasClassFile(@Nullable final ClassLoader loader, final String internalName) {
+        //Generated classes (proxies, accessors, reflection stubs, ...) have no class file and can't be loaded by name when replaying
+        ClassLoader resourceLoader = loader == null ? ClassLoader.getSystemClassLoader() : loader;
+        return resourceLoader.getResource(internalName + ".class") != null;
+    }
+
+
+    private final Map<String, Boolean> classes = new LinkedHashMap<>();
+    @Nullable
+    private Instrumentation instrumentation;
+    @Nullable
+    private ClassFileTransformer transformer;
+
+    private StartupProfile() {
+    }
+
+    /**
+     * Stop recording this profile.<br>
+     * Calling this method multiple times has no effect.
+     */
+    public void stop() {
+        synchronized (StartupProfile.class) {
+            if (recording == this) recording = null;
+            if (this.instrumentation != null) {
+                this.instrumentation.removeTransformer(this.transformer);
+                this.instrumentation = null;
+                this.transformer = null;
+            }
+        }
+    }
+
+    /**
+     * @return All recorded class names in the order they were used
+     */
+    public List<String> getClasses() {
+        synchronized (this.classes) {
+            return Collections.unmodifiableList(new ArrayList<>(this.classes.keySet()));
+        }
+    }
+
+    /**
+     * @return The recorded class names which have been initialized in the order they were used
+     */
+    public List<String> getInitializedClasses() {
+        List<String> initialized = new ArrayList<>();
+        synchronized (this.classes) {
+            for (Map.Entry<String, Boolean> entry : this.classes.entrySet()) {
+                if (entry.getValue()) initialized.add(entry.getKey());
+            }
+        }
+        return Collections.unmodifiableList(initialized);
+    }
+
+    /**
+     * Write this profile to a file.
+     *
+     * @param file The file to write to
+     * @throws IOException If an I/O error occurs
+     */
+    public void write(@Nonnull final File file) throws IOException {
+        try (OutputStream os = new FileOutputStream(file)) {
+            this.write(os);
+        }
+    }
+
+    /**
+     * Write this profile to a stream.<br>
+     * The profile is gzip compressed. The stream is not closed.
+     *
+     * @param outputStream The stream to write to
+     * @throws IOException If an I/O error occurs
+     */
+    public void write(@Nonnull final OutputStream outputStream) throws IOException {
+        GZIPOutputStream gos = new GZIPOutputStream(outputStream);
+        DataOutputStream dos = new DataOutputStream(gos);
+        dos.writeInt(MAGIC);
+        dos.writeByte(VERSION);
+        synchronized (this.classes) {
+            dos.writeInt(this.classes.size());
+            for (Map.Entry<String, Boolean> entry : this.classes.entrySet()) {
+                dos.writeBoolean(entry.getValue());
+                dos.writeUTF(entry.getKey());
+            }
+        }
+        dos.flush();
+        gos.finish();
+    }
+
+    /**
+     * Replay this profile using one thread per available processor.
+     *
+     * @param classLoader The class loader to load the classes with
+     * @return The classes which could not be loaded or initialized and the reason
+     * @see #replay(ClassLoader, int)
+     */
+    public Map<String, Throwable> replay(@Nullable final ClassLoader classLoader) {
+        return this.replay(classLoader, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Replay this profile.<br>
+     * All recorded classes are loaded in parallel on the given amount of worker threads.
+     * Afterwards the initialized classes are initialized on the current thread in the order they were recorded.
+     * Static initializers depending on each other are run in the same order as during the recording and don't block each other across threads.
+     *
+     * @param classLoader The class loader to load the classes with
+     * @param threads     The amount of worker threads used for loading
+     * @return The classes which could not be loaded or initialized and the reason
+     */
+    @SneakyThrows
+    public Map<String, Throwable> replay(@Nullable final ClassLoader classLoader, final int threads) {
+        Map<String, Boolean> classes;
+        synchronized (this.classes) {
+            classes = new LinkedHashMap<>(this.classes);
+        }
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        Map<String, Class<?>> loaded = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "StartupProfile replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<Object>> loadTasks = new ArrayList<>(classes.size());
+            for (String name : classes.keySet()) {
+                loadTasks.add(Executors.callable(() -> {
+                    try {
+                        loaded.put(name, Class.forName(name, false, classLoader));
+                    } catch (Throwable t) {
+                        failures.put(name, t);
+                    }
+                }));
+            }
+            executor.invokeAll(loadTasks);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Map.Entry<String, Boolean> entry : classes.entrySet()) {
+            Class<?> clazz = loaded.get(entry.getKey());
+            if (!entry.getValue() || clazz == null) continue;
+            try {
+                Class.forName(clazz.getName(), true, clazz.getClassLoader());
+            } catch (Throwable t) {
+                failures.put(clazz.getName(), t);
+            }
+        }
+        return Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    private boolean contains(final String name, final boolean initialized) {
+        synchronized (this.classes) {
+            Boolean previous = this.classes.get(name);
+            return previous != null && (previous || !initialized);
+        }
+    }
+
+    private void add(final String name, final boolean initialized) {
+        synchronized (this.classes) {
+            Boolean previous = this.classes.get(name);
+            if (previous == null) {
+                this.classes.put(name, initialized);
+            } else if (initialized && !previous) {
+                //Move the class to the end to keep the initialization order
+                this.classes.remove(name);
+                this.classes.put(name, true);
+            }
+        }
+    }
+
+
+    private static class RecordingTransformer implements ClassFileTransformer {
+        private final StartupProfile profile;
+
+        private RecordingTransformer(final StartupProfile profile) {
+            this.profile = profile;
+        }
+
+        @Override
+        public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+            if (className == null || classBeingRedefined != null || !hasClassFile(loader, className)) return null;
+            this.profile.add(className.replace('/', '.'), false);
+            return null;
+        }
+    }
+
+}
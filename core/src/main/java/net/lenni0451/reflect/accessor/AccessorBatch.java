@@ -0,0 +1,224 @@
+package net.lenni0451.reflect.accessor;
+
+import lombok.SneakyThrows;
+import net.lenni0451.reflect.proxy.ProxyBuilder;
+import net.lenni0451.reflect.proxy.ProxyClass;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Create many accessors at once.<br>
+ * The bytecode of all accessors is generated in parallel on a {@link ForkJoinPool}.
+ * Afterwards the accessor classes are defined and constructed on the calling thread in the order they were added.<br>
+ * Proxies are built completely in parallel because the proxy class is defined while building it.
+ * <br><br>
+ * Example:
+ * <pre>{@code
+ * List<Object> accessors = new AccessorBatch()
+ *         .getter(Supplier.class, instance, field)
+ *         .invoker(Runnable.class, instance, method)
+ *         .build();
+ * }</pre>
+ */
+public class AccessorBatch {
+
+    private final List<Supplier<Supplier<?>>> requests = new ArrayList<>();
+    private AccessorStrength strength = AccessorRegistry.getDefaultStrength();
+
+    /**
+     * @return The amount of added requests
+     */
+    public int size() {
+        return this.requests.size();
+    }
+
+    /**
+     * Set the strength of the accessors added after this call.<br>
+     * Proxies are not affected.
+     *
+     * @param strength The strength of the accessor classes
+     * @return This batch
+     */
+    public AccessorBatch strength(@Nonnull final AccessorStrength strength) {
+        this.strength = strength;
+        return this;
+    }
+
+    /**
+     * Add a setter.
+     *
+     * @param invokerClass The invoker interface class
+     * @param instance     The instance of the class the field is in
+     * @param field        The field to set
+     * @return This batch
+     * @see FieldAccessor#makeSetter(Class, Object, Field)
+     */
+    public AccessorBatch setter(@Nonnull final Class<?> invokerClass, final Object instance, @Nonnull final Field field) {
+        return this.accessor(() -> FieldAccessor.prepareSetter(invokerClass, instance, field));
+    }
+
+    /**
+     * Add a dynamic setter.
+     *
+     * @param invokerClass The invoker interface class
+     * @param field        The field to set
+     * @return This batch
+     * @see FieldAccessor#makeDynamicSetter(Class, Field)
+     */
+    public AccessorBatch dynamicSetter(@Nonnull final Class<?> invokerClass, @Nonnull final Field field) {
+        return this.accessor(() -> FieldAccessor.prepareDynamicSetter(invokerClass, field));
+    }
+
+    /**
+     * Add a getter.
+     *
+     * @param invokerClass The invoker interface class
+     * @param instance     The instance of the class the field is in
+     * @param field        The field to get
+     * @return This batch
+     * @see FieldAccessor#makeGetter(Class, Object, Field)
+     */
+    public AccessorBatch getter(@Nonnull final Class<?> invokerClass, final Object instance, @Nonnull final Field field) {
+        return this.accessor(() -> FieldAccessor.prepareGetter(invokerClass, instance, field));
+    }
+
+    /**
+     * Add a dynamic getter.
+     *
+     * @param invokerClass The invoker interface class
+     * @param field        The field to get
+     * @return This batch
+     * @see FieldAccessor#makeDynamicGetter(Class, Field)
+     */
+    public AccessorBatch dynamicGetter(@Nonnull final Class<?> invokerClass, @Nonnull final Field field) {
+        return this.accessor(() -> FieldAccessor.prepareDynamicGetter(invokerClass, field));
+    }
+
+    /**
+     * Add an invoker.
+     *
+     * @param invokerClass The invoker interface class
+     * @param instance     The instance of the class the method is in
+     * @param method       The method to invoke
+     * @return This batch
+     * @see MethodAccessor#makeInvoker(Class, Object, Method)
+     */
+    public AccessorBatch invoker(@Nonnull final Class<?> invokerClass, final Object instance, @Nonnull final Method method) {
+        return this.accessor(() -> MethodAccessor.prepareInvoker(invokerClass, instance, method));
+    }
+
+    /**
+     * Add an array invoker.
+     *
+     * @param instance The instance of the class the method is in
+     * @param method   The method to invoke
+     * @return This batch
+     * @see MethodAccessor#makeArrayInvoker(Object, Method)
+     */
+    public AccessorBatch arrayInvoker(final Object instance, @Nonnull final Method method) {
+        return this.accessor(() -> MethodAccessor.prepareArrayInvoker(instance, method));
+    }
+
+    /**
+     * Add a dynamic invoker.
+     *
+     * @param invokerClass The invoker interface class
+     * @param method       The method to invoke
+     * @return This batch
+     * @see MethodAccessor#makeDynamicInvoker(Class, Method)
+     */
+    public AccessorBatch dynamicInvoker(@Nonnull final Class<?> invokerClass, @Nonnull final Method method) {
+        return this.accessor(() -> MethodAccessor.prepareDynamicInvoker(invokerClass, method));
+    }
+
+    /**
+     * Add a dynamic array invoker.
+     *
+     * @param method The method to invoke
+     * @return This batch
+     * @see MethodAccessor#makeDynamicArrayInvoker(Method)
+     */
+    public AccessorBatch dynamicArrayInvoker(@Nonnull final Method method) {
+        return this.accessor(() -> MethodAccessor.prepareDynamicArrayInvoker(method));
+    }
+
+    /**
+     * Add an indexed accessor for many members of the same class.
+     *
+     * @param target  The class the members are declared in
+     * @param fields  The fields to access
+     * @param methods The methods to invoke
+     * @return This batch
+     * @see BulkAccessor#make(Class, Field[], Method[])
+     */
+    public AccessorBatch bulk(@Nonnull final Class<?> target, @Nonnull final Field[] fields, @Nonnull final Method[] methods) {
+        return this.accessor(() -> BulkAccessor.prepare(target, fields, methods));
+    }
+
+    /**
+     * Add a proxy.<br>
+     * The result is the {@link ProxyClass} returned by {@link ProxyBuilder#build()}.
+     *
+     * @param proxyBuilder The proxy builder
+     * @return This batch
+     */
+    public AccessorBatch proxy(@Nonnull final ProxyBuilder proxyBuilder) {
+        return this.add(() -> {
+            ProxyClass proxyClass = proxyBuilder.build();
+            return () -> proxyClass;
+        });
+    }
+
+    /**
+     * Build all accessors using the common {@link ForkJoinPool}.
+     *
+     * @return The accessors in the order they were added
+     */
+    public List<Object> build() {
+        return this.build(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build all accessors.<br>
+     * The bytecode is generated in parallel on the given pool, the classes are defined on the calling thread.
+     *
+     * @param pool The pool used to generate the bytecode
+     * @return The accessors in the order they were added
+     */
+    @SneakyThrows
+    public List<Object> build(@Nonnull final ForkJoinPool pool) {
+        List<Supplier<?>> prepared;
+        try {
+            prepared = pool.submit(() -> this.requests.parallelStream().map(Supplier::get).collect(Collectors.toList())).get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+
+        List<Object> accessors = new ArrayList<>(prepared.size());
+        for (Supplier<?> accessor : prepared) accessors.add(accessor.get());
+        return Collections.unmodifiableList(accessors);
+    }
+
+    private AccessorBatch accessor(final Supplier<PreparedAccessor<?>> request) {
+        AccessorStrength strength = this.strength;
+        return this.add(() -> {
+            PreparedAccessor<?> accessor = request.get();
+            return () -> accessor.create(strength);
+        });
+    }
+
+    private AccessorBatch add(final Supplier<Supplier<?>> request) {
+        this.requests.add(request);
+        return this;
+    }
+
+}
@@ -0,0 +1,44 @@
+package net.lenni0451.reflect.accessor;
+
+import net.lenni0451.reflect.bytecode.cache.BytecodeCache;
+import net.lenni0451.reflect.bytecode.cache.LazyBuiltClass;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.function.Supplier;
+
+/**
+ * A persistent cache for the generated classes of the {@link FieldAccessor} and {@link MethodAccessor}.<br>
+ * When enabled, accessors with the same member, invoker and instance type are loaded from the cache directory instead of being generated again.
+ */
+public class AccessorCache {
+
+    @Nullable
+    private static volatile BytecodeCache cache;
+
+    /**
+     * @return The current cache directory or null if the cache is disabled
+     */
+    @Nullable
+    public static File getDirectory() {
+        BytecodeCache cache = AccessorCache.cache;
+        return cache == null ? null : cache.getDirectory();
+    }
+
+    /**
+     * Set the directory used to cache the generated accessor classes.
+     *
+     * @param directory The cache directory or null to disable the cache
+     */
+    public static void setDirectory(@Nullable final File directory) {
+        AccessorCache.cache = directory == null ? null : new BytecodeCache(directory);
+    }
+
+    static BuiltClass build(final String name, final Supplier<BuiltClass> builder, final Object... hashInputs) {
+        BytecodeCache cache = AccessorCache.cache;
+        if (cache == null) return builder.get();
+        return cache.get(new LazyBuiltClass(name, () -> BytecodeCache.hash(name, hashInputs), builder));
+    }
+
+}
@@ -0,0 +1,82 @@
+package net.lenni0451.reflect.accessor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Tracks the classes generated for accessors which are still alive.<br>
+ * Only weak references to the classes are kept, so the registry never prevents an accessor class from being unloaded.
+ * This can be used to check if all accessors of a class loader have been released, e.g. after unloading a plugin.
+ */
+public class AccessorRegistry {
+
+    private static final Map<Class<?>, AccessorStrength> CLASSES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static volatile AccessorStrength defaultStrength = AccessorStrength.STRONG;
+
+    /**
+     * @return The strength used for accessors which don't specify one
+     */
+    public static AccessorStrength getDefaultStrength() {
+        return defaultStrength;
+    }
+
+    /**
+     * Set the strength used for accessors which don't specify one.<br>
+     * The default is {@link AccessorStrength#STRONG}.
+     *
+     * @param strength The new default strength
+     */
+    public static void setDefaultStrength(@Nonnull final AccessorStrength strength) {
+        defaultStrength = strength;
+    }
+
+    /**
+     * @return The amount of accessor classes which have not been unloaded yet
+     */
+    public static int getLiveCount() {
+        return CLASSES.size();
+    }
+
+    /**
+     * @return All accessor classes which have not been unloaded yet
+     */
+    public static List<Class<?>> getLiveClasses() {
+        synchronized (CLASSES) {
+            return new ArrayList<>(CLASSES.keySet());
+        }
+    }
+
+    /**
+     * Get all accessor classes defined in the given class loader which have not been unloaded yet.<br>
+     * Accessor classes are defined in the class loader of the class they access.
+     *
+     * @param classLoader The class loader
+     * @return The accessor classes
+     */
+    public static List<Class<?>> getLiveClasses(@Nullable final ClassLoader classLoader) {
+        List<Class<?>> classes = new ArrayList<>();
+        synchronized (CLASSES) {
+            for (Class<?> clazz : CLASSES.keySet()) {
+                if (clazz.getClassLoader() == classLoader) classes.add(clazz);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Get the strength an accessor class has been defined with.
+     *
+     * @param accessorClass The accessor class
+     * @return The strength or null if the class is not an accessor class
+     */
+    @Nullable
+    public static AccessorStrength getStrength(@Nonnull final Class<?> accessorClass) {
+        return CLASSES.get(accessorClass);
+    }
+
+    static void register(final Class<?> accessorClass, final AccessorStrength strength) {
+        CLASSES.put(accessorClass, strength);
+    }
+
+}
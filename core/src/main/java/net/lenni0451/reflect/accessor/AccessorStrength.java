@@ -0,0 +1,30 @@
+package net.lenni0451.reflect.accessor;
+
+/**
+ * How strongly a generated accessor class is bound to the class loader of its target.<br>
+ * This is only used on Java 15 and above. On older versions accessor classes are defined using {@code Unsafe#defineAnonymousClass} and can always be unloaded on their own.
+ */
+public enum AccessorStrength {
+
+    /**
+     * The accessor class lives as long as the class loader of its target, like lambdas do.<br>
+     * It stays in the metaspace even if the accessor is no longer referenced.
+     */
+    STRONG("NESTMATE", "STRONG"),
+    /**
+     * The accessor class is unloaded as soon as the accessor and its class are no longer referenced.<br>
+     * Use this for accessors of classes in class loaders which are unloaded later, e.g. plugins.
+     */
+    WEAK("NESTMATE");
+
+    private final String[] flags;
+
+    AccessorStrength(final String... flags) {
+        this.flags = flags;
+    }
+
+    String[] getFlags() {
+        return this.flags.clone();
+    }
+
+}
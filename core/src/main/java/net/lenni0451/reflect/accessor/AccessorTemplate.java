@@ -0,0 +1,124 @@
+package net.lenni0451.reflect.accessor;
+
+import net.lenni0451.reflect.bytecode.BytecodeUtils;
+import net.lenni0451.reflect.bytecode.template.ClassTemplate;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collects the shape of an accessor and the values of its placeholders.<br>
+ * Accessors with the same invoker class and shape share a {@link ClassTemplate} which is only generated once.
+ * All reference types and member names are replaced by placeholders, primitive types and flags are part of the shape.<br>
+ * The methods have to be called in the same order for every accessor of the same kind.
+ */
+@ApiStatus.Internal
+class AccessorTemplate {
+
+    private static final ClassValue<Map<String, ClassTemplate>> TEMPLATES = new ClassValue<Map<String, ClassTemplate>>() {
+        @Override
+        protected Map<String, ClassTemplate> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * @param invokerClass The invoker class of the accessors
+     * @return The generated templates by their shape
+     */
+    static Map<String, ClassTemplate> getTemplates(final Class<?> invokerClass) {
+        return TEMPLATES.get(invokerClass);
+    }
+
+
+    private final Class<?> invokerClass;
+    private final StringBuilder shape;
+    private final List<String> values = new ArrayList<>();
+
+    AccessorTemplate(final String kind, final Class<?> invokerClass) {
+        this.invokerClass = invokerClass;
+        this.shape = new StringBuilder(kind).append(':');
+    }
+
+    /**
+     * @param name A class or member name
+     * @return The placeholder for the name
+     */
+    String name(final String name) {
+        this.shape.append('N');
+        return this.placeholder(name);
+    }
+
+    /**
+     * @param type A reference type
+     * @return The placeholder for the internal name of the type
+     */
+    String type(final Class<?> type) {
+        if (type.isPrimitive()) throw new IllegalArgumentException("Primitive types don't have an internal name");
+        if (type.isArray()) {
+            this.shape.append('[');
+            return this.placeholder(BytecodeUtils.desc(type));
+        } else {
+            this.shape.append('L');
+            return this.placeholder(BytecodeUtils.slash(type));
+        }
+    }
+
+    /**
+     * @param type Any type
+     * @return The descriptor of the type with a placeholder for reference types
+     */
+    String desc(final Class<?> type) {
+        if (type.isPrimitive()) {
+            String desc = BytecodeUtils.desc(type);
+            this.shape.append(desc);
+            return desc;
+        }
+        if (type.isArray()) return this.type(type);
+        return "L" + this.type(type) + ";";
+    }
+
+    /**
+     * @param returnType     The return type
+     * @param parameterTypes The parameter types
+     * @return The method descriptor with placeholders for reference types
+     */
+    String mdesc(final Class<?> returnType, final Class<?>... parameterTypes) {
+        StringBuilder desc = new StringBuilder("(");
+        for (Class<?> parameterType : parameterTypes) desc.append(this.desc(parameterType));
+        desc.append(')').append(this.desc(returnType));
+        return desc.toString();
+    }
+
+    /**
+     * @param flag A flag changing the generated code
+     * @return The flag
+     */
+    boolean flag(final boolean flag) {
+        this.shape.append(flag ? '1' : '0');
+        return flag;
+    }
+
+    /**
+     * Get a copy of the template with the collected values.<br>
+     * The generator is only called if no template with the same shape exists.
+     *
+     * @param generator The generator for the template using the placeholders
+     * @return The built class
+     */
+    BuiltClass build(final Supplier<BuiltClass> generator) {
+        ClassTemplate template = TEMPLATES.get(this.invokerClass).computeIfAbsent(this.shape.toString(), shape -> new ClassTemplate(generator.get()));
+        return template.instantiate(this.values.toArray(new String[0]));
+    }
+
+    private String placeholder(final String value) {
+        this.values.add(value);
+        return ClassTemplate.placeholder(this.values.size() - 1);
+    }
+
+}
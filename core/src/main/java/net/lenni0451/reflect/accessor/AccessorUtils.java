@@ -5,7 +5,6 @@ import net.lenni0451.reflect.bytecode.builder.ClassBuilder;
 import org.jetbrains.annotations.ApiStatus;
 
 import javax.annotation.Nullable;
-import java.util.function.Supplier;
 
 import static net.lenni0451.reflect.bytecode.BytecodeUtils.*;
 
@@ -27,8 +26,8 @@ class AccessorUtils {
         return name.toString();
     }
 
-    public static void addConstructor(final BytecodeBuilder builder, final ClassBuilder cb, @Nullable final Supplier<Class<?>> instanceType, final boolean isStatic) {
-        if (isStatic || instanceType == null) {
+    public static void addConstructor(final BytecodeBuilder builder, final ClassBuilder cb, @Nullable final String instanceDesc) {
+        if (instanceDesc == null) {
             cb.method(builder.opcode("ACC_PUBLIC"), "<init>", mdesc(void.class), null, null, mb -> mb
                     .aload(0)
                     .invokespecial(slash(Object.class), "<init>", mdesc(void.class), false)
@@ -36,14 +35,14 @@ class AccessorUtils {
                     .maxs(1, 1)
             );
         } else {
-            cb.field(builder.opcode("ACC_PRIVATE", "ACC_FINAL"), "instance", desc(instanceType.get()), null, null, fb -> {});
+            cb.field(builder.opcode("ACC_PRIVATE", "ACC_FINAL"), "instance", instanceDesc, null, null, fb -> {});
 
-            cb.method(builder.opcode("ACC_PUBLIC"), "<init>", mdesc(void.class, instanceType.get()), null, null, mb -> mb
+            cb.method(builder.opcode("ACC_PUBLIC"), "<init>", "(" + instanceDesc + ")V", null, null, mb -> mb
                     .aload(0)
                     .invokespecial(slash(Object.class), "<init>", mdesc(void.class), false)
                     .aload(0)
                     .aload(1)
-                    .putfield(cb.getName(), "instance", desc(instanceType.get()))
+                    .putfield(cb.getName(), "instance", instanceDesc)
                     .return_()
                     .maxs(2, 2)
             );
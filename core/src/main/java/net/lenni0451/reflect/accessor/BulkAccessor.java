@@ -0,0 +1,203 @@
+package net.lenni0451.reflect.accessor;
+
+import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
+import net.lenni0451.reflect.bytecode.builder.ClassBuilder;
+import net.lenni0451.reflect.bytecode.builder.MethodBuilder;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import net.lenni0451.reflect.bytecode.wrapper.BytecodeLabel;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static net.lenni0451.reflect.accessor.AccessorUtils.addConstructor;
+import static net.lenni0451.reflect.accessor.AccessorUtils.makeAccessorName;
+import static net.lenni0451.reflect.bytecode.BytecodeUtils.*;
+
+/**
+ * Create one accessor class for many fields and methods of the same class.<br>
+ * Compared to {@link FieldAccessor} and {@link MethodAccessor} only one class is defined for all members.
+ */
+public class BulkAccessor {
+
+    private static final BytecodeBuilder BUILDER = BytecodeBuilder.get();
+
+    /**
+     * Create a new indexed accessor for the given fields and methods.<br>
+     * All members have to be declared in the target class.
+     * The index of a member in its array is the id used to access it.
+     *
+     * @param target  The class the members are declared in
+     * @param fields  The fields to access
+     * @param methods The methods to invoke
+     * @return The indexed accessor
+     * @throws IllegalArgumentException If a member is not declared in the target class
+     */
+    public static IndexedAccessor make(@Nonnull final Class<?> target, @Nonnull final Field[] fields, @Nonnull final Method[] methods) {
+        return prepare(target, fields, methods).create();
+    }
+
+    /**
+     * Create a new indexed accessor for the given fields and methods.<br>
+     * All members have to be declared in the target class.
+     * The index of a member in its array is the id used to access it.
+     *
+     * @param target   The class the members are declared in
+     * @param fields   The fields to access
+     * @param methods  The methods to invoke
+     * @param strength The strength of the accessor class
+     * @return The indexed accessor
+     * @throws IllegalArgumentException If a member is not declared in the target class
+     */
+    public static IndexedAccessor make(@Nonnull final Class<?> target, @Nonnull final Field[] fields, @Nonnull final Method[] methods, @Nonnull final AccessorStrength strength) {
+        return prepare(target, fields, methods).create(strength);
+    }
+
+    static PreparedAccessor<IndexedAccessor> prepare(@Nonnull final Class<?> target, @Nonnull final Field[] fields, @Nonnull final Method[] methods) {
+        for (Field field : fields) {
+            if (!field.getDeclaringClass().equals(target)) throw new IllegalArgumentException("The field " + field.getName() + " is not declared in " + target.getName());
+        }
+        for (Method method : methods) {
+            if (!method.getDeclaringClass().equals(target)) throw new IllegalArgumentException("The method " + method.getName() + " is not declared in " + target.getName());
+        }
+
+        String newClassName = makeAccessorName("IndexedAccessor", target, "Members");
+        boolean interfaceTarget = Modifier.isInterface(target.getModifiers());
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, slash(Object.class), new String[]{slash(IndexedAccessor.class)}, cb -> {
+            addConstructor(BUILDER, cb, null);
+            addGet(cb, target, fields);
+            addSet(cb, target, fields);
+            addInvoke(cb, target, interfaceTarget, methods);
+        }), target, fields, methods);
+
+        return new PreparedAccessor<>(target, builtClass, null);
+    }
+
+    private static void addGet(final ClassBuilder cb, final Class<?> target, final Field[] fields) {
+        cb.method(BUILDER.opcode("ACC_PUBLIC"), "get", mdesc(Object.class, int.class, Object.class), null, null, mb -> {
+            BytecodeLabel[] labels = newLabels(mb, fields.length);
+            switchMembers(mb, labels);
+            for (int i = 0; i < fields.length; i++) {
+                Field field = fields[i];
+                mb.label(labels[i]);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    mb.getstatic(slash(target), field.getName(), desc(field.getType()));
+                } else {
+                    mb
+                            .aload(2)
+                            .checkcast(slash(target))
+                            .getfield(slash(target), field.getName(), desc(field.getType()));
+                }
+                mb
+                        .box(field.getType())
+                        .areturn();
+            }
+            mb.maxs(3, 3);
+        });
+    }
+
+    private static void addSet(final ClassBuilder cb, final Class<?> target, final Field[] fields) {
+        cb.method(BUILDER.opcode("ACC_PUBLIC"), "set", mdesc(void.class, int.class, Object.class, Object.class), null, null, mb -> {
+            BytecodeLabel[] labels = newLabels(mb, fields.length);
+            BytecodeLabel finalField = mb.newLabel();
+            boolean hasFinalField = false;
+            for (int i = 0; i < fields.length; i++) {
+                if (Modifier.isFinal(fields[i].getModifiers())) {
+                    labels[i] = finalField;
+                    hasFinalField = true;
+                }
+            }
+            switchMembers(mb, labels);
+            for (int i = 0; i < fields.length; i++) {
+                Field field = fields[i];
+                if (Modifier.isFinal(field.getModifiers())) continue;
+                mb.label(labels[i]);
+                boolean staticField = Modifier.isStatic(field.getModifiers());
+                if (!staticField) {
+                    mb
+                            .aload(2)
+                            .checkcast(slash(target));
+                }
+                mb
+                        .aload(3)
+                        .checkcast(slash(boxed(field.getType())))
+                        .unbox(field.getType());
+                if (staticField) mb.putstatic(slash(target), field.getName(), desc(field.getType()));
+                else mb.putfield(slash(target), field.getName(), desc(field.getType()));
+                mb.return_();
+            }
+            if (hasFinalField) {
+                mb.label(finalField);
+                throwException(mb, IllegalStateException.class, "The field is final");
+            }
+            mb.maxs(3, 4);
+        });
+    }
+
+    private static void addInvoke(final ClassBuilder cb, final Class<?> target, final boolean interfaceTarget, final Method[] methods) {
+        cb.method(BUILDER.opcode("ACC_PUBLIC", "ACC_VARARGS"), "invoke", mdesc(Object.class, int.class, Object.class, Object[].class), null, null, mb -> {
+            BytecodeLabel[] labels = newLabels(mb, methods.length);
+            switchMembers(mb, labels);
+            int maxStack = 3;
+            for (int i = 0; i < methods.length; i++) {
+                Method method = methods[i];
+                boolean staticMethod = Modifier.isStatic(method.getModifiers());
+                mb.label(labels[i]);
+                int stack = 0;
+                if (!staticMethod) {
+                    mb
+                            .aload(2)
+                            .checkcast(slash(target));
+                    stack++;
+                }
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                for (int p = 0; p < parameterTypes.length; p++) {
+                    mb
+                            .aload(3)
+                            .intPush(p)
+                            .aaload()
+                            .checkcast(slash(boxed(parameterTypes[p])))
+                            .unbox(parameterTypes[p]);
+                    maxStack = Math.max(maxStack, stack + 2);
+                    stack += getStackSize(parameterTypes[p]);
+                }
+                maxStack = Math.max(maxStack, stack);
+                if (staticMethod) mb.invokestatic(slash(target), method.getName(), desc(method), interfaceTarget);
+                else if (interfaceTarget) mb.invokeinterface(slash(target), method.getName(), desc(method));
+                else mb.invokevirtual(slash(target), method.getName(), desc(method));
+                if (method.getReturnType().equals(void.class)) mb.aconstNull();
+                else mb.box(method.getReturnType());
+                mb.areturn();
+            }
+            mb.maxs(maxStack, 4);
+        });
+    }
+
+    private static BytecodeLabel[] newLabels(final MethodBuilder mb, final int count) {
+        BytecodeLabel[] labels = new BytecodeLabel[count];
+        for (int i = 0; i < count; i++) labels[i] = mb.newLabel();
+        return labels;
+    }
+
+    private static void switchMembers(final MethodBuilder mb, final BytecodeLabel[] labels) {
+        BytecodeLabel invalid = mb.newLabel();
+        if (labels.length > 0) {
+            mb
+                    .iload(1)
+                    .tableswitch(0, labels.length - 1, invalid, labels);
+        }
+        mb.label(invalid);
+        throwException(mb, IllegalArgumentException.class, "Invalid member id");
+    }
+
+    private static void throwException(final MethodBuilder mb, final Class<? extends RuntimeException> type, final String message) {
+        mb
+                .new_(slash(type))
+                .dup()
+                .ldc(message)
+                .invokespecial(slash(type), "<init>", mdesc(void.class, String.class), false)
+                .athrow();
+    }
+
+}
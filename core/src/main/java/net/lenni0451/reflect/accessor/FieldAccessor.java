@@ -1,13 +1,12 @@
 package net.lenni0451.reflect.accessor;
 
 import lombok.SneakyThrows;
-import net.lenni0451.reflect.Constructors;
 import net.lenni0451.reflect.Methods;
 import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
+import net.lenni0451.reflect.bytecode.builder.ComputeMode;
 import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
 
 import javax.annotation.Nonnull;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -37,40 +36,42 @@ public class FieldAccessor {
      * @param <I>          The invoker interface type
      * @return The setter instance
      */
-    @SneakyThrows
     public static <I> I makeSetter(@Nonnull final Class<?> invokerClass, final Object instance, @Nonnull final Field field) {
+        return FieldAccessor.<I>prepareSetter(invokerClass, instance, field).create();
+    }
+
+    @SneakyThrows
+    static <I> PreparedAccessor<I> prepareSetter(@Nonnull final Class<?> invokerClass, final Object instance, @Nonnull final Field field) {
         String newClassName = makeAccessorName("FieldSetter", field.getDeclaringClass(), field.getName());
         boolean staticField = Modifier.isStatic(field.getModifiers());
         Method invokerMethod = findInvokerMethod(invokerClass, new Class[]{field.getType()}, void.class);
-        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, slash(Object.class), new String[]{slash(invokerClass)}, cb -> {
-            //Disable the inspection because the instance parameter can be null. Just invoking getClass() here would throw an exception
-            //noinspection Convert2MethodRef
-            addConstructor(BUILDER, cb, () -> instance.getClass(), Modifier.isStatic(field.getModifiers()));
+        AccessorTemplate template = new AccessorTemplate("FieldSetter", invokerClass);
+        String className = template.name(newClassName);
+        String owner = template.type(field.getDeclaringClass());
+        String fieldName = template.name(field.getName());
+        String fieldDesc = template.desc(field.getType());
+        String fieldCast = template.flag(!invokerMethod.getParameterTypes()[0].equals(field.getType())) ? template.type(field.getType()) : null;
+        String instanceDesc = template.flag(staticField) ? null : template.desc(instance.getClass());
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> template.build(() -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), className, null, slash(Object.class), new String[]{slash(invokerClass)}, ComputeMode.MAXS, cb -> {
+            addConstructor(BUILDER, cb, instanceDesc);
             cb.method(BUILDER.opcode("ACC_PUBLIC"), invokerMethod.getName(), desc(invokerMethod), null, null, mb -> {
                 if (staticField) {
                     mb.load(invokerMethod.getParameterTypes()[0], 1);
-                    if (!invokerMethod.getParameterTypes()[0].equals(field.getType())) mb.checkcast(slash(field.getType()));
-                    mb.putstatic(slash(field.getDeclaringClass()), field.getName(), desc(field.getType()));
+                    if (fieldCast != null) mb.checkcast(fieldCast);
+                    mb.putstatic(owner, fieldName, fieldDesc);
                 } else {
                     mb.aload(0);
-                    mb.getfield(newClassName, "instance", desc(instance.getClass()));
+                    mb.getfield(className, "instance", instanceDesc);
                     mb.load(invokerMethod.getParameterTypes()[0], 1);
-                    if (!invokerMethod.getParameterTypes()[0].equals(field.getType())) mb.checkcast(slash(field.getType()));
-                    mb.putfield(slash(field.getDeclaringClass()), field.getName(), desc(field.getType()));
+                    if (fieldCast != null) mb.checkcast(fieldCast);
+                    mb.putfield(owner, fieldName, fieldDesc);
                 }
                 mb.return_();
                 mb.maxs(2, 2);
             });
-        });
-
-        Class<?> clazz = builtClass.defineMetafactory(field.getDeclaringClass());
-        if (staticField) {
-            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
-            return (I) Constructors.invoke(constructor);
-        } else {
-            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz, instance.getClass());
-            return (I) Constructors.invoke(constructor, instance);
-        }
+        })), field, invokerMethod, staticField ? null : instance.getClass());
+
+        return new PreparedAccessor<>(field.getDeclaringClass(), builtClass, staticField ? null : instance);
     }
 
     /**
@@ -84,27 +85,36 @@ public class FieldAccessor {
      * @param <I>          The invoker interface type
      * @return The dynamic setter instance
      */
-    @SneakyThrows
     public static <I> I makeDynamicSetter(@Nonnull final Class<I> invokerClass, @Nonnull final Field field) {
+        return FieldAccessor.<I>prepareDynamicSetter(invokerClass, field).create();
+    }
+
+    @SneakyThrows
+    static <I> PreparedAccessor<I> prepareDynamicSetter(@Nonnull final Class<I> invokerClass, @Nonnull final Field field) {
         if (Modifier.isStatic(field.getModifiers())) throw new IllegalArgumentException("Dynamic setter can only be used for non-static fields");
         String newClassName = makeAccessorName("DynamicFieldSetter", field.getDeclaringClass(), field.getName());
         Method invokerMethod = findInvokerMethod(invokerClass, new Class[]{field.getDeclaringClass(), field.getType()}, void.class);
-        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, slash(Object.class), new String[]{slash(invokerClass)}, cb -> {
-            addConstructor(BUILDER, cb, null, Modifier.isStatic(field.getModifiers()));
+        AccessorTemplate template = new AccessorTemplate("DynamicFieldSetter", invokerClass);
+        String className = template.name(newClassName);
+        String owner = template.type(field.getDeclaringClass());
+        String fieldName = template.name(field.getName());
+        String fieldDesc = template.desc(field.getType());
+        boolean ownerCast = template.flag(!invokerMethod.getParameterTypes()[0].equals(field.getDeclaringClass()));
+        String fieldCast = template.flag(!invokerMethod.getParameterTypes()[1].equals(field.getType())) ? template.type(field.getType()) : null;
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> template.build(() -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), className, null, slash(Object.class), new String[]{slash(invokerClass)}, ComputeMode.MAXS, cb -> {
+            addConstructor(BUILDER, cb, null);
             cb.method(BUILDER.opcode("ACC_PUBLIC"), invokerMethod.getName(), desc(invokerMethod), null, null, mb -> {
                 mb.aload(1);
-                if (!invokerMethod.getParameterTypes()[0].equals(field.getDeclaringClass())) mb.checkcast(slash(field.getDeclaringClass()));
+                if (ownerCast) mb.checkcast(owner);
                 mb.load(invokerMethod.getParameterTypes()[1], 2);
-                if (!invokerMethod.getParameterTypes()[1].equals(field.getType())) mb.checkcast(slash(field.getType()));
-                mb.putfield(slash(field.getDeclaringClass()), field.getName(), desc(field.getType()));
+                if (fieldCast != null) mb.checkcast(fieldCast);
+                mb.putfield(owner, fieldName, fieldDesc);
                 mb.return_();
                 mb.maxs(2, 3);
             });
-        });
+        })), field, invokerMethod);
 
-        Class<?> clazz = builtClass.defineMetafactory(field.getDeclaringClass());
-        Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
-        return (I) Constructors.invoke(constructor);
+        return new PreparedAccessor<>(field.getDeclaringClass(), builtClass, null);
     }
 
     /**
@@ -119,37 +129,39 @@ public class FieldAccessor {
      * @param <I>          The invoker interface type
      * @return The getter instance
      */
-    @SneakyThrows
     public static <I> I makeGetter(@Nonnull final Class<I> invokerClass, final Object instance, @Nonnull final Field field) {
+        return FieldAccessor.<I>prepareGetter(invokerClass, instance, field).create();
+    }
+
+    @SneakyThrows
+    static <I> PreparedAccessor<I> prepareGetter(@Nonnull final Class<I> invokerClass, final Object instance, @Nonnull final Field field) {
         String newClassName = makeAccessorName("FieldGetter", field.getDeclaringClass(), field.getName());
         boolean staticField = Modifier.isStatic(field.getModifiers());
         Method invokerMethod = findInvokerMethod(invokerClass, new Class[0], field.getType());
-        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, slash(Object.class), new String[]{slash(invokerClass)}, cb -> {
-            //Disable the inspection because the instance parameter can be null. Just invoking getClass() here would throw an exception
-            //noinspection Convert2MethodRef
-            addConstructor(BUILDER, cb, () -> instance.getClass(), Modifier.isStatic(field.getModifiers()));
+        AccessorTemplate template = new AccessorTemplate("FieldGetter", invokerClass);
+        String className = template.name(newClassName);
+        String owner = template.type(field.getDeclaringClass());
+        String fieldName = template.name(field.getName());
+        String fieldDesc = template.desc(field.getType());
+        boolean returnCast = template.flag(!field.getType().equals(invokerMethod.getReturnType()));
+        String instanceDesc = template.flag(staticField) ? null : template.desc(instance.getClass());
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> template.build(() -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), className, null, slash(Object.class), new String[]{slash(invokerClass)}, ComputeMode.MAXS, cb -> {
+            addConstructor(BUILDER, cb, instanceDesc);
             cb.method(BUILDER.opcode("ACC_PUBLIC"), invokerMethod.getName(), desc(invokerMethod), null, null, mb -> {
                 if (staticField) {
-                    mb.getstatic(slash(field.getDeclaringClass()), field.getName(), desc(field.getType()));
+                    mb.getstatic(owner, fieldName, fieldDesc);
                 } else {
                     mb.aload(0);
-                    mb.getfield(newClassName, "instance", desc(instance.getClass()));
-                    mb.getfield(slash(field.getDeclaringClass()), field.getName(), desc(field.getType()));
+                    mb.getfield(className, "instance", instanceDesc);
+                    mb.getfield(owner, fieldName, fieldDesc);
                 }
-                if (!field.getType().equals(invokerMethod.getReturnType())) mb.checkcast(slash(invokerMethod.getReturnType()));
+                if (returnCast) mb.checkcast(slash(invokerMethod.getReturnType()));
                 mb.return_(invokerMethod.getReturnType());
                 mb.maxs(1, 1);
             });
-        });
-
-        Class<?> clazz = builtClass.defineMetafactory(field.getDeclaringClass());
-        if (staticField) {
-            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
-            return (I) Constructors.invoke(constructor);
-        } else {
-            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz, instance.getClass());
-            return (I) Constructors.invoke(constructor, instance);
-        }
+        })), field, invokerMethod, staticField ? null : instance.getClass());
+
+        return new PreparedAccessor<>(field.getDeclaringClass(), builtClass, staticField ? null : instance);
     }
 
     /**
@@ -163,26 +175,35 @@ public class FieldAccessor {
      * @param <I>          The invoker interface type
      * @return The dynamic getter instance
      */
-    @SneakyThrows
     public static <I> I makeDynamicGetter(@Nonnull final Class<I> invokerClass, @Nonnull final Field field) {
+        return FieldAccessor.<I>prepareDynamicGetter(invokerClass, field).create();
+    }
+
+    @SneakyThrows
+    static <I> PreparedAccessor<I> prepareDynamicGetter(@Nonnull final Class<I> invokerClass, @Nonnull final Field field) {
         if (Modifier.isStatic(field.getModifiers())) throw new IllegalArgumentException("Dynamic setter can only be used for non-static fields");
         String newClassName = makeAccessorName("DynamicFieldGetter", field.getDeclaringClass(), field.getName());
         Method invokerMethod = findInvokerMethod(invokerClass, new Class[]{field.getDeclaringClass()}, field.getType());
-        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, "java/lang/Object", new String[]{slash(invokerClass)}, cb -> {
-            addConstructor(BUILDER, cb, null, Modifier.isStatic(field.getModifiers()));
+        AccessorTemplate template = new AccessorTemplate("DynamicFieldGetter", invokerClass);
+        String className = template.name(newClassName);
+        String owner = template.type(field.getDeclaringClass());
+        String fieldName = template.name(field.getName());
+        String fieldDesc = template.desc(field.getType());
+        boolean ownerCast = template.flag(!invokerMethod.getParameterTypes()[0].equals(field.getDeclaringClass()));
+        boolean returnCast = template.flag(!invokerMethod.getReturnType().equals(field.getType()));
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> template.build(() -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), className, null, "java/lang/Object", new String[]{slash(invokerClass)}, ComputeMode.MAXS, cb -> {
+            addConstructor(BUILDER, cb, null);
             cb.method(BUILDER.opcode("ACC_PUBLIC"), invokerMethod.getName(), desc(invokerMethod), null, null, mb -> {
                 mb.aload(1);
-                if (!invokerMethod.getParameterTypes()[0].equals(field.getDeclaringClass())) mb.checkcast(slash(field.getDeclaringClass()));
-                mb.getfield(slash(field.getDeclaringClass()), field.getName(), desc(field.getType()));
-                if (!invokerMethod.getReturnType().equals(field.getType())) mb.checkcast(slash(invokerMethod.getReturnType()));
+                if (ownerCast) mb.checkcast(owner);
+                mb.getfield(owner, fieldName, fieldDesc);
+                if (returnCast) mb.checkcast(slash(invokerMethod.getReturnType()));
                 mb.return_(invokerMethod.getReturnType());
                 mb.maxs(1, 2);
             });
-        });
+        })), field, invokerMethod);
 
-        Class<?> clazz = builtClass.defineMetafactory(field.getDeclaringClass());
-        Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
-        return (I) Constructors.invoke(constructor);
+        return new PreparedAccessor<>(field.getDeclaringClass(), builtClass, null);
     }
 
     private static Method findInvokerMethod(final Class<?> invokerClass, final Class<?>[] parameterTypes, final Class<?> returnType) {
@@ -0,0 +1,42 @@
+package net.lenni0451.reflect.accessor;
+
+/**
+ * An accessor for many fields and methods of the same class.<br>
+ * The members are selected by their index in the arrays passed to {@link BulkAccessor#make(Class, java.lang.reflect.Field[], java.lang.reflect.Method[])}.<br>
+ * The instance is ignored for static members.
+ */
+public interface IndexedAccessor {
+
+    /**
+     * Get the value of a field.
+     *
+     * @param fieldId  The index of the field
+     * @param instance The instance of the class the field is in
+     * @return The value of the field, primitives are boxed
+     * @throws IllegalArgumentException If the field index is invalid
+     */
+    Object get(final int fieldId, final Object instance);
+
+    /**
+     * Set the value of a field.
+     *
+     * @param fieldId  The index of the field
+     * @param instance The instance of the class the field is in
+     * @param value    The new value of the field, primitives have to be boxed
+     * @throws IllegalArgumentException If the field index is invalid
+     * @throws IllegalStateException    If the field is final
+     */
+    void set(final int fieldId, final Object instance, final Object value);
+
+    /**
+     * Invoke a method.
+     *
+     * @param methodId The index of the method
+     * @param instance The instance of the class the method is in
+     * @param args     The arguments of the method, primitives have to be boxed
+     * @return The return value of the method or {@code null} for void methods
+     * @throws IllegalArgumentException If the method index is invalid
+     */
+    Object invoke(final int methodId, final Object instance, final Object... args);
+
+}
@@ -1,14 +1,13 @@
 package net.lenni0451.reflect.accessor;
 
 import lombok.SneakyThrows;
-import net.lenni0451.reflect.Constructors;
 import net.lenni0451.reflect.Methods;
 import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
+import net.lenni0451.reflect.bytecode.builder.ComputeMode;
 import net.lenni0451.reflect.bytecode.builder.MethodBuilder;
 import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
 
 import javax.annotation.Nonnull;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.function.BiFunction;
@@ -39,47 +38,47 @@ public class MethodAccessor {
      * @param <I>          The invoker interface type
      * @return The invoker instance implementation
      */
-    @SneakyThrows
     public static <I> I makeInvoker(@Nonnull final Class<I> invokerClass, final Object instance, @Nonnull final Method method) {
+        return MethodAccessor.<I>prepareInvoker(invokerClass, instance, method).create();
+    }
+
+    @SneakyThrows
+    static <I> PreparedAccessor<I> prepareInvoker(@Nonnull final Class<I> invokerClass, final Object instance, @Nonnull final Method method) {
         String newClassName = makeAccessorName("MethodInvoker", method.getDeclaringClass(), method.getName());
         boolean staticMethod = Modifier.isStatic(method.getModifiers());
         Method invokerMethod = findInvokerMethod(invokerClass, method, false);
-        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, slash(Object.class), new String[]{slash(invokerClass)}, cb -> {
-            //Disable the inspection because the instance parameter can be null. Just invoking getClass() here would throw an exception
-            //noinspection Convert2MethodRef
-            addConstructor(BUILDER, cb, () -> instance.getClass(), staticMethod);
-
-            String methodClass = slash(method.getDeclaringClass());
-            String methodDesc = desc(method);
-            boolean interfaceMethod = Modifier.isInterface(method.getDeclaringClass().getModifiers());
+        AccessorTemplate template = new AccessorTemplate("MethodInvoker", invokerClass);
+        String className = template.name(newClassName);
+        String methodClass = template.type(method.getDeclaringClass());
+        String methodName = template.name(method.getName());
+        String methodDesc = template.mdesc(method.getReturnType(), method.getParameterTypes());
+        boolean interfaceMethod = template.flag(Modifier.isInterface(method.getDeclaringClass().getModifiers()));
+        String[] argCasts = castArgs(template, invokerMethod.getParameterTypes(), method.getParameterTypes());
+        boolean returnCast = template.flag(!method.getReturnType().equals(invokerMethod.getReturnType()));
+        String instanceDesc = template.flag(staticMethod) ? null : template.desc(instance.getClass());
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> template.build(() -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), className, null, slash(Object.class), new String[]{slash(invokerClass)}, ComputeMode.MAXS, cb -> {
+            addConstructor(BUILDER, cb, instanceDesc);
             cb.method(BUILDER.opcode("ACC_PUBLIC"), invokerMethod.getName(), desc(invokerMethod), null, null, mb -> {
                 if (staticMethod) {
-                    pushArgs(mb, invokerMethod.getParameterTypes(), method.getParameterTypes());
-                    mb.invokestatic(methodClass, method.getName(), methodDesc, interfaceMethod);
+                    pushArgs(mb, invokerMethod.getParameterTypes(), argCasts);
+                    mb.invokestatic(methodClass, methodName, methodDesc, interfaceMethod);
                 } else {
                     mb.aload(0);
-                    mb.getfield(newClassName, "instance", desc(instance.getClass()));
-                    pushArgs(mb, invokerMethod.getParameterTypes(), method.getParameterTypes());
+                    mb.getfield(className, "instance", instanceDesc);
+                    pushArgs(mb, invokerMethod.getParameterTypes(), argCasts);
                     if (interfaceMethod) {
-                        mb.invokeinterface(methodClass, method.getName(), methodDesc);
+                        mb.invokeinterface(methodClass, methodName, methodDesc);
                     } else {
-                        mb.invokevirtual(methodClass, method.getName(), methodDesc);
+                        mb.invokevirtual(methodClass, methodName, methodDesc);
                     }
                 }
-                if (!method.getReturnType().equals(invokerMethod.getReturnType())) mb.checkcast(slash(invokerMethod.getReturnType()));
+                if (returnCast) mb.checkcast(slash(invokerMethod.getReturnType()));
                 mb.return_(invokerMethod.getReturnType());
                 mb.maxs(invokerMethod.getParameterCount() + 1, invokerMethod.getParameterCount() + 1);
             });
-        });
+        })), method, invokerMethod, staticMethod ? null : instance.getClass());
 
-        Class<?> clazz = builtClass.defineMetafactory(method.getDeclaringClass());
-        if (staticMethod) {
-            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
-            return (I) Constructors.invoke(constructor);
-        } else {
-            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz, instance.getClass());
-            return (I) Constructors.invoke(constructor, instance);
-        }
+        return new PreparedAccessor<>(method.getDeclaringClass(), builtClass, staticMethod ? null : instance);
     }
 
     /**
@@ -93,30 +92,36 @@ public class MethodAccessor {
      * @return The invoker instance implementation
      */
     public static <R> Function<Object[], R> makeArrayInvoker(final Object instance, @Nonnull final Method method) {
+        return MethodAccessor.<R>prepareArrayInvoker(instance, method).create();
+    }
+
+    static <R> PreparedAccessor<Function<Object[], R>> prepareArrayInvoker(final Object instance, @Nonnull final Method method) {
         String newClassName = makeAccessorName("ArrayMethodInvoker", method.getDeclaringClass(), method.getName());
         boolean staticMethod = Modifier.isStatic(method.getModifiers());
-        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, slash(Object.class), new String[]{slash(Function.class)}, cb -> {
-            //Disable the inspection because the instance parameter can be null. Just invoking getClass() here would throw an exception
-            //noinspection Convert2MethodRef
-            addConstructor(BUILDER, cb, () -> instance.getClass(), staticMethod);
-
-            String methodClass = slash(method.getDeclaringClass());
-            String methodDesc = desc(method);
-            boolean interfaceMethod = Modifier.isInterface(method.getDeclaringClass().getModifiers());
+        AccessorTemplate template = new AccessorTemplate("ArrayMethodInvoker", Function.class);
+        String className = template.name(newClassName);
+        String methodClass = template.type(method.getDeclaringClass());
+        String methodName = template.name(method.getName());
+        String methodDesc = template.mdesc(method.getReturnType(), method.getParameterTypes());
+        boolean interfaceMethod = template.flag(Modifier.isInterface(method.getDeclaringClass().getModifiers()));
+        String[] argCasts = castArrayArgs(template, method.getParameterTypes());
+        String instanceDesc = template.flag(staticMethod) ? null : template.desc(instance.getClass());
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> template.build(() -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), className, null, slash(Object.class), new String[]{slash(Function.class)}, ComputeMode.MAXS, cb -> {
+            addConstructor(BUILDER, cb, instanceDesc);
             cb.method(BUILDER.opcode("ACC_PUBLIC"), "apply", mdesc(Object.class, Object.class), null, null, mb -> {
                 if (!staticMethod) {
                     mb
                             .aload(0)
-                            .getfield(cb.getName(), "instance", desc(instance.getClass()));
+                            .getfield(cb.getName(), "instance", instanceDesc);
                 }
-                pushArrayArgs(mb, method, 1);
+                pushArrayArgs(mb, method.getParameterTypes(), argCasts, 1);
                 if (staticMethod) {
-                    mb.invokestatic(methodClass, method.getName(), methodDesc, interfaceMethod);
+                    mb.invokestatic(methodClass, methodName, methodDesc, interfaceMethod);
                 } else {
                     if (interfaceMethod) {
-                        mb.invokeinterface(methodClass, method.getName(), methodDesc);
+                        mb.invokeinterface(methodClass, methodName, methodDesc);
                     } else {
-                        mb.invokevirtual(methodClass, method.getName(), methodDesc);
+                        mb.invokevirtual(methodClass, methodName, methodDesc);
                     }
                 }
                 if (method.getReturnType() == void.class) mb.aconstNull();
@@ -125,16 +130,9 @@ public class MethodAccessor {
                         .areturn()
                         .maxs(method.getParameterCount() + 2, 2);
             });
-        });
+        })), method, staticMethod ? null : instance.getClass());
 
-        Class<?> clazz = builtClass.defineMetafactory(method.getDeclaringClass());
-        if (staticMethod) {
-            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
-            return (Function<Object[], R>) Constructors.invoke(constructor);
-        } else {
-            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz, instance.getClass());
-            return (Function<Object[], R>) Constructors.invoke(constructor, instance);
-        }
+        return new PreparedAccessor<>(method.getDeclaringClass(), builtClass, staticMethod ? null : instance);
     }
 
     /**
@@ -149,27 +147,37 @@ public class MethodAccessor {
      * @return The invoker instance implementation
      */
     public static <I> I makeDynamicInvoker(@Nonnull final Class<I> invokerClass, @Nonnull final Method method) {
+        return MethodAccessor.<I>prepareDynamicInvoker(invokerClass, method).create();
+    }
+
+    static <I> PreparedAccessor<I> prepareDynamicInvoker(@Nonnull final Class<I> invokerClass, @Nonnull final Method method) {
         if (Modifier.isStatic(method.getModifiers())) throw new IllegalArgumentException("Dynamic invoker can only be used for non-static methods");
         String newClassName = makeAccessorName("DynamicMethodInvoker", method.getDeclaringClass(), method.getName());
         Method invokerMethod = findInvokerMethod(invokerClass, method, true);
-        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, slash(Object.class), new String[]{slash(invokerClass)}, cb -> {
-            addConstructor(BUILDER, cb, null, false);
+        AccessorTemplate template = new AccessorTemplate("DynamicMethodInvoker", invokerClass);
+        String className = template.name(newClassName);
+        String methodClass = template.type(method.getDeclaringClass());
+        String methodName = template.name(method.getName());
+        String methodDesc = template.mdesc(method.getReturnType(), method.getParameterTypes());
+        boolean interfaceMethod = template.flag(Modifier.isInterface(method.getDeclaringClass().getModifiers()));
+        String[] argCasts = castArgs(template, invokerMethod.getParameterTypes(), prepend(method.getParameterTypes(), method.getDeclaringClass()));
+        boolean returnCast = template.flag(!method.getReturnType().equals(invokerMethod.getReturnType()));
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> template.build(() -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), className, null, slash(Object.class), new String[]{slash(invokerClass)}, ComputeMode.MAXS, cb -> {
+            addConstructor(BUILDER, cb, null);
             cb.method(BUILDER.opcode("ACC_PUBLIC"), invokerMethod.getName(), desc(invokerMethod), null, null, mb -> {
-                pushArgs(mb, invokerMethod.getParameterTypes(), prepend(method.getParameterTypes(), method.getDeclaringClass()));
-                if (Modifier.isInterface(method.getDeclaringClass().getModifiers())) {
-                    mb.invokeinterface(slash(method.getDeclaringClass()), method.getName(), desc(method));
+                pushArgs(mb, invokerMethod.getParameterTypes(), argCasts);
+                if (interfaceMethod) {
+                    mb.invokeinterface(methodClass, methodName, methodDesc);
                 } else {
-                    mb.invokevirtual(slash(method.getDeclaringClass()), method.getName(), desc(method));
+                    mb.invokevirtual(methodClass, methodName, methodDesc);
                 }
-                if (!method.getReturnType().equals(invokerMethod.getReturnType())) mb.checkcast(slash(invokerMethod.getReturnType()));
+                if (returnCast) mb.checkcast(slash(invokerMethod.getReturnType()));
                 mb.return_(invokerMethod.getReturnType());
                 mb.maxs(invokerMethod.getParameterCount() + 1, invokerMethod.getParameterCount() + 1);
             });
-        });
+        })), method, invokerMethod);
 
-        Class<?> clazz = builtClass.defineMetafactory(method.getDeclaringClass());
-        Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
-        return (I) Constructors.invoke(constructor);
+        return new PreparedAccessor<>(method.getDeclaringClass(), builtClass, null);
     }
 
     /**
@@ -184,19 +192,30 @@ public class MethodAccessor {
      * @return The invoker instance implementation
      */
     public static <I, R> BiFunction<I, Object[], R> makeDynamicArrayInvoker(@Nonnull final Method method) {
+        return MethodAccessor.<I, R>prepareDynamicArrayInvoker(method).create();
+    }
+
+    static <I, R> PreparedAccessor<BiFunction<I, Object[], R>> prepareDynamicArrayInvoker(@Nonnull final Method method) {
         if (Modifier.isStatic(method.getModifiers())) throw new IllegalArgumentException("Dynamic invoker can only be used for non-static methods");
         String newClassName = makeAccessorName("DynamicArrayMethodInvoker", method.getDeclaringClass(), method.getName());
-        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), newClassName, null, slash(Object.class), new String[]{slash(BiFunction.class)}, cb -> {
-            addConstructor(BUILDER, cb, null, false);
+        AccessorTemplate template = new AccessorTemplate("DynamicArrayMethodInvoker", BiFunction.class);
+        String className = template.name(newClassName);
+        String methodClass = template.type(method.getDeclaringClass());
+        String methodName = template.name(method.getName());
+        String methodDesc = template.mdesc(method.getReturnType(), method.getParameterTypes());
+        boolean interfaceMethod = template.flag(Modifier.isInterface(method.getDeclaringClass().getModifiers()));
+        String[] argCasts = castArrayArgs(template, method.getParameterTypes());
+        BuiltClass builtClass = AccessorCache.build(newClassName, () -> template.build(() -> BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), className, null, slash(Object.class), new String[]{slash(BiFunction.class)}, ComputeMode.MAXS, cb -> {
+            addConstructor(BUILDER, cb, null);
             cb.method(BUILDER.opcode("ACC_PUBLIC"), "apply", mdesc(Object.class, Object.class, Object.class), null, null, mb -> {
                 mb
                         .aload(1)
-                        .checkcast(slash(method.getDeclaringClass()));
-                pushArrayArgs(mb, method, 2);
-                if (Modifier.isInterface(method.getDeclaringClass().getModifiers())) {
-                    mb.invokeinterface(slash(method.getDeclaringClass()), method.getName(), desc(method));
+                        .checkcast(methodClass);
+                pushArrayArgs(mb, method.getParameterTypes(), argCasts, 2);
+                if (interfaceMethod) {
+                    mb.invokeinterface(methodClass, methodName, methodDesc);
                 } else {
-                    mb.invokevirtual(slash(method.getDeclaringClass()), method.getName(), desc(method));
+                    mb.invokevirtual(methodClass, methodName, methodDesc);
                 }
                 if (method.getReturnType() == void.class) mb.aconstNull();
                 else mb.box(method.getReturnType());
@@ -204,11 +223,9 @@ public class MethodAccessor {
                         .areturn()
                         .maxs(method.getParameterCount() + 2, 3);
             });
-        });
+        })), method);
 
-        Class<?> clazz = builtClass.defineMetafactory(method.getDeclaringClass());
-        Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
-        return (BiFunction<I, Object[], R>) Constructors.invoke(constructor);
+        return new PreparedAccessor<>(method.getDeclaringClass(), builtClass, null);
     }
 
     private static Method findInvokerMethod(final Class<?> invokerClass, final Method method, final boolean requireInstance) {
@@ -240,30 +257,45 @@ public class MethodAccessor {
         return matched;
     }
 
-    private static void pushArgs(final MethodBuilder mb, final Class<?>[] supplied, final Class<?>[] target) {
+    private static String[] castArgs(final AccessorTemplate template, final Class<?>[] supplied, final Class<?>[] target) {
+        String[] casts = new String[supplied.length];
+        for (int i = 0; i < supplied.length; i++) {
+            if (template.flag(!supplied[i].equals(target[i]))) casts[i] = template.type(target[i]);
+        }
+        return casts;
+    }
+
+    private static String[] castArrayArgs(final AccessorTemplate template, final Class<?>[] parameters) {
+        String[] casts = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isPrimitive()) casts[i] = slash(boxed(parameters[i]));
+            else casts[i] = template.type(parameters[i]);
+        }
+        return casts;
+    }
+
+    private static void pushArgs(final MethodBuilder mb, final Class<?>[] supplied, final String[] casts) {
         int stack = 1;
         for (int i = 0; i < supplied.length; i++) {
             Class<?> suppliedType = supplied[i];
-            Class<?> targetType = target[i];
             mb.load(suppliedType, stack);
-            if (!suppliedType.equals(targetType)) mb.checkcast(slash(targetType));
+            if (casts[i] != null) mb.checkcast(casts[i]);
             stack += getStackSize(suppliedType);
         }
     }
 
-    private static void pushArrayArgs(final MethodBuilder mb, final Method method, final int arrayIndex) {
+    private static void pushArrayArgs(final MethodBuilder mb, final Class<?>[] parameters, final String[] casts, final int arrayIndex) {
         mb
                 .aload(arrayIndex)
                 .checkcast(desc(Object[].class))
                 .astore(arrayIndex);
-        for (int i = 0; i < method.getParameterCount(); i++) {
-            Class<?> parameter = method.getParameterTypes()[i];
+        for (int i = 0; i < parameters.length; i++) {
             mb
                     .aload(arrayIndex)
                     .intPush(i)
                     .aaload()
-                    .checkcast(slash(boxed(parameter)))
-                    .unbox(parameter);
+                    .checkcast(casts[i])
+                    .unbox(parameters[i]);
         }
     }
 
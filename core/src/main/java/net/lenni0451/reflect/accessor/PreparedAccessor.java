@@ -0,0 +1,61 @@
+package net.lenni0451.reflect.accessor;
+
+import net.lenni0451.reflect.ClassLoaders;
+import net.lenni0451.reflect.Constructors;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import org.jetbrains.annotations.ApiStatus;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+
+/**
+ * An accessor whose bytecode has been generated but which has not been defined yet.<br>
+ * Generating the bytecode does not touch any class loader and can be done on any thread.
+ * Defining and constructing the accessor is done by {@link #create()}.
+ *
+ * @param <I> The accessor type
+ */
+@ApiStatus.Internal
+class PreparedAccessor<I> {
+
+    private final Class<?> host;
+    private final byte[] bytes;
+    @Nullable
+    private final Object instance;
+
+    PreparedAccessor(final Class<?> host, final BuiltClass builtClass, @Nullable final Object instance) {
+        this.host = host;
+        this.bytes = builtClass.toBytes();
+        this.instance = instance;
+    }
+
+    /**
+     * Define the accessor class with the default strength and create a new instance of it.
+     *
+     * @return The accessor instance
+     * @see AccessorRegistry#getDefaultStrength()
+     */
+    I create() {
+        return this.create(AccessorRegistry.getDefaultStrength());
+    }
+
+    /**
+     * Define the accessor class as a nestmate of the host and create a new instance of it.<br>
+     * The class is registered in the {@link AccessorRegistry}.
+     *
+     * @param strength The strength of the accessor class
+     * @return The accessor instance
+     */
+    I create(final AccessorStrength strength) {
+        Class<?> clazz = ClassLoaders.defineAnonymousClass(this.host, this.bytes, strength.getFlags());
+        AccessorRegistry.register(clazz, strength);
+        if (this.instance == null) {
+            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz);
+            return (I) Constructors.invoke(constructor);
+        } else {
+            Constructor<?> constructor = Constructors.getDeclaredConstructor(clazz, this.instance.getClass());
+            return (I) Constructors.invoke(constructor, this.instance);
+        }
+    }
+
+}
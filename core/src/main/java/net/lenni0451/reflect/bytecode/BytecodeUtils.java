@@ -160,4 +160,28 @@ public class BytecodeUtils {
         return clazz;
     }
 
+    /**
+     * Sort the keys of a lookup switch together with their labels.<br>
+     * Both arrays are sorted in place. The JVM requires the keys of a lookup switch to be sorted and unique.
+     *
+     * @param keys   The keys of the switch cases
+     * @param labels The labels of the switch cases
+     * @throws IllegalArgumentException If the amount of keys and labels differs or a key is used more than once
+     */
+    public static void sortSwitchCases(final int[] keys, final Object[] labels) {
+        if (keys.length != labels.length) throw new IllegalArgumentException("Expected " + keys.length + " labels but got " + labels.length);
+        for (int i = 1; i < keys.length; i++) {
+            int key = keys[i];
+            Object label = labels[i];
+            int j = i - 1;
+            for (; j >= 0 && keys[j] > key; j--) {
+                keys[j + 1] = keys[j];
+                labels[j + 1] = labels[j];
+            }
+            if (j >= 0 && keys[j] == key) throw new IllegalArgumentException("Duplicate switch key " + key);
+            keys[j + 1] = key;
+            labels[j + 1] = label;
+        }
+    }
+
 }
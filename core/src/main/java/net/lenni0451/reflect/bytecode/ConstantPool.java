@@ -0,0 +1,154 @@
+package net.lenni0451.reflect.bytecode;
+
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+
+/**
+ * The offsets of all constant pool entries of a class file.<br>
+ * Only the structure of the constant pool is parsed, UTF8 entries are decoded when they are requested.
+ */
+@ApiStatus.Internal
+public class ConstantPool {
+
+    public static final int UTF8 = 1;
+    public static final int CLASS = 7;
+
+    /**
+     * Read an unsigned big endian short from a byte array.
+     *
+     * @param bytes  The byte array
+     * @param offset The offset of the short
+     * @return The read value
+     */
+    public static int readUnsignedShort(final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xFF) << 8 | bytes[offset + 1] & 0xFF;
+    }
+
+    private static int readInt(final byte[] bytes, final int offset) {
+        return readUnsignedShort(bytes, offset) << 16 | readUnsignedShort(bytes, offset + 2);
+    }
+
+
+    private final byte[] bytes;
+    private final int[] tags;
+    private final int[] offsets;
+    private final int end;
+
+    /**
+     * Parse the constant pool of the given class file.
+     *
+     * @param bytes The class file
+     * @throws ClassFormatError If the class file is invalid or contains an unknown constant pool tag
+     */
+    public ConstantPool(final byte[] bytes) {
+        this.bytes = bytes;
+        if (bytes.length < 10 || readInt(bytes, 0) != 0xCAFEBABE) throw new ClassFormatError("Invalid class file magic");
+        int count = readUnsignedShort(bytes, 8);
+        this.tags = new int[count];
+        this.offsets = new int[count];
+
+        int offset = 10;
+        for (int i = 1; i < count; i++) {
+            int tag = bytes[offset] & 0xFF;
+            this.tags[i] = tag;
+            this.offsets[i] = offset;
+            switch (tag) {
+                case 1: //Utf8
+                    offset += 3 + readUnsignedShort(bytes, offset + 1);
+                    break;
+                case 7: //Class
+                case 8: //String
+                case 16: //MethodType
+                case 19: //Module
+                case 20: //Package
+                    offset += 3;
+                    break;
+                case 15: //MethodHandle
+                    offset += 4;
+                    break;
+                case 3: //Integer
+                case 4: //Float
+                case 9: //Fieldref
+                case 10: //Methodref
+                case 11: //InterfaceMethodref
+                case 12: //NameAndType
+                case 17: //Dynamic
+                case 18: //InvokeDynamic
+                    offset += 5;
+                    break;
+                case 5: //Long
+                case 6: //Double
+                    offset += 9;
+                    i++;
+                    break;
+                default:
+                    throw new ClassFormatError("Unknown constant pool tag " + tag);
+            }
+        }
+        this.end = offset;
+    }
+
+    /**
+     * @return The amount of constant pool entries including the unused index 0
+     */
+    public int size() {
+        return this.tags.length;
+    }
+
+    /**
+     * @param index The index of the entry
+     * @return The tag of the entry or {@code 0} if the index is unused
+     */
+    public int getTag(final int index) {
+        return this.tags[index];
+    }
+
+    /**
+     * @param index The index of the entry
+     * @return The offset of the tag of the entry in the class file
+     */
+    public int getOffset(final int index) {
+        return this.offsets[index];
+    }
+
+    /**
+     * @param index The index of the entry
+     * @return The length of the entry in the class file including the tag
+     */
+    public int getLength(final int index) {
+        int next = index + 1;
+        while (next < this.tags.length && this.tags[next] == 0) next++; //Skip the second index of long and double entries
+        return (next < this.tags.length ? this.offsets[next] : this.end) - this.offsets[index];
+    }
+
+    /**
+     * @param index The index of a UTF8 entry
+     * @return The decoded string
+     */
+    @SneakyThrows
+    public String getUtf8(final int index) {
+        if (this.tags[index] != UTF8) throw new ClassFormatError("Constant pool entry " + index + " is not a UTF8 entry");
+        int offset = this.offsets[index] + 1;
+        return new DataInputStream(new ByteArrayInputStream(this.bytes, offset, this.bytes.length - offset)).readUTF();
+    }
+
+    /**
+     * @param index The index of a class entry
+     * @return The internal name of the class
+     */
+    public String getClassName(final int index) {
+        if (this.tags[index] != CLASS) throw new ClassFormatError("Constant pool entry " + index + " is not a class entry");
+        return this.getUtf8(readUnsignedShort(this.bytes, this.offsets[index] + 1));
+    }
+
+    /**
+     * @return The offset of the access flags following the constant pool
+     */
+    public int getEnd() {
+        return this.end;
+    }
+
+}
@@ -21,6 +21,13 @@ public interface BytecodeBuilder {
             return (BytecodeBuilder) TRUSTED_LOOKUP.findConstructor(impl, MethodType.methodType(void.class)).invoke();
         } catch (Throwable ignored) {
         }
+        if (Classes.byName("org.objectweb.asm.Opcodes", BytecodeBuilder.class.getClassLoader()) != null) {
+            try {
+                Class<?> impl = Classes.forName("net.lenni0451.reflect.bytecode.impl.asm.DirectASMBuilder", BytecodeBuilder.class.getClassLoader());
+                return (BytecodeBuilder) TRUSTED_LOOKUP.findConstructor(impl, MethodType.methodType(void.class)).invoke();
+            } catch (Throwable ignored) {
+            }
+        }
         if (Classes.byName("org.objectweb.asm.Opcodes", BytecodeBuilder.class.getClassLoader()) != null
                 || Classes.byName("jdk.internal.org.objectweb.asm.Opcodes", BytecodeBuilder.class.getClassLoader()) != null) {
             Class<?> impl = Classes.forName("net.lenni0451.reflect.bytecode.impl.asm.ASMBuilder", BytecodeBuilder.class.getClassLoader());
@@ -30,7 +37,11 @@ public interface BytecodeBuilder {
     }
 
 
-    BuiltClass class_(final int access, final String name, final String signature, final String superName, final String[] interfaces, final Consumer<ClassBuilder> consumer);
+    default BuiltClass class_(final int access, final String name, final String signature, final String superName, final String[] interfaces, final Consumer<ClassBuilder> consumer) {
+        return this.class_(access, name, signature, superName, interfaces, ComputeMode.FRAMES, consumer);
+    }
+
+    BuiltClass class_(final int access, final String name, final String signature, final String superName, final String[] interfaces, final ComputeMode computeMode, final Consumer<ClassBuilder> consumer);
 
     BytecodeType type(final String descriptor);
 
@@ -0,0 +1,31 @@
+package net.lenni0451.reflect.bytecode.builder;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * What the bytecode library computes when building a class.<br>
+ * Classes are built for Java 8+, so methods containing jumps or switches need stack map frames.
+ */
+@ApiStatus.Experimental
+public enum ComputeMode {
+
+    /**
+     * Only the values passed to {@link MethodBuilder#maxs(int, int)} are used.<br>
+     * Not all bytecode libraries support this, they may compute the max stack size anyway.<br>
+     * No stack map frames are generated, so this is only valid for methods without jumps or switches.
+     * The ClassFile backend drops all stack maps in this mode and class files of version 50+ with branches fail to verify, use {@link #FRAMES} for them.
+     */
+    NONE,
+    /**
+     * The max stack size and max locals are computed with a single pass over the code.<br>
+     * No stack map frames are generated, so this is only valid for methods without jumps or switches.
+     * The ClassFile backend drops all stack maps in this mode and class files of version 50+ with branches fail to verify, use {@link #FRAMES} for them.
+     */
+    MAXS,
+    /**
+     * The max stack size, max locals and stack map frames are computed.<br>
+     * This requires a full data flow analysis and may load the classes used in the code to find common super classes.
+     */
+    FRAMES
+
+}
@@ -45,6 +45,176 @@ public interface MethodBuilder {
 
     MethodBuilder i2l();
 
+    MethodBuilder pop2();
+
+    MethodBuilder dup2();
+
+    MethodBuilder dupX2();
+
+    MethodBuilder swap();
+
+    MethodBuilder iaload();
+
+    MethodBuilder laload();
+
+    MethodBuilder faload();
+
+    MethodBuilder daload();
+
+    MethodBuilder baload();
+
+    MethodBuilder caload();
+
+    MethodBuilder saload();
+
+    MethodBuilder iastore();
+
+    MethodBuilder lastore();
+
+    MethodBuilder fastore();
+
+    MethodBuilder dastore();
+
+    MethodBuilder bastore();
+
+    MethodBuilder castore();
+
+    MethodBuilder sastore();
+
+    MethodBuilder arraylength();
+
+    MethodBuilder iadd();
+
+    MethodBuilder ladd();
+
+    MethodBuilder fadd();
+
+    MethodBuilder dadd();
+
+    MethodBuilder isub();
+
+    MethodBuilder lsub();
+
+    MethodBuilder fsub();
+
+    MethodBuilder dsub();
+
+    MethodBuilder imul();
+
+    MethodBuilder lmul();
+
+    MethodBuilder fmul();
+
+    MethodBuilder dmul();
+
+    MethodBuilder idiv();
+
+    MethodBuilder ldiv();
+
+    MethodBuilder fdiv();
+
+    MethodBuilder ddiv();
+
+    MethodBuilder irem();
+
+    MethodBuilder lrem();
+
+    MethodBuilder frem();
+
+    MethodBuilder drem();
+
+    MethodBuilder ineg();
+
+    MethodBuilder lneg();
+
+    MethodBuilder fneg();
+
+    MethodBuilder dneg();
+
+    MethodBuilder ishl();
+
+    MethodBuilder lshl();
+
+    MethodBuilder ishr();
+
+    MethodBuilder lshr();
+
+    MethodBuilder iushr();
+
+    MethodBuilder lushr();
+
+    MethodBuilder iand();
+
+    MethodBuilder land();
+
+    MethodBuilder ior();
+
+    MethodBuilder lor();
+
+    MethodBuilder ixor();
+
+    MethodBuilder lxor();
+
+    MethodBuilder i2f();
+
+    MethodBuilder i2d();
+
+    MethodBuilder l2i();
+
+    MethodBuilder l2f();
+
+    MethodBuilder l2d();
+
+    MethodBuilder f2i();
+
+    MethodBuilder f2l();
+
+    MethodBuilder f2d();
+
+    MethodBuilder d2i();
+
+    MethodBuilder d2l();
+
+    MethodBuilder d2f();
+
+    MethodBuilder i2b();
+
+    MethodBuilder i2c();
+
+    MethodBuilder i2s();
+
+    MethodBuilder lcmp();
+
+    MethodBuilder fcmpl();
+
+    MethodBuilder fcmpg();
+
+    MethodBuilder dcmpl();
+
+    MethodBuilder dcmpg();
+
+    default MethodBuilder arrayLoad(final Class<?> componentType) {
+        if (boolean.class.equals(componentType) || byte.class.equals(componentType)) return this.baload();
+        if (char.class.equals(componentType)) return this.caload();
+        if (short.class.equals(componentType)) return this.saload();
+        if (int.class.equals(componentType)) return this.iaload();
+        if (long.class.equals(componentType)) return this.laload();
+        if (float.class.equals(componentType)) return this.faload();
+        if (double.class.equals(componentType)) return this.daload();
+        return this.aaload();
+    }
+
+    default MethodBuilder arrayStore(final Class<?> componentType) {
+        if (boolean.class.equals(componentType) || byte.class.equals(componentType)) return this.bastore();
+        if (char.class.equals(componentType)) return this.castore();
+        if (short.class.equals(componentType)) return this.sastore();
+        if (int.class.equals(componentType)) return this.iastore();
+        if (long.class.equals(componentType)) return this.lastore();
+        if (float.class.equals(componentType)) return this.fastore();
+        if (double.class.equals(componentType)) return this.dastore();
+        return this.aastore();
+    }
+
     MethodBuilder iconstM1();
 
     MethodBuilder iconst0();
@@ -126,12 +296,18 @@ public interface MethodBuilder {
         return this.astore(varIndex);
     }
 
+    MethodBuilder iinc(final int varIndex, final int increment);
+
     MethodBuilder new_(final String type);
 
     MethodBuilder checkcast(final String type);
 
     MethodBuilder anewarray(final String type);
 
+    MethodBuilder newarray(final Class<?> primitiveType);
+
+    MethodBuilder instanceof_(final String type);
+
     default MethodBuilder box(final Class<?> primitive) {
         Class<?> boxed = boxed(primitive);
         if (boxed != primitive) {
@@ -168,8 +344,40 @@ public interface MethodBuilder {
 
     MethodBuilder ifnonnull(final BytecodeLabel label);
 
+    MethodBuilder ifeq(final BytecodeLabel label);
+
+    MethodBuilder iflt(final BytecodeLabel label);
+
+    MethodBuilder ifge(final BytecodeLabel label);
+
+    MethodBuilder ifgt(final BytecodeLabel label);
+
+    MethodBuilder ifle(final BytecodeLabel label);
+
+    MethodBuilder ifIcmpeq(final BytecodeLabel label);
+
+    MethodBuilder ifIcmpne(final BytecodeLabel label);
+
+    MethodBuilder ifIcmplt(final BytecodeLabel label);
+
+    MethodBuilder ifIcmpge(final BytecodeLabel label);
+
+    MethodBuilder ifIcmpgt(final BytecodeLabel label);
+
+    MethodBuilder ifIcmple(final BytecodeLabel label);
+
+    MethodBuilder ifAcmpeq(final BytecodeLabel label);
+
+    MethodBuilder ifAcmpne(final BytecodeLabel label);
+
+    MethodBuilder ifnull(final BytecodeLabel label);
+
     MethodBuilder goto_(final BytecodeLabel label);
 
+    MethodBuilder tableswitch(final int min, final int max, final BytecodeLabel defaultLabel, final BytecodeLabel... labels);
+
+    MethodBuilder lookupswitch(final BytecodeLabel defaultLabel, final int[] keys, final BytecodeLabel... labels);
+
     BytecodeLabel newLabel();
 
     MethodBuilder label(final BytecodeLabel label);
@@ -0,0 +1,228 @@
+package net.lenni0451.reflect.bytecode.cache;
+
+import lombok.SneakyThrows;
+import net.lenni0451.reflect.JVMConstants;
+import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import org.jetbrains.annotations.ApiStatus;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * A content addressed cache for generated classes.<br>
+ * Classes are stored in a directory using a hash of all inputs used to generate them.<br>
+ * Unreadable or corrupted cache entries are ignored and will be overwritten.<br>
+ * If the library has no implementation version, the hash of its classes is used instead.
+ * The cache is disabled if neither is available, so changed generators never load outdated classes.
+ */
+@ApiStatus.Experimental
+public class BytecodeCache {
+
+    /**
+     * The version of the generated bytecode.<br>
+     * This has to be increased when the generated classes change to invalidate old cache entries.
+     */
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAGIC = 0x52464C43;
+    @Nullable
+    private static final String LIBRARY_VERSION = libraryVersion();
+    private static final String BUILDER_NAME = BytecodeBuilder.get().getClass().getName();
+
+    /**
+     * Hash the inputs used to generate a class.<br>
+     * The format version, library version, bytecode builder and Java version are always part of the hash.<br>
+     * Arrays are hashed using their contents, all other inputs using {@link String#valueOf(Object)}.
+     *
+     * @param inputs The inputs
+     * @return The hex encoded hash
+     */
+    @SneakyThrows
+    public static String hash(final Object... inputs) {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        update(digest, FORMAT_VERSION);
+        update(digest, LIBRARY_VERSION);
+        update(digest, BUILDER_NAME);
+        update(digest, JVMConstants.JAVA_VERSION);
+        for (Object input : inputs) update(digest, Arrays.deepToString(new Object[]{input}));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return If cached classes can be loaded and stored
+     */
+    public static boolean isAvailable() {
+        return LIBRARY_VERSION != null;
+    }
+
+    private static void update(final MessageDigest digest, final Object input) {
+        digest.update(String.valueOf(input).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) hex.append(String.format("%02x", b & 0xFF));
+        return hex.toString();
+    }
+
+    @Nullable
+    private static String libraryVersion() {
+        String version = BytecodeCache.class.getPackage().getImplementationVersion();
+        if (version != null) return version;
+        try { //Builds without a manifest (IDE, tests, shaded jars) are identified by the hash of their classes
+            CodeSource codeSource = BytecodeCache.class.getProtectionDomain().getCodeSource();
+            if (codeSource == null || codeSource.getLocation() == null) return null;
+            Path location = Paths.get(codeSource.getLocation().toURI());
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (Files.isDirectory(location)) {
+                try (Stream<Path> files = Files.walk(location)) {
+                    Iterator<Path> it = files.filter(Files::isRegularFile).sorted().iterator();
+                    while (it.hasNext()) {
+                        Path file = it.next();
+                        update(digest, location.relativize(file));
+                        updateFile(digest, file);
+                    }
+                }
+            } else {
+                updateFile(digest, location);
+            }
+            return toHex(digest.digest());
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static void updateFile(final MessageDigest digest, final Path file) throws IOException {
+        try (InputStream is = Files.newInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = is.read(buffer)) != -1) digest.update(buffer, 0, length);
+        }
+    }
+
+
+    private final File directory;
+
+    public BytecodeCache(final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return The directory the classes are stored in
+     */
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Get a cached class or build and store it if it is not cached yet.<br>
+     * If the cache is not available, the class is always built.
+     *
+     * @param builtClass The lazily built class
+     * @return The cached or built class
+     */
+    public BuiltClass get(final LazyBuiltClass builtClass) {
+        if (!isAvailable()) return builtClass;
+        BuiltClass cachedClass = this.load(builtClass.getHash());
+        if (cachedClass != null) return cachedClass;
+        this.store(builtClass.getHash(), builtClass);
+        return builtClass;
+    }
+
+    /**
+     * Load a class from the cache.
+     *
+     * @param hash The hash of the class
+     * @return The cached class or null if it is not cached
+     */
+    @Nullable
+    public BuiltClass load(final String hash) {
+        if (!isAvailable()) return null;
+        File file = this.getFile(hash);
+        if (!file.isFile()) return null;
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (dis.readInt() != MAGIC) return null;
+            String name = dis.readUTF();
+            byte[] bytes = new byte[dis.readInt()];
+            dis.readFully(bytes);
+            return new CachedClass(name, bytes);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Store a class in the cache.<br>
+     * The file is written to a temporary file first and then moved, so concurrent readers never see a partial entry.<br>
+     * Failing to write the cache entry is ignored.
+     *
+     * @param hash       The hash of the class
+     * @param builtClass The class to store
+     */
+    public void store(final String hash, final BuiltClass builtClass) {
+        if (!isAvailable()) return;
+        File file = this.getFile(hash);
+        try {
+            file.getParentFile().mkdirs();
+            File tempFile = File.createTempFile(hash, ".tmp", file.getParentFile());
+            try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+                byte[] bytes = builtClass.toBytes();
+                dos.writeInt(MAGIC);
+                dos.writeUTF(builtClass.getName());
+                dos.writeInt(bytes.length);
+                dos.write(bytes);
+            }
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                tempFile.delete();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private File getFile(final String hash) {
+        return new File(new File(this.directory, hash.substring(0, 2)), hash + ".bin");
+    }
+
+
+    private static class CachedClass implements BuiltClass {
+        private final String name;
+        private final byte[] bytes;
+
+        private CachedClass(final String name, final byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public byte[] toBytes() {
+            return this.bytes;
+        }
+    }
+
+}
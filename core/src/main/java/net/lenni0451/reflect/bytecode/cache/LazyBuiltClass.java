@@ -0,0 +1,50 @@
+package net.lenni0451.reflect.bytecode.cache;
+
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.function.Supplier;
+
+/**
+ * A class which is only generated when its bytes are requested.<br>
+ * The hash of the inputs used to generate the class can be calculated without generating it.
+ */
+@ApiStatus.Experimental
+public class LazyBuiltClass implements BuiltClass {
+
+    private final String name;
+    private final Supplier<String> hashSupplier;
+    private String hash;
+    private Supplier<BuiltClass> builder;
+    private BuiltClass builtClass;
+
+    public LazyBuiltClass(final String name, final Supplier<String> hashSupplier, final Supplier<BuiltClass> builder) {
+        this.name = name;
+        this.hashSupplier = hashSupplier;
+        this.builder = builder;
+    }
+
+    /**
+     * @return The hash of the inputs used to generate the class
+     * @see BytecodeCache#hash(Object...)
+     */
+    public synchronized String getHash() {
+        if (this.hash == null) this.hash = this.hashSupplier.get();
+        return this.hash;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public synchronized byte[] toBytes() {
+        if (this.builtClass == null) {
+            this.builtClass = this.builder.get();
+            this.builder = null;
+        }
+        return this.builtClass.toBytes();
+    }
+
+}
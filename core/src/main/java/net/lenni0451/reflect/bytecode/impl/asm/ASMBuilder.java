@@ -3,6 +3,7 @@ package net.lenni0451.reflect.bytecode.impl.asm;
 import lombok.SneakyThrows;
 import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
 import net.lenni0451.reflect.bytecode.builder.ClassBuilder;
+import net.lenni0451.reflect.bytecode.builder.ComputeMode;
 import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeType;
 import net.lenni0451.reflect.stream.RStream;
@@ -50,19 +51,56 @@ class ASMBuilder implements BytecodeBuilder {
         throw new IllegalStateException("Could not find any of the classes: " + String.join(", ", names));
     }
 
+    private static final MethodHandle CLASS_WRITER_CONSTRUCTOR;
+    private static final MethodHandle VISIT;
+    private static final MethodHandle VISIT_END;
+    private static final MethodHandle GET_TYPE;
+    private static final int V1_8 = getOpcode("V1_8");
+
+    static {
+        try {
+            CLASS_WRITER_CONSTRUCTOR = TRUSTED_LOOKUP.findConstructor(CLASS_ClassWriter, MethodType.methodType(void.class, int.class));
+            VISIT = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "visit", MethodType.methodType(void.class, int.class, int.class, String.class, String.class, String.class, String[].class));
+            VISIT_END = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "visitEnd", MethodType.methodType(void.class));
+            GET_TYPE = TRUSTED_LOOKUP.findStatic(CLASS_type, "getType", MethodType.methodType(CLASS_type, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Get the value of a constant in the ASM {@code Opcodes} class.<br>
+     * The values are resolved once, so the result should be stored in a constant.
+     *
+     * @param name The name of the constant
+     * @return The value of the constant
+     */
+    static int getOpcode(final String name) {
+        Integer opcode = opcodes.get(name.toUpperCase(Locale.ROOT));
+        if (opcode == null) throw new IllegalArgumentException("Unknown opcode: " + name);
+        return opcode;
+    }
+
 
     @Override
     @SneakyThrows
-    public BuiltClass class_(int access, String name, String signature, String superName, String[] interfaces, Consumer<ClassBuilder> consumer) {
-        MethodHandle constructor = TRUSTED_LOOKUP.findConstructor(CLASS_ClassWriter, MethodType.methodType(void.class, int.class));
-        MethodHandle visit = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "visit", MethodType.methodType(void.class, int.class, int.class, String.class, String.class, String.class, String[].class));
-        MethodHandle visitEnd = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "visitEnd", MethodType.methodType(void.class));
-
-        Object classWriter = constructor.invoke(2 /*COMPUTE_FRAMES*/);
-        visit.invoke(classWriter, this.opcode("V1_8"), access, name, signature, superName, interfaces);
-        ASMClassBuilder builder = new ASMClassBuilder(this::opcode, classWriter, name);
+    public BuiltClass class_(int access, String name, String signature, String superName, String[] interfaces, ComputeMode computeMode, Consumer<ClassBuilder> consumer) {
+        int flags;
+        switch (computeMode) {
+            case NONE:
+                flags = 0;
+                break;
+            case MAXS:
+                flags = 1 /*COMPUTE_MAXS*/;
+                break;
+            default:
+                flags = 2 /*COMPUTE_FRAMES*/;
+        }
+        Object classWriter = CLASS_WRITER_CONSTRUCTOR.invoke(flags);
+        VISIT.invoke(classWriter, V1_8, access, name, signature, superName, interfaces);
+        ASMClassBuilder builder = new ASMClassBuilder(classWriter, name);
         consumer.accept(builder);
-        visitEnd.invoke(classWriter);
+        VISIT_END.invoke(classWriter);
 
         return new ASMBuiltClass(classWriter, name);
     }
@@ -70,13 +108,12 @@ class ASMBuilder implements BytecodeBuilder {
     @Override
     @SneakyThrows
     public BytecodeType type(String descriptor) {
-        MethodHandle method = TRUSTED_LOOKUP.findStatic(CLASS_type, "getType", MethodType.methodType(CLASS_type, String.class));
-        return new BytecodeType(method.invoke(descriptor));
+        return new BytecodeType(GET_TYPE.invoke(descriptor));
     }
 
     @Override
     public int opcode(String name) {
-        return opcodes.get(name.toUpperCase(Locale.ROOT));
+        return getOpcode(name);
     }
 
 }
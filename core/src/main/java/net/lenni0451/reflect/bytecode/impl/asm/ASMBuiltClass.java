@@ -11,6 +11,16 @@ import static net.lenni0451.reflect.bytecode.impl.asm.ASMBuilder.CLASS_ClassWrit
 
 class ASMBuiltClass implements BuiltClass {
 
+    private static final MethodHandle TO_BYTE_ARRAY;
+
+    static {
+        try {
+            TO_BYTE_ARRAY = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "toByteArray", MethodType.methodType(byte[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final Object classWriter;
     private final String name;
 
@@ -27,8 +37,7 @@ class ASMBuiltClass implements BuiltClass {
     @Override
     @SneakyThrows
     public byte[] toBytes() {
-        MethodHandle toByteArray = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "toByteArray", MethodType.methodType(byte[].class));
-        return (byte[]) toByteArray.invoke(this.classWriter);
+        return (byte[]) TO_BYTE_ARRAY.invoke(this.classWriter);
     }
 
 }
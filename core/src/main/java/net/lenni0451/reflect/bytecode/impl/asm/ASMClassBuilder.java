@@ -9,7 +9,6 @@ import org.jetbrains.annotations.ApiStatus;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodType;
 import java.util.function.Consumer;
-import java.util.function.ToIntFunction;
 
 import static net.lenni0451.reflect.JavaBypass.TRUSTED_LOOKUP;
 import static net.lenni0451.reflect.bytecode.impl.asm.ASMBuilder.*;
@@ -17,12 +16,28 @@ import static net.lenni0451.reflect.bytecode.impl.asm.ASMBuilder.*;
 @ApiStatus.Internal
 class ASMClassBuilder implements ClassBuilder {
 
-    private final ToIntFunction<String> opcodeResolver;
+    private static final MethodHandle VISIT_FIELD;
+    private static final MethodHandle FIELD_VISIT_END;
+    private static final MethodHandle VISIT_METHOD;
+    private static final MethodHandle VISIT_CODE;
+    private static final MethodHandle METHOD_VISIT_END;
+
+    static {
+        try {
+            VISIT_FIELD = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "visitField", MethodType.methodType(CLASS_FieldVisitor, int.class, String.class, String.class, String.class, Object.class));
+            FIELD_VISIT_END = TRUSTED_LOOKUP.findVirtual(CLASS_FieldVisitor, "visitEnd", MethodType.methodType(void.class));
+            VISIT_METHOD = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "visitMethod", MethodType.methodType(CLASS_MethodVisitor, int.class, String.class, String.class, String.class, String[].class));
+            VISIT_CODE = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitCode", MethodType.methodType(void.class));
+            METHOD_VISIT_END = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitEnd", MethodType.methodType(void.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final Object classWriter;
     private final String name;
 
-    public ASMClassBuilder(final ToIntFunction<String> opcodeResolver, final Object classWriter, final String name) {
-        this.opcodeResolver = opcodeResolver;
+    public ASMClassBuilder(final Object classWriter, final String name) {
         this.classWriter = classWriter;
         this.name = name;
     }
@@ -39,25 +54,18 @@ class ASMClassBuilder implements ClassBuilder {
     @Override
     @SneakyThrows
     public void field(int access, String name, String descriptor, String signature, Object defaultValue, Consumer<FieldBuilder> consumer) {
-        MethodHandle visitField = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "visitField", MethodType.methodType(CLASS_FieldVisitor, int.class, String.class, String.class, String.class, Object.class));
-        MethodHandle visitEnd = TRUSTED_LOOKUP.findVirtual(CLASS_FieldVisitor, "visitEnd", MethodType.methodType(void.class));
-
-        ASMFieldBuilder builder = new ASMFieldBuilder(visitField.invoke(this.classWriter, access, name, descriptor, signature, defaultValue));
+        ASMFieldBuilder builder = new ASMFieldBuilder(VISIT_FIELD.invoke(this.classWriter, access, name, descriptor, signature, defaultValue));
         consumer.accept(builder);
-        visitEnd.invoke(builder.getFieldVisitor());
+        FIELD_VISIT_END.invoke(builder.getFieldVisitor());
     }
 
     @Override
     @SneakyThrows
     public void method(int access, String name, String descriptor, String signature, String[] exceptions, Consumer<MethodBuilder> consumer) {
-        MethodHandle visitMethod = TRUSTED_LOOKUP.findVirtual(CLASS_ClassWriter, "visitMethod", MethodType.methodType(CLASS_MethodVisitor, int.class, String.class, String.class, String.class, String[].class));
-        MethodHandle visitCode = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitCode", MethodType.methodType(void.class));
-        MethodHandle visitEnd = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitEnd", MethodType.methodType(void.class));
-
-        ASMMethodBuilder builder = new ASMMethodBuilder(this.opcodeResolver, visitMethod.invoke(this.classWriter, access, name, descriptor, signature, exceptions));
-        visitCode.invoke(builder.getMethodVisitor());
+        ASMMethodBuilder builder = new ASMMethodBuilder(VISIT_METHOD.invoke(this.classWriter, access, name, descriptor, signature, exceptions));
+        VISIT_CODE.invoke(builder.getMethodVisitor());
         consumer.accept(builder);
-        visitEnd.invoke(builder.getMethodVisitor());
+        METHOD_VISIT_END.invoke(builder.getMethodVisitor());
     }
 
 }
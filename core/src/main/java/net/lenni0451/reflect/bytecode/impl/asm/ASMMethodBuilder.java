@@ -1,6 +1,7 @@
 package net.lenni0451.reflect.bytecode.impl.asm;
 
 import lombok.SneakyThrows;
+import net.lenni0451.reflect.bytecode.BytecodeUtils;
 import net.lenni0451.reflect.bytecode.builder.MethodBuilder;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeLabel;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeType;
@@ -8,20 +9,208 @@ import org.jetbrains.annotations.ApiStatus;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodType;
-import java.util.function.ToIntFunction;
+import java.lang.reflect.Array;
 
 import static net.lenni0451.reflect.JavaBypass.TRUSTED_LOOKUP;
-import static net.lenni0451.reflect.bytecode.impl.asm.ASMBuilder.CLASS_Label;
-import static net.lenni0451.reflect.bytecode.impl.asm.ASMBuilder.CLASS_MethodVisitor;
+import static net.lenni0451.reflect.bytecode.impl.asm.ASMBuilder.*;
 
 @ApiStatus.Internal
 class ASMMethodBuilder implements MethodBuilder {
 
-    private final ToIntFunction<String> opcodeResolver;
+    private static final int RETURN = getOpcode("RETURN");
+    private static final int IRETURN = getOpcode("IRETURN");
+    private static final int LRETURN = getOpcode("LRETURN");
+    private static final int FRETURN = getOpcode("FRETURN");
+    private static final int DRETURN = getOpcode("DRETURN");
+    private static final int ARETURN = getOpcode("ARETURN");
+    private static final int DUP = getOpcode("DUP");
+    private static final int DUP_X1 = getOpcode("DUP_X1");
+    private static final int POP = getOpcode("POP");
+    private static final int AALOAD = getOpcode("AALOAD");
+    private static final int AASTORE = getOpcode("AASTORE");
+    private static final int ACONST_NULL = getOpcode("ACONST_NULL");
+    private static final int ATHROW = getOpcode("ATHROW");
+    private static final int I2L = getOpcode("I2L");
+    private static final int POP2 = getOpcode("POP2");
+    private static final int DUP2 = getOpcode("DUP2");
+    private static final int DUP_X2 = getOpcode("DUP_X2");
+    private static final int SWAP = getOpcode("SWAP");
+    private static final int IALOAD = getOpcode("IALOAD");
+    private static final int LALOAD = getOpcode("LALOAD");
+    private static final int FALOAD = getOpcode("FALOAD");
+    private static final int DALOAD = getOpcode("DALOAD");
+    private static final int BALOAD = getOpcode("BALOAD");
+    private static final int CALOAD = getOpcode("CALOAD");
+    private static final int SALOAD = getOpcode("SALOAD");
+    private static final int IASTORE = getOpcode("IASTORE");
+    private static final int LASTORE = getOpcode("LASTORE");
+    private static final int FASTORE = getOpcode("FASTORE");
+    private static final int DASTORE = getOpcode("DASTORE");
+    private static final int BASTORE = getOpcode("BASTORE");
+    private static final int CASTORE = getOpcode("CASTORE");
+    private static final int SASTORE = getOpcode("SASTORE");
+    private static final int ARRAYLENGTH = getOpcode("ARRAYLENGTH");
+    private static final int IADD = getOpcode("IADD");
+    private static final int LADD = getOpcode("LADD");
+    private static final int FADD = getOpcode("FADD");
+    private static final int DADD = getOpcode("DADD");
+    private static final int ISUB = getOpcode("ISUB");
+    private static final int LSUB = getOpcode("LSUB");
+    private static final int FSUB = getOpcode("FSUB");
+    private static final int DSUB = getOpcode("DSUB");
+    private static final int IMUL = getOpcode("IMUL");
+    private static final int LMUL = getOpcode("LMUL");
+    private static final int FMUL = getOpcode("FMUL");
+    private static final int DMUL = getOpcode("DMUL");
+    private static final int IDIV = getOpcode("IDIV");
+    private static final int LDIV = getOpcode("LDIV");
+    private static final int FDIV = getOpcode("FDIV");
+    private static final int DDIV = getOpcode("DDIV");
+    private static final int IREM = getOpcode("IREM");
+    private static final int LREM = getOpcode("LREM");
+    private static final int FREM = getOpcode("FREM");
+    private static final int DREM = getOpcode("DREM");
+    private static final int INEG = getOpcode("INEG");
+    private static final int LNEG = getOpcode("LNEG");
+    private static final int FNEG = getOpcode("FNEG");
+    private static final int DNEG = getOpcode("DNEG");
+    private static final int ISHL = getOpcode("ISHL");
+    private static final int LSHL = getOpcode("LSHL");
+    private static final int ISHR = getOpcode("ISHR");
+    private static final int LSHR = getOpcode("LSHR");
+    private static final int IUSHR = getOpcode("IUSHR");
+    private static final int LUSHR = getOpcode("LUSHR");
+    private static final int IAND = getOpcode("IAND");
+    private static final int LAND = getOpcode("LAND");
+    private static final int IOR = getOpcode("IOR");
+    private static final int LOR = getOpcode("LOR");
+    private static final int IXOR = getOpcode("IXOR");
+    private static final int LXOR = getOpcode("LXOR");
+    private static final int I2F = getOpcode("I2F");
+    private static final int I2D = getOpcode("I2D");
+    private static final int L2I = getOpcode("L2I");
+    private static final int L2F = getOpcode("L2F");
+    private static final int L2D = getOpcode("L2D");
+    private static final int F2I = getOpcode("F2I");
+    private static final int F2L = getOpcode("F2L");
+    private static final int F2D = getOpcode("F2D");
+    private static final int D2I = getOpcode("D2I");
+    private static final int D2L = getOpcode("D2L");
+    private static final int D2F = getOpcode("D2F");
+    private static final int I2B = getOpcode("I2B");
+    private static final int I2C = getOpcode("I2C");
+    private static final int I2S = getOpcode("I2S");
+    private static final int LCMP = getOpcode("LCMP");
+    private static final int FCMPL = getOpcode("FCMPL");
+    private static final int FCMPG = getOpcode("FCMPG");
+    private static final int DCMPL = getOpcode("DCMPL");
+    private static final int DCMPG = getOpcode("DCMPG");
+    private static final int ICONST_M1 = getOpcode("ICONST_M1");
+    private static final int ICONST_0 = getOpcode("ICONST_0");
+    private static final int ICONST_1 = getOpcode("ICONST_1");
+    private static final int ICONST_2 = getOpcode("ICONST_2");
+    private static final int ICONST_3 = getOpcode("ICONST_3");
+    private static final int ICONST_4 = getOpcode("ICONST_4");
+    private static final int ICONST_5 = getOpcode("ICONST_5");
+    private static final int LCONST_0 = getOpcode("LCONST_0");
+    private static final int LCONST_1 = getOpcode("LCONST_1");
+    private static final int FCONST_0 = getOpcode("FCONST_0");
+    private static final int FCONST_1 = getOpcode("FCONST_1");
+    private static final int FCONST_2 = getOpcode("FCONST_2");
+    private static final int DCONST_0 = getOpcode("DCONST_0");
+    private static final int DCONST_1 = getOpcode("DCONST_1");
+    private static final int SIPUSH = getOpcode("SIPUSH");
+    private static final int BIPUSH = getOpcode("BIPUSH");
+    private static final int ILOAD = getOpcode("ILOAD");
+    private static final int LLOAD = getOpcode("LLOAD");
+    private static final int FLOAD = getOpcode("FLOAD");
+    private static final int DLOAD = getOpcode("DLOAD");
+    private static final int ALOAD = getOpcode("ALOAD");
+    private static final int ISTORE = getOpcode("ISTORE");
+    private static final int LSTORE = getOpcode("LSTORE");
+    private static final int FSTORE = getOpcode("FSTORE");
+    private static final int DSTORE = getOpcode("DSTORE");
+    private static final int ASTORE = getOpcode("ASTORE");
+    private static final int NEW = getOpcode("NEW");
+    private static final int CHECKCAST = getOpcode("CHECKCAST");
+    private static final int ANEWARRAY = getOpcode("ANEWARRAY");
+    private static final int NEWARRAY = getOpcode("NEWARRAY");
+    private static final int INSTANCEOF = getOpcode("INSTANCEOF");
+    private static final int PUTFIELD = getOpcode("PUTFIELD");
+    private static final int PUTSTATIC = getOpcode("PUTSTATIC");
+    private static final int GETFIELD = getOpcode("GETFIELD");
+    private static final int GETSTATIC = getOpcode("GETSTATIC");
+    private static final int INVOKESPECIAL = getOpcode("INVOKESPECIAL");
+    private static final int INVOKEINTERFACE = getOpcode("INVOKEINTERFACE");
+    private static final int INVOKEVIRTUAL = getOpcode("INVOKEVIRTUAL");
+    private static final int INVOKESTATIC = getOpcode("INVOKESTATIC");
+    private static final int IFNE = getOpcode("IFNE");
+    private static final int IFNONNULL = getOpcode("IFNONNULL");
+    private static final int IFEQ = getOpcode("IFEQ");
+    private static final int IFLT = getOpcode("IFLT");
+    private static final int IFGE = getOpcode("IFGE");
+    private static final int IFGT = getOpcode("IFGT");
+    private static final int IFLE = getOpcode("IFLE");
+    private static final int IF_ICMPEQ = getOpcode("IF_ICMPEQ");
+    private static final int IF_ICMPNE = getOpcode("IF_ICMPNE");
+    private static final int IF_ICMPLT = getOpcode("IF_ICMPLT");
+    private static final int IF_ICMPGE = getOpcode("IF_ICMPGE");
+    private static final int IF_ICMPGT = getOpcode("IF_ICMPGT");
+    private static final int IF_ICMPLE = getOpcode("IF_ICMPLE");
+    private static final int IF_ACMPEQ = getOpcode("IF_ACMPEQ");
+    private static final int IF_ACMPNE = getOpcode("IF_ACMPNE");
+    private static final int IFNULL = getOpcode("IFNULL");
+    private static final int GOTO = getOpcode("GOTO");
+    private static final int T_BOOLEAN = getOpcode("T_BOOLEAN");
+    private static final int T_CHAR = getOpcode("T_CHAR");
+    private static final int T_FLOAT = getOpcode("T_FLOAT");
+    private static final int T_DOUBLE = getOpcode("T_DOUBLE");
+    private static final int T_BYTE = getOpcode("T_BYTE");
+    private static final int T_SHORT = getOpcode("T_SHORT");
+    private static final int T_INT = getOpcode("T_INT");
+    private static final int T_LONG = getOpcode("T_LONG");
+
+    private static final MethodHandle VISIT_TABLE_SWITCH_INSN;
+    private static final MethodHandle VISIT_LOOKUP_SWITCH_INSN;
+    private static final MethodHandle LABEL_CONSTRUCTOR;
+    private static final MethodHandle VISIT_LABEL;
+    private static final MethodHandle VISIT_LDC_INSN;
+    private static final MethodHandle VISIT_TRY_CATCH_BLOCK;
+    private static final MethodHandle VISIT_MAXS;
+    private static final MethodHandle VISIT_INSN;
+    private static final MethodHandle VISIT_INT_INSN;
+    private static final MethodHandle VISIT_VAR_INSN;
+    private static final MethodHandle VISIT_TYPE_INSN;
+    private static final MethodHandle VISIT_FIELD_INSN;
+    private static final MethodHandle VISIT_METHOD_INSN;
+    private static final MethodHandle VISIT_JUMP_INSN;
+    private static final MethodHandle VISIT_IINC_INSN;
+
+    static {
+        try {
+            VISIT_TABLE_SWITCH_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitTableSwitchInsn", MethodType.methodType(void.class, int.class, int.class, CLASS_Label, Array.newInstance(CLASS_Label, 0).getClass())).asFixedArity();
+            VISIT_LOOKUP_SWITCH_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitLookupSwitchInsn", MethodType.methodType(void.class, CLASS_Label, int[].class, Array.newInstance(CLASS_Label, 0).getClass()));
+            LABEL_CONSTRUCTOR = TRUSTED_LOOKUP.findConstructor(CLASS_Label, MethodType.methodType(void.class));
+            VISIT_LABEL = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitLabel", MethodType.methodType(void.class, CLASS_Label));
+            VISIT_LDC_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitLdcInsn", MethodType.methodType(void.class, Object.class));
+            VISIT_TRY_CATCH_BLOCK = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitTryCatchBlock", MethodType.methodType(void.class, CLASS_Label, CLASS_Label, CLASS_Label, String.class));
+            VISIT_MAXS = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitMaxs", MethodType.methodType(void.class, int.class, int.class));
+            VISIT_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitInsn", MethodType.methodType(void.class, int.class));
+            VISIT_INT_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitIntInsn", MethodType.methodType(void.class, int.class, int.class));
+            VISIT_VAR_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitVarInsn", MethodType.methodType(void.class, int.class, int.class));
+            VISIT_TYPE_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitTypeInsn", MethodType.methodType(void.class, int.class, String.class));
+            VISIT_FIELD_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitFieldInsn", MethodType.methodType(void.class, int.class, String.class, String.class, String.class));
+            VISIT_METHOD_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitMethodInsn", MethodType.methodType(void.class, int.class, String.class, String.class, String.class, boolean.class));
+            VISIT_JUMP_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitJumpInsn", MethodType.methodType(void.class, int.class, CLASS_Label));
+            VISIT_IINC_INSN = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitIincInsn", MethodType.methodType(void.class, int.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final Object methodVisitor;
 
-    public ASMMethodBuilder(final ToIntFunction<String> opcodeResolver, final Object methodVisitor) {
-        this.opcodeResolver = opcodeResolver;
+    public ASMMethodBuilder(final Object methodVisitor) {
         this.methodVisitor = methodVisitor;
     }
 
@@ -31,286 +220,773 @@ class ASMMethodBuilder implements MethodBuilder {
 
     @Override
     public MethodBuilder return_() {
-        return this.insn(this.opcodeResolver.applyAsInt("RETURN"));
+        return this.insn(RETURN);
     }
 
     @Override
     public MethodBuilder ireturn() {
-        return this.insn(this.opcodeResolver.applyAsInt("IRETURN"));
+        return this.insn(IRETURN);
     }
 
     @Override
     public MethodBuilder lreturn() {
-        return this.insn(this.opcodeResolver.applyAsInt("LRETURN"));
+        return this.insn(LRETURN);
     }
 
     @Override
     public MethodBuilder freturn() {
-        return this.insn(this.opcodeResolver.applyAsInt("FRETURN"));
+        return this.insn(FRETURN);
     }
 
     @Override
     public MethodBuilder dreturn() {
-        return this.insn(this.opcodeResolver.applyAsInt("DRETURN"));
+        return this.insn(DRETURN);
     }
 
     @Override
     public MethodBuilder areturn() {
-        return this.insn(this.opcodeResolver.applyAsInt("ARETURN"));
+        return this.insn(ARETURN);
     }
 
     @Override
     public MethodBuilder dup() {
-        return this.insn(this.opcodeResolver.applyAsInt("DUP"));
+        return this.insn(DUP);
     }
 
     @Override
     public MethodBuilder dupX1() {
-        return this.insn(this.opcodeResolver.applyAsInt("DUP_X1"));
+        return this.insn(DUP_X1);
     }
 
     @Override
     public MethodBuilder pop() {
-        return this.insn(this.opcodeResolver.applyAsInt("POP"));
+        return this.insn(POP);
     }
 
     @Override
     public MethodBuilder aaload() {
-        return this.insn(this.opcodeResolver.applyAsInt("AALOAD"));
+        return this.insn(AALOAD);
     }
 
     @Override
     public MethodBuilder aastore() {
-        return this.insn(this.opcodeResolver.applyAsInt("AASTORE"));
+        return this.insn(AASTORE);
     }
 
     @Override
     public MethodBuilder aconstNull() {
-        return this.insn(this.opcodeResolver.applyAsInt("ACONST_NULL"));
+        return this.insn(ACONST_NULL);
     }
 
     @Override
     public MethodBuilder athrow() {
-        return this.insn(this.opcodeResolver.applyAsInt("ATHROW"));
+        return this.insn(ATHROW);
     }
 
     @Override
     public MethodBuilder i2l() {
-        return this.insn(this.opcodeResolver.applyAsInt("I2L"));
+        return this.insn(I2L);
+    }
+
+    @Override
+    public MethodBuilder pop2() {
+        return this.insn(POP2);
+    }
+
+    @Override
+    public MethodBuilder dup2() {
+        return this.insn(DUP2);
+    }
+
+    @Override
+    public MethodBuilder dupX2() {
+        return this.insn(DUP_X2);
+    }
+
+    @Override
+    public MethodBuilder swap() {
+        return this.insn(SWAP);
+    }
+
+    @Override
+    public MethodBuilder iaload() {
+        return this.insn(IALOAD);
+    }
+
+    @Override
+    public MethodBuilder laload() {
+        return this.insn(LALOAD);
+    }
+
+    @Override
+    public MethodBuilder faload() {
+        return this.insn(FALOAD);
+    }
+
+    @Override
+    public MethodBuilder daload() {
+        return this.insn(DALOAD);
+    }
+
+    @Override
+    public MethodBuilder baload() {
+        return this.insn(BALOAD);
+    }
+
+    @Override
+    public MethodBuilder caload() {
+        return this.insn(CALOAD);
+    }
+
+    @Override
+    public MethodBuilder saload() {
+        return this.insn(SALOAD);
+    }
+
+    @Override
+    public MethodBuilder iastore() {
+        return this.insn(IASTORE);
+    }
+
+    @Override
+    public MethodBuilder lastore() {
+        return this.insn(LASTORE);
+    }
+
+    @Override
+    public MethodBuilder fastore() {
+        return this.insn(FASTORE);
+    }
+
+    @Override
+    public MethodBuilder dastore() {
+        return this.insn(DASTORE);
+    }
+
+    @Override
+    public MethodBuilder bastore() {
+        return this.insn(BASTORE);
+    }
+
+    @Override
+    public MethodBuilder castore() {
+        return this.insn(CASTORE);
+    }
+
+    @Override
+    public MethodBuilder sastore() {
+        return this.insn(SASTORE);
+    }
+
+    @Override
+    public MethodBuilder arraylength() {
+        return this.insn(ARRAYLENGTH);
+    }
+
+    @Override
+    public MethodBuilder iadd() {
+        return this.insn(IADD);
+    }
+
+    @Override
+    public MethodBuilder ladd() {
+        return this.insn(LADD);
+    }
+
+    @Override
+    public MethodBuilder fadd() {
+        return this.insn(FADD);
+    }
+
+    @Override
+    public MethodBuilder dadd() {
+        return this.insn(DADD);
+    }
+
+    @Override
+    public MethodBuilder isub() {
+        return this.insn(ISUB);
+    }
+
+    @Override
+    public MethodBuilder lsub() {
+        return this.insn(LSUB);
+    }
+
+    @Override
+    public MethodBuilder fsub() {
+        return this.insn(FSUB);
+    }
+
+    @Override
+    public MethodBuilder dsub() {
+        return this.insn(DSUB);
+    }
+
+    @Override
+    public MethodBuilder imul() {
+        return this.insn(IMUL);
+    }
+
+    @Override
+    public MethodBuilder lmul() {
+        return this.insn(LMUL);
+    }
+
+    @Override
+    public MethodBuilder fmul() {
+        return this.insn(FMUL);
+    }
+
+    @Override
+    public MethodBuilder dmul() {
+        return this.insn(DMUL);
+    }
+
+    @Override
+    public MethodBuilder idiv() {
+        return this.insn(IDIV);
+    }
+
+    @Override
+    public MethodBuilder ldiv() {
+        return this.insn(LDIV);
+    }
+
+    @Override
+    public MethodBuilder fdiv() {
+        return this.insn(FDIV);
+    }
+
+    @Override
+    public MethodBuilder ddiv() {
+        return this.insn(DDIV);
+    }
+
+    @Override
+    public MethodBuilder irem() {
+        return this.insn(IREM);
+    }
+
+    @Override
+    public MethodBuilder lrem() {
+        return this.insn(LREM);
+    }
+
+    @Override
+    public MethodBuilder frem() {
+        return this.insn(FREM);
+    }
+
+    @Override
+    public MethodBuilder drem() {
+        return this.insn(DREM);
+    }
+
+    @Override
+    public MethodBuilder ineg() {
+        return this.insn(INEG);
+    }
+
+    @Override
+    public MethodBuilder lneg() {
+        return this.insn(LNEG);
+    }
+
+    @Override
+    public MethodBuilder fneg() {
+        return this.insn(FNEG);
+    }
+
+    @Override
+    public MethodBuilder dneg() {
+        return this.insn(DNEG);
+    }
+
+    @Override
+    public MethodBuilder ishl() {
+        return this.insn(ISHL);
+    }
+
+    @Override
+    public MethodBuilder lshl() {
+        return this.insn(LSHL);
+    }
+
+    @Override
+    public MethodBuilder ishr() {
+        return this.insn(ISHR);
+    }
+
+    @Override
+    public MethodBuilder lshr() {
+        return this.insn(LSHR);
+    }
+
+    @Override
+    public MethodBuilder iushr() {
+        return this.insn(IUSHR);
+    }
+
+    @Override
+    public MethodBuilder lushr() {
+        return this.insn(LUSHR);
+    }
+
+    @Override
+    public MethodBuilder iand() {
+        return this.insn(IAND);
+    }
+
+    @Override
+    public MethodBuilder land() {
+        return this.insn(LAND);
+    }
+
+    @Override
+    public MethodBuilder ior() {
+        return this.insn(IOR);
+    }
+
+    @Override
+    public MethodBuilder lor() {
+        return this.insn(LOR);
+    }
+
+    @Override
+    public MethodBuilder ixor() {
+        return this.insn(IXOR);
+    }
+
+    @Override
+    public MethodBuilder lxor() {
+        return this.insn(LXOR);
+    }
+
+    @Override
+    public MethodBuilder i2f() {
+        return this.insn(I2F);
+    }
+
+    @Override
+    public MethodBuilder i2d() {
+        return this.insn(I2D);
+    }
+
+    @Override
+    public MethodBuilder l2i() {
+        return this.insn(L2I);
+    }
+
+    @Override
+    public MethodBuilder l2f() {
+        return this.insn(L2F);
+    }
+
+    @Override
+    public MethodBuilder l2d() {
+        return this.insn(L2D);
+    }
+
+    @Override
+    public MethodBuilder f2i() {
+        return this.insn(F2I);
+    }
+
+    @Override
+    public MethodBuilder f2l() {
+        return this.insn(F2L);
+    }
+
+    @Override
+    public MethodBuilder f2d() {
+        return this.insn(F2D);
+    }
+
+    @Override
+    public MethodBuilder d2i() {
+        return this.insn(D2I);
+    }
+
+    @Override
+    public MethodBuilder d2l() {
+        return this.insn(D2L);
+    }
+
+    @Override
+    public MethodBuilder d2f() {
+        return this.insn(D2F);
+    }
+
+    @Override
+    public MethodBuilder i2b() {
+        return this.insn(I2B);
+    }
+
+    @Override
+    public MethodBuilder i2c() {
+        return this.insn(I2C);
+    }
+
+    @Override
+    public MethodBuilder i2s() {
+        return this.insn(I2S);
+    }
+
+    @Override
+    public MethodBuilder lcmp() {
+        return this.insn(LCMP);
+    }
+
+    @Override
+    public MethodBuilder fcmpl() {
+        return this.insn(FCMPL);
+    }
+
+    @Override
+    public MethodBuilder fcmpg() {
+        return this.insn(FCMPG);
+    }
+
+    @Override
+    public MethodBuilder dcmpl() {
+        return this.insn(DCMPL);
+    }
+
+    @Override
+    public MethodBuilder dcmpg() {
+        return this.insn(DCMPG);
     }
 
     @Override
     public MethodBuilder iconstM1() {
-        return this.insn(this.opcodeResolver.applyAsInt("ICONST_M1"));
+        return this.insn(ICONST_M1);
     }
 
     @Override
     public MethodBuilder iconst0() {
-        return this.insn(this.opcodeResolver.applyAsInt("ICONST_0"));
+        return this.insn(ICONST_0);
     }
 
     @Override
     public MethodBuilder iconst1() {
-        return this.insn(this.opcodeResolver.applyAsInt("ICONST_1"));
+        return this.insn(ICONST_1);
     }
 
     @Override
     public MethodBuilder iconst2() {
-        return this.insn(this.opcodeResolver.applyAsInt("ICONST_2"));
+        return this.insn(ICONST_2);
     }
 
     @Override
     public MethodBuilder iconst3() {
-        return this.insn(this.opcodeResolver.applyAsInt("ICONST_3"));
+        return this.insn(ICONST_3);
     }
 
     @Override
     public MethodBuilder iconst4() {
-        return this.insn(this.opcodeResolver.applyAsInt("ICONST_4"));
+        return this.insn(ICONST_4);
     }
 
     @Override
     public MethodBuilder iconst5() {
-        return this.insn(this.opcodeResolver.applyAsInt("ICONST_5"));
+        return this.insn(ICONST_5);
     }
 
     @Override
     public MethodBuilder lconst0() {
-        return this.insn(this.opcodeResolver.applyAsInt("LCONST_0"));
+        return this.insn(LCONST_0);
     }
 
     @Override
     public MethodBuilder lconst1() {
-        return this.insn(this.opcodeResolver.applyAsInt("LCONST_1"));
+        return this.insn(LCONST_1);
     }
 
     @Override
     public MethodBuilder fconst0() {
-        return this.insn(this.opcodeResolver.applyAsInt("FCONST_0"));
+        return this.insn(FCONST_0);
     }
 
     @Override
     public MethodBuilder fconst1() {
-        return this.insn(this.opcodeResolver.applyAsInt("FCONST_1"));
+        return this.insn(FCONST_1);
     }
 
     @Override
     public MethodBuilder fconst2() {
-        return this.insn(this.opcodeResolver.applyAsInt("FCONST_2"));
+        return this.insn(FCONST_2);
     }
 
     @Override
     public MethodBuilder dconst0() {
-        return this.insn(this.opcodeResolver.applyAsInt("DCONST_0"));
+        return this.insn(DCONST_0);
     }
 
     @Override
     public MethodBuilder dconst1() {
-        return this.insn(this.opcodeResolver.applyAsInt("DCONST_1"));
+        return this.insn(DCONST_1);
     }
 
     @Override
     public MethodBuilder sipush(int value) {
-        return this.int_(this.opcodeResolver.applyAsInt("SIPUSH"), value);
+        return this.int_(SIPUSH, value);
     }
 
     @Override
     public MethodBuilder bipush(int value) {
-        return this.int_(this.opcodeResolver.applyAsInt("BIPUSH"), value);
+        return this.int_(BIPUSH, value);
     }
 
     @Override
     public MethodBuilder iload(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("ILOAD"), varIndex);
+        return this.var(ILOAD, varIndex);
     }
 
     @Override
     public MethodBuilder lload(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("LLOAD"), varIndex);
+        return this.var(LLOAD, varIndex);
     }
 
     @Override
     public MethodBuilder fload(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("FLOAD"), varIndex);
+        return this.var(FLOAD, varIndex);
     }
 
     @Override
     public MethodBuilder dload(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("DLOAD"), varIndex);
+        return this.var(DLOAD, varIndex);
     }
 
     @Override
     public MethodBuilder aload(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("ALOAD"), varIndex);
+        return this.var(ALOAD, varIndex);
     }
 
     @Override
     public MethodBuilder istore(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("ISTORE"), varIndex);
+        return this.var(ISTORE, varIndex);
     }
 
     @Override
     public MethodBuilder lstore(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("LSTORE"), varIndex);
+        return this.var(LSTORE, varIndex);
     }
 
     @Override
     public MethodBuilder fstore(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("FSTORE"), varIndex);
+        return this.var(FSTORE, varIndex);
     }
 
     @Override
     public MethodBuilder dstore(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("DSTORE"), varIndex);
+        return this.var(DSTORE, varIndex);
     }
 
     @Override
     public MethodBuilder astore(int varIndex) {
-        return this.var(this.opcodeResolver.applyAsInt("ASTORE"), varIndex);
+        return this.var(ASTORE, varIndex);
+    }
+
+    @Override
+    @SneakyThrows
+    public MethodBuilder iinc(int varIndex, int increment) {
+        VISIT_IINC_INSN.invoke(this.methodVisitor, varIndex, increment);
+        return this;
     }
 
     @Override
     public MethodBuilder new_(String type) {
-        return this.type(this.opcodeResolver.applyAsInt("NEW"), type);
+        return this.type(NEW, type);
     }
 
     @Override
     public MethodBuilder checkcast(String type) {
-        return this.type(this.opcodeResolver.applyAsInt("CHECKCAST"), type);
+        return this.type(CHECKCAST, type);
     }
 
     @Override
     public MethodBuilder anewarray(String type) {
-        return this.type(this.opcodeResolver.applyAsInt("ANEWARRAY"), type);
+        return this.type(ANEWARRAY, type);
+    }
+
+    @Override
+    public MethodBuilder newarray(Class<?> primitiveType) {
+        int type;
+        if (boolean.class.equals(primitiveType)) type = T_BOOLEAN;
+        else if (char.class.equals(primitiveType)) type = T_CHAR;
+        else if (float.class.equals(primitiveType)) type = T_FLOAT;
+        else if (double.class.equals(primitiveType)) type = T_DOUBLE;
+        else if (byte.class.equals(primitiveType)) type = T_BYTE;
+        else if (short.class.equals(primitiveType)) type = T_SHORT;
+        else if (int.class.equals(primitiveType)) type = T_INT;
+        else if (long.class.equals(primitiveType)) type = T_LONG;
+        else throw new IllegalArgumentException("Not a primitive type: " + primitiveType.getName());
+        return this.int_(NEWARRAY, type);
+    }
+
+    @Override
+    public MethodBuilder instanceof_(String type) {
+        return this.type(INSTANCEOF, type);
     }
 
     @Override
     public MethodBuilder putfield(String owner, String name, String descriptor) {
-        return this.field(this.opcodeResolver.applyAsInt("PUTFIELD"), owner, name, descriptor);
+        return this.field(PUTFIELD, owner, name, descriptor);
     }
 
     @Override
     public MethodBuilder putstatic(String owner, String name, String descriptor) {
-        return this.field(this.opcodeResolver.applyAsInt("PUTSTATIC"), owner, name, descriptor);
+        return this.field(PUTSTATIC, owner, name, descriptor);
     }
 
     @Override
     public MethodBuilder getfield(String owner, String name, String descriptor) {
-        return this.field(this.opcodeResolver.applyAsInt("GETFIELD"), owner, name, descriptor);
+        return this.field(GETFIELD, owner, name, descriptor);
     }
 
     @Override
     public MethodBuilder getstatic(String owner, String name, String descriptor) {
-        return this.field(this.opcodeResolver.applyAsInt("GETSTATIC"), owner, name, descriptor);
+        return this.field(GETSTATIC, owner, name, descriptor);
     }
 
     @Override
     public MethodBuilder invokespecial(String owner, String name, String descriptor, boolean isInterface) {
-        return this.method(this.opcodeResolver.applyAsInt("INVOKESPECIAL"), owner, name, descriptor, isInterface);
+        return this.method(INVOKESPECIAL, owner, name, descriptor, isInterface);
     }
 
     @Override
     public MethodBuilder invokeinterface(String owner, String name, String descriptor) {
-        return this.method(this.opcodeResolver.applyAsInt("INVOKEINTERFACE"), owner, name, descriptor, true);
+        return this.method(INVOKEINTERFACE, owner, name, descriptor, true);
     }
 
     @Override
     public MethodBuilder invokevirtual(String owner, String name, String descriptor) {
-        return this.method(this.opcodeResolver.applyAsInt("INVOKEVIRTUAL"), owner, name, descriptor, false);
+        return this.method(INVOKEVIRTUAL, owner, name, descriptor, false);
     }
 
     @Override
     public MethodBuilder invokestatic(String owner, String name, String descriptor, boolean isInterface) {
-        return this.method(this.opcodeResolver.applyAsInt("INVOKESTATIC"), owner, name, descriptor, isInterface);
+        return this.method(INVOKESTATIC, owner, name, descriptor, isInterface);
     }
 
     @Override
     public MethodBuilder ifne(BytecodeLabel label) {
-        return this.jump(this.opcodeResolver.applyAsInt("IFNE"), label);
+        return this.jump(IFNE, label);
     }
 
     @Override
     public MethodBuilder ifnonnull(BytecodeLabel label) {
-        return this.jump(this.opcodeResolver.applyAsInt("IFNONNULL"), label);
+        return this.jump(IFNONNULL, label);
+    }
+
+    @Override
+    public MethodBuilder ifeq(BytecodeLabel label) {
+        return this.jump(IFEQ, label);
+    }
+
+    @Override
+    public MethodBuilder iflt(BytecodeLabel label) {
+        return this.jump(IFLT, label);
+    }
+
+    @Override
+    public MethodBuilder ifge(BytecodeLabel label) {
+        return this.jump(IFGE, label);
+    }
+
+    @Override
+    public MethodBuilder ifgt(BytecodeLabel label) {
+        return this.jump(IFGT, label);
+    }
+
+    @Override
+    public MethodBuilder ifle(BytecodeLabel label) {
+        return this.jump(IFLE, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmpeq(BytecodeLabel label) {
+        return this.jump(IF_ICMPEQ, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmpne(BytecodeLabel label) {
+        return this.jump(IF_ICMPNE, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmplt(BytecodeLabel label) {
+        return this.jump(IF_ICMPLT, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmpge(BytecodeLabel label) {
+        return this.jump(IF_ICMPGE, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmpgt(BytecodeLabel label) {
+        return this.jump(IF_ICMPGT, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmple(BytecodeLabel label) {
+        return this.jump(IF_ICMPLE, label);
+    }
+
+    @Override
+    public MethodBuilder ifAcmpeq(BytecodeLabel label) {
+        return this.jump(IF_ACMPEQ, label);
+    }
+
+    @Override
+    public MethodBuilder ifAcmpne(BytecodeLabel label) {
+        return this.jump(IF_ACMPNE, label);
+    }
+
+    @Override
+    public MethodBuilder ifnull(BytecodeLabel label) {
+        return this.jump(IFNULL, label);
     }
 
     @Override
     public MethodBuilder goto_(BytecodeLabel label) {
-        return this.jump(this.opcodeResolver.applyAsInt("GOTO"), label);
+        return this.jump(GOTO, label);
+    }
+
+    @Override
+    @SneakyThrows
+    public MethodBuilder tableswitch(int min, int max, BytecodeLabel defaultLabel, BytecodeLabel... labels) {
+        Object labelHandles = Array.newInstance(CLASS_Label, labels.length);
+        for (int i = 0; i < labels.length; i++) Array.set(labelHandles, i, labels[i].getHandle());
+        VISIT_TABLE_SWITCH_INSN.invoke(this.methodVisitor, min, max, defaultLabel.getHandle(), labelHandles);
+        return this;
+    }
+
+    @Override
+    @SneakyThrows
+    public MethodBuilder lookupswitch(BytecodeLabel defaultLabel, int[] keys, BytecodeLabel... labels) {
+        int[] sortedKeys = keys.clone();
+        Object[] sortedLabels = new Object[labels.length];
+        for (int i = 0; i < labels.length; i++) sortedLabels[i] = labels[i].getHandle();
+        BytecodeUtils.sortSwitchCases(sortedKeys, sortedLabels);
+        Object labelHandles = Array.newInstance(CLASS_Label, labels.length);
+        for (int i = 0; i < labels.length; i++) Array.set(labelHandles, i, sortedLabels[i]);
+        VISIT_LOOKUP_SWITCH_INSN.invoke(this.methodVisitor, defaultLabel.getHandle(), sortedKeys, labelHandles);
+        return this;
     }
 
     @Override
     @SneakyThrows
     public BytecodeLabel newLabel() {
-        MethodHandle constructor = TRUSTED_LOOKUP.findConstructor(CLASS_Label, MethodType.methodType(void.class));
-        return new BytecodeLabel(constructor.invoke());
+        return new BytecodeLabel(LABEL_CONSTRUCTOR.invoke());
     }
 
     @Override
     @SneakyThrows
     public MethodBuilder label(BytecodeLabel label) {
-        MethodHandle visitLabel = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitLabel", MethodType.methodType(void.class, CLASS_Label));
-        visitLabel.invoke(this.methodVisitor, label.getHandle());
+        VISIT_LABEL.invoke(this.methodVisitor, label.getHandle());
         return this;
     }
 
@@ -318,24 +994,21 @@ class ASMMethodBuilder implements MethodBuilder {
     @SneakyThrows
     public MethodBuilder ldc(Object value) {
         if (value instanceof BytecodeType) value = ((BytecodeType) value).getHandle();
-        MethodHandle visitLdcInsn = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitLdcInsn", MethodType.methodType(void.class, Object.class));
-        visitLdcInsn.invoke(this.methodVisitor, value);
+        VISIT_LDC_INSN.invoke(this.methodVisitor, value);
         return this;
     }
 
     @Override
     @SneakyThrows
     public MethodBuilder tryCatch(BytecodeLabel start, BytecodeLabel end, BytecodeLabel handler, String type) {
-        MethodHandle visitTryCatchBlock = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitTryCatchBlock", MethodType.methodType(void.class, CLASS_Label, CLASS_Label, CLASS_Label, String.class));
-        visitTryCatchBlock.invoke(this.methodVisitor, start.getHandle(), end.getHandle(), handler.getHandle(), type);
+        VISIT_TRY_CATCH_BLOCK.invoke(this.methodVisitor, start.getHandle(), end.getHandle(), handler.getHandle(), type);
         return this;
     }
 
     @Override
     @SneakyThrows
     public MethodBuilder maxs(int maxStack, int maxLocals) {
-        MethodHandle visitMaxs = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitMaxs", MethodType.methodType(void.class, int.class, int.class));
-        visitMaxs.invoke(this.methodVisitor, maxStack, maxLocals);
+        VISIT_MAXS.invoke(this.methodVisitor, maxStack, maxLocals);
         return this;
     }
 
@@ -344,50 +1017,43 @@ class ASMMethodBuilder implements MethodBuilder {
 
     @SneakyThrows
     private MethodBuilder insn(int opcode) {
-        MethodHandle visitInsn = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitInsn", MethodType.methodType(void.class, int.class));
-        visitInsn.invoke(this.methodVisitor, opcode);
+        VISIT_INSN.invoke(this.methodVisitor, opcode);
         return this;
     }
 
     @SneakyThrows
     private MethodBuilder int_(int opcode, int value) {
-        MethodHandle visitIntInsn = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitIntInsn", MethodType.methodType(void.class, int.class, int.class));
-        visitIntInsn.invoke(this.methodVisitor, opcode, value);
+        VISIT_INT_INSN.invoke(this.methodVisitor, opcode, value);
         return this;
     }
 
     @SneakyThrows
     private MethodBuilder var(int opcode, int varIndex) {
-        MethodHandle visitVarInsn = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitVarInsn", MethodType.methodType(void.class, int.class, int.class));
-        visitVarInsn.invoke(this.methodVisitor, opcode, varIndex);
+        VISIT_VAR_INSN.invoke(this.methodVisitor, opcode, varIndex);
         return this;
     }
 
     @SneakyThrows
     private MethodBuilder type(int opcode, String type) {
-        MethodHandle visitTypeInsn = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitTypeInsn", MethodType.methodType(void.class, int.class, String.class));
-        visitTypeInsn.invoke(this.methodVisitor, opcode, type);
+        VISIT_TYPE_INSN.invoke(this.methodVisitor, opcode, type);
         return this;
     }
 
     @SneakyThrows
     private MethodBuilder field(int opcode, String owner, String name, String descriptor) {
-        MethodHandle visitFieldInsn = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitFieldInsn", MethodType.methodType(void.class, int.class, String.class, String.class, String.class));
-        visitFieldInsn.invoke(this.methodVisitor, opcode, owner, name, descriptor);
+        VISIT_FIELD_INSN.invoke(this.methodVisitor, opcode, owner, name, descriptor);
         return this;
     }
 
     @SneakyThrows
     private MethodBuilder method(int opcode, String owner, String name, String descriptor, boolean isInterface) {
-        MethodHandle visitMethodInsn = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitMethodInsn", MethodType.methodType(void.class, int.class, String.class, String.class, String.class, boolean.class));
-        visitMethodInsn.invoke(this.methodVisitor, opcode, owner, name, descriptor, isInterface);
+        VISIT_METHOD_INSN.invoke(this.methodVisitor, opcode, owner, name, descriptor, isInterface);
         return this;
     }
 
     @SneakyThrows
     private MethodBuilder jump(int opcode, BytecodeLabel label) {
-        MethodHandle visitJumpInsn = TRUSTED_LOOKUP.findVirtual(CLASS_MethodVisitor, "visitJumpInsn", MethodType.methodType(void.class, int.class, CLASS_Label));
-        visitJumpInsn.invoke(this.methodVisitor, opcode, label.getHandle());
+        VISIT_JUMP_INSN.invoke(this.methodVisitor, opcode, label.getHandle());
         return this;
     }
 
@@ -0,0 +1,72 @@
+package net.lenni0451.reflect.bytecode.impl.asm;
+
+import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
+import net.lenni0451.reflect.bytecode.builder.ClassBuilder;
+import net.lenni0451.reflect.bytecode.builder.ComputeMode;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import net.lenni0451.reflect.bytecode.wrapper.BytecodeType;
+import org.jetbrains.annotations.ApiStatus;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A bytecode builder which is directly linked against {@code org.objectweb.asm}.<br>
+ * It is used instead of the {@link ASMBuilder} when ASM is available on the classpath.
+ */
+@ApiStatus.Internal
+class DirectASMBuilder implements BytecodeBuilder {
+
+    private static final Map<String, Integer> opcodes = new HashMap<>();
+
+    static {
+        for (Field field : Opcodes.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || !int.class.equals(field.getType())) continue;
+            try {
+                opcodes.put(field.getName(), field.getInt(null));
+            } catch (IllegalAccessException ignored) {
+            }
+        }
+    }
+
+
+    @Override
+    public BuiltClass class_(int access, String name, String signature, String superName, String[] interfaces, ComputeMode computeMode, Consumer<ClassBuilder> consumer) {
+        int flags;
+        switch (computeMode) {
+            case NONE:
+                flags = 0;
+                break;
+            case MAXS:
+                flags = ClassWriter.COMPUTE_MAXS;
+                break;
+            default:
+                flags = ClassWriter.COMPUTE_FRAMES;
+        }
+        ClassWriter classWriter = new ClassWriter(flags);
+        classWriter.visit(Opcodes.V1_8, access, name, signature, superName, interfaces);
+        consumer.accept(new DirectASMClassBuilder(classWriter, name));
+        classWriter.visitEnd();
+        return new DirectASMBuiltClass(classWriter, name);
+    }
+
+    @Override
+    public BytecodeType type(String descriptor) {
+        return new BytecodeType(Type.getType(descriptor));
+    }
+
+    @Override
+    public int opcode(String name) {
+        Integer opcode = opcodes.get(name.toUpperCase(Locale.ROOT));
+        if (opcode == null) throw new IllegalArgumentException("Unknown opcode: " + name);
+        return opcode;
+    }
+
+}
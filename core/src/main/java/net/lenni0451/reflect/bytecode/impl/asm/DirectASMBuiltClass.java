@@ -0,0 +1,28 @@
+package net.lenni0451.reflect.bytecode.impl.asm;
+
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import org.jetbrains.annotations.ApiStatus;
+import org.objectweb.asm.ClassWriter;
+
+@ApiStatus.Internal
+class DirectASMBuiltClass implements BuiltClass {
+
+    private final ClassWriter classWriter;
+    private final String name;
+
+    public DirectASMBuiltClass(final ClassWriter classWriter, final String name) {
+        this.classWriter = classWriter;
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public byte[] toBytes() {
+        return this.classWriter.toByteArray();
+    }
+
+}
@@ -0,0 +1,44 @@
+package net.lenni0451.reflect.bytecode.impl.asm;
+
+import net.lenni0451.reflect.bytecode.builder.ClassBuilder;
+import net.lenni0451.reflect.bytecode.builder.FieldBuilder;
+import net.lenni0451.reflect.bytecode.builder.MethodBuilder;
+import org.jetbrains.annotations.ApiStatus;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+import java.util.function.Consumer;
+
+@ApiStatus.Internal
+class DirectASMClassBuilder implements ClassBuilder {
+
+    private final ClassWriter classWriter;
+    private final String name;
+
+    public DirectASMClassBuilder(final ClassWriter classWriter, final String name) {
+        this.classWriter = classWriter;
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public void field(int access, String name, String descriptor, String signature, Object defaultValue, Consumer<FieldBuilder> consumer) {
+        FieldVisitor fieldVisitor = this.classWriter.visitField(access, name, descriptor, signature, defaultValue);
+        consumer.accept(new ASMFieldBuilder(fieldVisitor));
+        fieldVisitor.visitEnd();
+    }
+
+    @Override
+    public void method(int access, String name, String descriptor, String signature, String[] exceptions, Consumer<MethodBuilder> consumer) {
+        MethodVisitor methodVisitor = this.classWriter.visitMethod(access, name, descriptor, signature, exceptions);
+        methodVisitor.visitCode();
+        consumer.accept(new DirectASMMethodBuilder(methodVisitor));
+        methodVisitor.visitEnd();
+    }
+
+}
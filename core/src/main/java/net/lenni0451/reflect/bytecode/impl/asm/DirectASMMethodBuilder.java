@@ -0,0 +1,843 @@
+package net.lenni0451.reflect.bytecode.impl.asm;
+
+import net.lenni0451.reflect.bytecode.BytecodeUtils;
+import net.lenni0451.reflect.bytecode.builder.MethodBuilder;
+import net.lenni0451.reflect.bytecode.wrapper.BytecodeLabel;
+import net.lenni0451.reflect.bytecode.wrapper.BytecodeType;
+import org.jetbrains.annotations.ApiStatus;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+@ApiStatus.Internal
+class DirectASMMethodBuilder implements MethodBuilder {
+
+    private final MethodVisitor methodVisitor;
+
+    public DirectASMMethodBuilder(final MethodVisitor methodVisitor) {
+        this.methodVisitor = methodVisitor;
+    }
+
+    @Override
+    public MethodBuilder return_() {
+        return this.insn(Opcodes.RETURN);
+    }
+
+    @Override
+    public MethodBuilder ireturn() {
+        return this.insn(Opcodes.IRETURN);
+    }
+
+    @Override
+    public MethodBuilder lreturn() {
+        return this.insn(Opcodes.LRETURN);
+    }
+
+    @Override
+    public MethodBuilder freturn() {
+        return this.insn(Opcodes.FRETURN);
+    }
+
+    @Override
+    public MethodBuilder dreturn() {
+        return this.insn(Opcodes.DRETURN);
+    }
+
+    @Override
+    public MethodBuilder areturn() {
+        return this.insn(Opcodes.ARETURN);
+    }
+
+    @Override
+    public MethodBuilder dup() {
+        return this.insn(Opcodes.DUP);
+    }
+
+    @Override
+    public MethodBuilder dupX1() {
+        return this.insn(Opcodes.DUP_X1);
+    }
+
+    @Override
+    public MethodBuilder pop() {
+        return this.insn(Opcodes.POP);
+    }
+
+    @Override
+    public MethodBuilder aaload() {
+        return this.insn(Opcodes.AALOAD);
+    }
+
+    @Override
+    public MethodBuilder aastore() {
+        return this.insn(Opcodes.AASTORE);
+    }
+
+    @Override
+    public MethodBuilder aconstNull() {
+        return this.insn(Opcodes.ACONST_NULL);
+    }
+
+    @Override
+    public MethodBuilder athrow() {
+        return this.insn(Opcodes.ATHROW);
+    }
+
+    @Override
+    public MethodBuilder i2l() {
+        return this.insn(Opcodes.I2L);
+    }
+
+    @Override
+    public MethodBuilder pop2() {
+        return this.insn(Opcodes.POP2);
+    }
+
+    @Override
+    public MethodBuilder dup2() {
+        return this.insn(Opcodes.DUP2);
+    }
+
+    @Override
+    public MethodBuilder dupX2() {
+        return this.insn(Opcodes.DUP_X2);
+    }
+
+    @Override
+    public MethodBuilder swap() {
+        return this.insn(Opcodes.SWAP);
+    }
+
+    @Override
+    public MethodBuilder iaload() {
+        return this.insn(Opcodes.IALOAD);
+    }
+
+    @Override
+    public MethodBuilder laload() {
+        return this.insn(Opcodes.LALOAD);
+    }
+
+    @Override
+    public MethodBuilder faload() {
+        return this.insn(Opcodes.FALOAD);
+    }
+
+    @Override
+    public MethodBuilder daload() {
+        return this.insn(Opcodes.DALOAD);
+    }
+
+    @Override
+    public MethodBuilder baload() {
+        return this.insn(Opcodes.BALOAD);
+    }
+
+    @Override
+    public MethodBuilder caload() {
+        return this.insn(Opcodes.CALOAD);
+    }
+
+    @Override
+    public MethodBuilder saload() {
+        return this.insn(Opcodes.SALOAD);
+    }
+
+    @Override
+    public MethodBuilder iastore() {
+        return this.insn(Opcodes.IASTORE);
+    }
+
+    @Override
+    public MethodBuilder lastore() {
+        return this.insn(Opcodes.LASTORE);
+    }
+
+    @Override
+    public MethodBuilder fastore() {
+        return this.insn(Opcodes.FASTORE);
+    }
+
+    @Override
+    public MethodBuilder dastore() {
+        return this.insn(Opcodes.DASTORE);
+    }
+
+    @Override
+    public MethodBuilder bastore() {
+        return this.insn(Opcodes.BASTORE);
+    }
+
+    @Override
+    public MethodBuilder castore() {
+        return this.insn(Opcodes.CASTORE);
+    }
+
+    @Override
+    public MethodBuilder sastore() {
+        return this.insn(Opcodes.SASTORE);
+    }
+
+    @Override
+    public MethodBuilder arraylength() {
+        return this.insn(Opcodes.ARRAYLENGTH);
+    }
+
+    @Override
+    public MethodBuilder iadd() {
+        return this.insn(Opcodes.IADD);
+    }
+
+    @Override
+    public MethodBuilder ladd() {
+        return this.insn(Opcodes.LADD);
+    }
+
+    @Override
+    public MethodBuilder fadd() {
+        return this.insn(Opcodes.FADD);
+    }
+
+    @Override
+    public MethodBuilder dadd() {
+        return this.insn(Opcodes.DADD);
+    }
+
+    @Override
+    public MethodBuilder isub() {
+        return this.insn(Opcodes.ISUB);
+    }
+
+    @Override
+    public MethodBuilder lsub() {
+        return this.insn(Opcodes.LSUB);
+    }
+
+    @Override
+    public MethodBuilder fsub() {
+        return this.insn(Opcodes.FSUB);
+    }
+
+    @Override
+    public MethodBuilder dsub() {
+        return this.insn(Opcodes.DSUB);
+    }
+
+    @Override
+    public MethodBuilder imul() {
+        return this.insn(Opcodes.IMUL);
+    }
+
+    @Override
+    public MethodBuilder lmul() {
+        return this.insn(Opcodes.LMUL);
+    }
+
+    @Override
+    public MethodBuilder fmul() {
+        return this.insn(Opcodes.FMUL);
+    }
+
+    @Override
+    public MethodBuilder dmul() {
+        return this.insn(Opcodes.DMUL);
+    }
+
+    @Override
+    public MethodBuilder idiv() {
+        return this.insn(Opcodes.IDIV);
+    }
+
+    @Override
+    public MethodBuilder ldiv() {
+        return this.insn(Opcodes.LDIV);
+    }
+
+    @Override
+    public MethodBuilder fdiv() {
+        return this.insn(Opcodes.FDIV);
+    }
+
+    @Override
+    public MethodBuilder ddiv() {
+        return this.insn(Opcodes.DDIV);
+    }
+
+    @Override
+    public MethodBuilder irem() {
+        return this.insn(Opcodes.IREM);
+    }
+
+    @Override
+    public MethodBuilder lrem() {
+        return this.insn(Opcodes.LREM);
+    }
+
+    @Override
+    public MethodBuilder frem() {
+        return this.insn(Opcodes.FREM);
+    }
+
+    @Override
+    public MethodBuilder drem() {
+        return this.insn(Opcodes.DREM);
+    }
+
+    @Override
+    public MethodBuilder ineg() {
+        return this.insn(Opcodes.INEG);
+    }
+
+    @Override
+    public MethodBuilder lneg() {
+        return this.insn(Opcodes.LNEG);
+    }
+
+    @Override
+    public MethodBuilder fneg() {
+        return this.insn(Opcodes.FNEG);
+    }
+
+    @Override
+    public MethodBuilder dneg() {
+        return this.insn(Opcodes.DNEG);
+    }
+
+    @Override
+    public MethodBuilder ishl() {
+        return this.insn(Opcodes.ISHL);
+    }
+
+    @Override
+    public MethodBuilder lshl() {
+        return this.insn(Opcodes.LSHL);
+    }
+
+    @Override
+    public MethodBuilder ishr() {
+        return this.insn(Opcodes.ISHR);
+    }
+
+    @Override
+    public MethodBuilder lshr() {
+        return this.insn(Opcodes.LSHR);
+    }
+
+    @Override
+    public MethodBuilder iushr() {
+        return this.insn(Opcodes.IUSHR);
+    }
+
+    @Override
+    public MethodBuilder lushr() {
+        return this.insn(Opcodes.LUSHR);
+    }
+
+    @Override
+    public MethodBuilder iand() {
+        return this.insn(Opcodes.IAND);
+    }
+
+    @Override
+    public MethodBuilder land() {
+        return this.insn(Opcodes.LAND);
+    }
+
+    @Override
+    public MethodBuilder ior() {
+        return this.insn(Opcodes.IOR);
+    }
+
+    @Override
+    public MethodBuilder lor() {
+        return this.insn(Opcodes.LOR);
+    }
+
+    @Override
+    public MethodBuilder ixor() {
+        return this.insn(Opcodes.IXOR);
+    }
+
+    @Override
+    public MethodBuilder lxor() {
+        return this.insn(Opcodes.LXOR);
+    }
+
+    @Override
+    public MethodBuilder i2f() {
+        return this.insn(Opcodes.I2F);
+    }
+
+    @Override
+    public MethodBuilder i2d() {
+        return this.insn(Opcodes.I2D);
+    }
+
+    @Override
+    public MethodBuilder l2i() {
+        return this.insn(Opcodes.L2I);
+    }
+
+    @Override
+    public MethodBuilder l2f() {
+        return this.insn(Opcodes.L2F);
+    }
+
+    @Override
+    public MethodBuilder l2d() {
+        return this.insn(Opcodes.L2D);
+    }
+
+    @Override
+    public MethodBuilder f2i() {
+        return this.insn(Opcodes.F2I);
+    }
+
+    @Override
+    public MethodBuilder f2l() {
+        return this.insn(Opcodes.F2L);
+    }
+
+    @Override
+    public MethodBuilder f2d() {
+        return this.insn(Opcodes.F2D);
+    }
+
+    @Override
+    public MethodBuilder d2i() {
+        return this.insn(Opcodes.D2I);
+    }
+
+    @Override
+    public MethodBuilder d2l() {
+        return this.insn(Opcodes.D2L);
+    }
+
+    @Override
+    public MethodBuilder d2f() {
+        return this.insn(Opcodes.D2F);
+    }
+
+    @Override
+    public MethodBuilder i2b() {
+        return this.insn(Opcodes.I2B);
+    }
+
+    @Override
+    public MethodBuilder i2c() {
+        return this.insn(Opcodes.I2C);
+    }
+
+    @Override
+    public MethodBuilder i2s() {
+        return this.insn(Opcodes.I2S);
+    }
+
+    @Override
+    public MethodBuilder lcmp() {
+        return this.insn(Opcodes.LCMP);
+    }
+
+    @Override
+    public MethodBuilder fcmpl() {
+        return this.insn(Opcodes.FCMPL);
+    }
+
+    @Override
+    public MethodBuilder fcmpg() {
+        return this.insn(Opcodes.FCMPG);
+    }
+
+    @Override
+    public MethodBuilder dcmpl() {
+        return this.insn(Opcodes.DCMPL);
+    }
+
+    @Override
+    public MethodBuilder dcmpg() {
+        return this.insn(Opcodes.DCMPG);
+    }
+
+    @Override
+    public MethodBuilder iconstM1() {
+        return this.insn(Opcodes.ICONST_M1);
+    }
+
+    @Override
+    public MethodBuilder iconst0() {
+        return this.insn(Opcodes.ICONST_0);
+    }
+
+    @Override
+    public MethodBuilder iconst1() {
+        return this.insn(Opcodes.ICONST_1);
+    }
+
+    @Override
+    public MethodBuilder iconst2() {
+        return this.insn(Opcodes.ICONST_2);
+    }
+
+    @Override
+    public MethodBuilder iconst3() {
+        return this.insn(Opcodes.ICONST_3);
+    }
+
+    @Override
+    public MethodBuilder iconst4() {
+        return this.insn(Opcodes.ICONST_4);
+    }
+
+    @Override
+    public MethodBuilder iconst5() {
+        return this.insn(Opcodes.ICONST_5);
+    }
+
+    @Override
+    public MethodBuilder lconst0() {
+        return this.insn(Opcodes.LCONST_0);
+    }
+
+    @Override
+    public MethodBuilder lconst1() {
+        return this.insn(Opcodes.LCONST_1);
+    }
+
+    @Override
+    public MethodBuilder fconst0() {
+        return this.insn(Opcodes.FCONST_0);
+    }
+
+    @Override
+    public MethodBuilder fconst1() {
+        return this.insn(Opcodes.FCONST_1);
+    }
+
+    @Override
+    public MethodBuilder fconst2() {
+        return this.insn(Opcodes.FCONST_2);
+    }
+
+    @Override
+    public MethodBuilder dconst0() {
+        return this.insn(Opcodes.DCONST_0);
+    }
+
+    @Override
+    public MethodBuilder dconst1() {
+        return this.insn(Opcodes.DCONST_1);
+    }
+
+    @Override
+    public MethodBuilder sipush(int value) {
+        return this.int_(Opcodes.SIPUSH, value);
+    }
+
+    @Override
+    public MethodBuilder bipush(int value) {
+        return this.int_(Opcodes.BIPUSH, value);
+    }
+
+    @Override
+    public MethodBuilder iload(int varIndex) {
+        return this.var(Opcodes.ILOAD, varIndex);
+    }
+
+    @Override
+    public MethodBuilder lload(int varIndex) {
+        return this.var(Opcodes.LLOAD, varIndex);
+    }
+
+    @Override
+    public MethodBuilder fload(int varIndex) {
+        return this.var(Opcodes.FLOAD, varIndex);
+    }
+
+    @Override
+    public MethodBuilder dload(int varIndex) {
+        return this.var(Opcodes.DLOAD, varIndex);
+    }
+
+    @Override
+    public MethodBuilder aload(int varIndex) {
+        return this.var(Opcodes.ALOAD, varIndex);
+    }
+
+    @Override
+    public MethodBuilder istore(int varIndex) {
+        return this.var(Opcodes.ISTORE, varIndex);
+    }
+
+    @Override
+    public MethodBuilder lstore(int varIndex) {
+        return this.var(Opcodes.LSTORE, varIndex);
+    }
+
+    @Override
+    public MethodBuilder fstore(int varIndex) {
+        return this.var(Opcodes.FSTORE, varIndex);
+    }
+
+    @Override
+    public MethodBuilder dstore(int varIndex) {
+        return this.var(Opcodes.DSTORE, varIndex);
+    }
+
+    @Override
+    public MethodBuilder astore(int varIndex) {
+        return this.var(Opcodes.ASTORE, varIndex);
+    }
+
+    @Override
+    public MethodBuilder iinc(int varIndex, int increment) {
+        this.methodVisitor.visitIincInsn(varIndex, increment);
+        return this;
+    }
+
+    @Override
+    public MethodBuilder new_(String type) {
+        return this.type(Opcodes.NEW, type);
+    }
+
+    @Override
+    public MethodBuilder checkcast(String type) {
+        return this.type(Opcodes.CHECKCAST, type);
+    }
+
+    @Override
+    public MethodBuilder anewarray(String type) {
+        return this.type(Opcodes.ANEWARRAY, type);
+    }
+
+    @Override
+    public MethodBuilder newarray(Class<?> primitiveType) {
+        int type;
+        if (boolean.class.equals(primitiveType)) type = Opcodes.T_BOOLEAN;
+        else if (char.class.equals(primitiveType)) type = Opcodes.T_CHAR;
+        else if (float.class.equals(primitiveType)) type = Opcodes.T_FLOAT;
+        else if (double.class.equals(primitiveType)) type = Opcodes.T_DOUBLE;
+        else if (byte.class.equals(primitiveType)) type = Opcodes.T_BYTE;
+        else if (short.class.equals(primitiveType)) type = Opcodes.T_SHORT;
+        else if (int.class.equals(primitiveType)) type = Opcodes.T_INT;
+        else if (long.class.equals(primitiveType)) type = Opcodes.T_LONG;
+        else throw new IllegalArgumentException("Not a primitive type: " + primitiveType.getName());
+        return this.int_(Opcodes.NEWARRAY, type);
+    }
+
+    @Override
+    public MethodBuilder instanceof_(String type) {
+        return this.type(Opcodes.INSTANCEOF, type);
+    }
+
+    @Override
+    public MethodBuilder putfield(String owner, String name, String descriptor) {
+        return this.field(Opcodes.PUTFIELD, owner, name, descriptor);
+    }
+
+    @Override
+    public MethodBuilder putstatic(String owner, String name, String descriptor) {
+        return this.field(Opcodes.PUTSTATIC, owner, name, descriptor);
+    }
+
+    @Override
+    public MethodBuilder getfield(String owner, String name, String descriptor) {
+        return this.field(Opcodes.GETFIELD, owner, name, descriptor);
+    }
+
+    @Override
+    public MethodBuilder getstatic(String owner, String name, String descriptor) {
+        return this.field(Opcodes.GETSTATIC, owner, name, descriptor);
+    }
+
+    @Override
+    public MethodBuilder invokespecial(String owner, String name, String descriptor, boolean isInterface) {
+        return this.method(Opcodes.INVOKESPECIAL, owner, name, descriptor, isInterface);
+    }
+
+    @Override
+    public MethodBuilder invokeinterface(String owner, String name, String descriptor) {
+        return this.method(Opcodes.INVOKEINTERFACE, owner, name, descriptor, true);
+    }
+
+    @Override
+    public MethodBuilder invokevirtual(String owner, String name, String descriptor) {
+        return this.method(Opcodes.INVOKEVIRTUAL, owner, name, descriptor, false);
+    }
+
+    @Override
+    public MethodBuilder invokestatic(String owner, String name, String descriptor, boolean isInterface) {
+        return this.method(Opcodes.INVOKESTATIC, owner, name, descriptor, isInterface);
+    }
+
+    @Override
+    public MethodBuilder ifne(BytecodeLabel label) {
+        return this.jump(Opcodes.IFNE, label);
+    }
+
+    @Override
+    public MethodBuilder ifnonnull(BytecodeLabel label) {
+        return this.jump(Opcodes.IFNONNULL, label);
+    }
+
+    @Override
+    public MethodBuilder ifeq(BytecodeLabel label) {
+        return this.jump(Opcodes.IFEQ, label);
+    }
+
+    @Override
+    public MethodBuilder iflt(BytecodeLabel label) {
+        return this.jump(Opcodes.IFLT, label);
+    }
+
+    @Override
+    public MethodBuilder ifge(BytecodeLabel label) {
+        return this.jump(Opcodes.IFGE, label);
+    }
+
+    @Override
+    public MethodBuilder ifgt(BytecodeLabel label) {
+        return this.jump(Opcodes.IFGT, label);
+    }
+
+    @Override
+    public MethodBuilder ifle(BytecodeLabel label) {
+        return this.jump(Opcodes.IFLE, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmpeq(BytecodeLabel label) {
+        return this.jump(Opcodes.IF_ICMPEQ, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmpne(BytecodeLabel label) {
+        return this.jump(Opcodes.IF_ICMPNE, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmplt(BytecodeLabel label) {
+        return this.jump(Opcodes.IF_ICMPLT, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmpge(BytecodeLabel label) {
+        return this.jump(Opcodes.IF_ICMPGE, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmpgt(BytecodeLabel label) {
+        return this.jump(Opcodes.IF_ICMPGT, label);
+    }
+
+    @Override
+    public MethodBuilder ifIcmple(BytecodeLabel label) {
+        return this.jump(Opcodes.IF_ICMPLE, label);
+    }
+
+    @Override
+    public MethodBuilder ifAcmpeq(BytecodeLabel label) {
+        return this.jump(Opcodes.IF_ACMPEQ, label);
+    }
+
+    @Override
+    public MethodBuilder ifAcmpne(BytecodeLabel label) {
+        return this.jump(Opcodes.IF_ACMPNE, label);
+    }
+
+    @Override
+    public MethodBuilder ifnull(BytecodeLabel label) {
+        return this.jump(Opcodes.IFNULL, label);
+    }
+
+    @Override
+    public MethodBuilder goto_(BytecodeLabel label) {
+        return this.jump(Opcodes.GOTO, label);
+    }
+
+    @Override
+    public MethodBuilder tableswitch(int min, int max, BytecodeLabel defaultLabel, BytecodeLabel... labels) {
+        Label[] labelHandles = new Label[labels.length];
+        for (int i = 0; i < labels.length; i++) labelHandles[i] = (Label) labels[i].getHandle();
+        this.methodVisitor.visitTableSwitchInsn(min, max, (Label) defaultLabel.getHandle(), labelHandles);
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lookupswitch(BytecodeLabel defaultLabel, int[] keys, BytecodeLabel... labels) {
+        int[] sortedKeys = keys.clone();
+        Label[] labelHandles = new Label[labels.length];
+        for (int i = 0; i < labels.length; i++) labelHandles[i] = (Label) labels[i].getHandle();
+        BytecodeUtils.sortSwitchCases(sortedKeys, labelHandles);
+        this.methodVisitor.visitLookupSwitchInsn((Label) defaultLabel.getHandle(), sortedKeys, labelHandles);
+        return this;
+    }
+
+    @Override
+    public BytecodeLabel newLabel() {
+        return new BytecodeLabel(new Label());
+    }
+
+    @Override
+    public MethodBuilder label(BytecodeLabel label) {
+        this.methodVisitor.visitLabel((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ldc(Object value) {
+        if (value instanceof BytecodeType) value = ((BytecodeType) value).getHandle();
+        this.methodVisitor.visitLdcInsn(value);
+        return this;
+    }
+
+    @Override
+    public MethodBuilder tryCatch(BytecodeLabel start, BytecodeLabel end, BytecodeLabel handler, String type) {
+        this.methodVisitor.visitTryCatchBlock((Label) start.getHandle(), (Label) end.getHandle(), (Label) handler.getHandle(), type);
+        return this;
+    }
+
+    @Override
+    public MethodBuilder maxs(int maxStack, int maxLocals) {
+        this.methodVisitor.visitMaxs(maxStack, maxLocals);
+        return this;
+    }
+
+    //Private methods for different instruction types
+    //They are invoked to make the code above cleaner and more readable
+
+    private MethodBuilder insn(int opcode) {
+        this.methodVisitor.visitInsn(opcode);
+        return this;
+    }
+
+    private MethodBuilder int_(int opcode, int value) {
+        this.methodVisitor.visitIntInsn(opcode, value);
+        return this;
+    }
+
+    private MethodBuilder var(int opcode, int varIndex) {
+        this.methodVisitor.visitVarInsn(opcode, varIndex);
+        return this;
+    }
+
+    private MethodBuilder type(int opcode, String type) {
+        this.methodVisitor.visitTypeInsn(opcode, type);
+        return this;
+    }
+
+    private MethodBuilder field(int opcode, String owner, String name, String descriptor) {
+        this.methodVisitor.visitFieldInsn(opcode, owner, name, descriptor);
+        return this;
+    }
+
+    private MethodBuilder method(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+        this.methodVisitor.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+        return this;
+    }
+
+    private MethodBuilder jump(int opcode, BytecodeLabel label) {
+        this.methodVisitor.visitJumpInsn(opcode, (Label) label.getHandle());
+        return this;
+    }
+
+}
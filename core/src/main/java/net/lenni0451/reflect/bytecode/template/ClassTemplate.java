@@ -0,0 +1,120 @@
+package net.lenni0451.reflect.bytecode.template;
+
+import lombok.SneakyThrows;
+import net.lenni0451.reflect.bytecode.ConstantPool;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class which is generated once and then copied with different constant pool entries.<br>
+ * The template is built using {@link #placeholder(int)} for all names which change between the copies.
+ * Only the UTF8 entries of the constant pool containing placeholders are rewritten, all other bytes are copied as they are.<br>
+ * Placeholders may be part of descriptors, but the generated code must not depend on the values replacing them.
+ */
+@ApiStatus.Experimental
+public class ClassTemplate {
+
+    private static final String PLACEHOLDER_PREFIX = "reflect$Template";
+
+    /**
+     * Get the placeholder with the given index.<br>
+     * Placeholders are valid class and member names and never contain each other.
+     *
+     * @param index The index of the value replacing the placeholder
+     * @return The placeholder
+     */
+    public static String placeholder(final int index) {
+        return PLACEHOLDER_PREFIX + index + "$";
+    }
+
+    private static String replace(String s, final String[] values) {
+        if (!s.contains(PLACEHOLDER_PREFIX)) return s;
+        for (int i = 0; i < values.length; i++) s = s.replace(placeholder(i), values[i]);
+        return s;
+    }
+
+
+    private final String name;
+    private final byte[] bytes;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final String[] strings;
+
+    public ClassTemplate(final BuiltClass template) {
+        this.name = template.getName();
+        this.bytes = template.toBytes();
+
+        List<Integer> offsets = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+        ConstantPool constantPool = new ConstantPool(this.bytes);
+        for (int i = 1; i < constantPool.size(); i++) {
+            if (constantPool.getTag(i) != ConstantPool.UTF8) continue;
+            String s = constantPool.getUtf8(i);
+            if (s.contains(PLACEHOLDER_PREFIX)) {
+                offsets.add(constantPool.getOffset(i));
+                lengths.add(constantPool.getLength(i));
+                strings.add(s);
+            }
+        }
+
+        this.offsets = offsets.stream().mapToInt(Integer::intValue).toArray();
+        this.lengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+        this.strings = strings.toArray(new String[0]);
+    }
+
+    /**
+     * @return The amount of constant pool entries which are rewritten for every copy
+     */
+    public int getPatchCount() {
+        return this.strings.length;
+    }
+
+    /**
+     * Create a copy of the template with the placeholders replaced by the given values.
+     *
+     * @param values The values for the placeholders
+     * @return The copied class
+     */
+    @SneakyThrows
+    public BuiltClass instantiate(final String... values) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(this.bytes.length + 64 * this.strings.length);
+        DataOutputStream dos = new DataOutputStream(baos);
+        int position = 0;
+        for (int i = 0; i < this.offsets.length; i++) {
+            dos.write(this.bytes, position, this.offsets[i] - position);
+            dos.writeByte(1);
+            dos.writeUTF(replace(this.strings[i], values));
+            position = this.offsets[i] + this.lengths[i];
+        }
+        dos.write(this.bytes, position, this.bytes.length - position);
+        return new TemplateClass(replace(this.name, values), baos.toByteArray());
+    }
+
+
+    private static class TemplateClass implements BuiltClass {
+        private final String name;
+        private final byte[] bytes;
+
+        private TemplateClass(final String name, final byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public byte[] toBytes() {
+            return this.bytes;
+        }
+    }
+
+}
@@ -15,7 +15,12 @@ public interface BuiltClass {
     }
 
     default Class<?> defineMetafactory(final Class<?> parent) {
-        return ClassLoaders.defineAnonymousClass(parent, this.toBytes(), "NESTMATE", "STRONG");
+        return this.defineMetafactory(parent, true);
+    }
+
+    default Class<?> defineMetafactory(final Class<?> parent, final boolean strong) {
+        if (strong) return ClassLoaders.defineAnonymousClass(parent, this.toBytes(), "NESTMATE", "STRONG");
+        else return ClassLoaders.defineAnonymousClass(parent, this.toBytes(), "NESTMATE");
     }
 
 }
@@ -0,0 +1,25 @@
+package net.lenni0451.reflect.proxy;
+
+import net.lenni0451.reflect.proxy.impl.BatchQueue;
+
+import java.util.List;
+
+/**
+ * A handler which receives the queued calls of a batching proxy.<br>
+ * Batches are delivered by a single worker thread in the order the calls were queued.
+ *
+ * @see ProxyBuilder#setBatching(BatchQueue)
+ */
+@FunctionalInterface
+public interface BatchHandler {
+
+    /**
+     * Handle a batch of queued calls.<br>
+     * Exceptions are passed to the uncaught exception handler of the worker thread and don't stop the worker.
+     *
+     * @param invocations The queued calls
+     * @throws Throwable If the batch could not be handled
+     */
+    void handleBatch(final List<BatchQueue.Invocation> invocations) throws Throwable;
+
+}
@@ -0,0 +1,103 @@
+package net.lenni0451.reflect.proxy;
+
+import net.lenni0451.reflect.proxy.impl.ProxyMethod;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * An invocation handler which forwards all method calls to the super class.<br>
+ * If the method is abstract it will be cancelled.<br>
+ * All specialized invoke methods are forwarded directly, so no argument arrays are allocated.
+ */
+class ForwardingInvocationHandler implements InvocationHandler {
+
+    private static boolean isAbstract(final ProxyMethod proxyMethod) {
+        return Modifier.isAbstract(proxyMethod.getInvokedMethod().getModifiers());
+    }
+
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object... args) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, args);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object arg0, final Object arg1) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0, arg1);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object arg0, final Object arg1, final Object arg2) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0, arg1, arg2);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object arg0, final Object arg1, final Object arg2, final Object arg3) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0, arg1, arg2, arg3);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final boolean arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final byte arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final short arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final char arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final int arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final long arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final float arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+    @Override
+    public Object invoke(final Object thiz, final ProxyMethod proxyMethod, final double arg0) {
+        if (isAbstract(proxyMethod)) return proxyMethod.cancel();
+        return proxyMethod.invokeSuperWith(thiz, arg0);
+    }
+
+}
@@ -1,11 +1,14 @@
 package net.lenni0451.reflect.proxy;
 
 import net.lenni0451.reflect.proxy.impl.ProxyMethod;
-
-import java.lang.reflect.Modifier;
+import net.lenni0451.reflect.proxy.impl.ProxyRuntime;
 
 /**
- * The handler which is called when a method of a proxy class is invoked.
+ * The handler which is called when a method of a proxy class is invoked.<br>
+ * Proxy methods with up to {@code 4} parameters call the matching arity specialized {@code invoke} method.
+ * Proxy methods with a single primitive parameter call the matching primitive {@code invoke} method.<br>
+ * All specialized methods delegate to {@link #invoke(Object, ProxyMethod, Object...)} by default.
+ * They can be overridden to handle hot methods without allocating an argument array or boxing the arguments.
  */
 public interface InvocationHandler {
 
@@ -16,13 +19,7 @@ public interface InvocationHandler {
      * @return The new invocation handler
      */
     static InvocationHandler forwarding() {
-        return (thiz, proxyMethod, args) -> {
-            if (Modifier.isAbstract(proxyMethod.getInvokedMethod().getModifiers())) {
-                return proxyMethod.cancel();
-            } else {
-                return proxyMethod.invokeSuper(args);
-            }
-        };
+        return new ForwardingInvocationHandler();
     }
 
     /**
@@ -46,4 +43,178 @@ public interface InvocationHandler {
      */
     Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object... args);
 
+    /**
+     * Handle a proxy method invocation without arguments.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod) {
+        return this.invoke(thiz, proxyMethod, ProxyRuntime.EMPTY_ARGS);
+    }
+
+    /**
+     * Handle a proxy method invocation with one argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The first argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object arg0) {
+        return this.invoke(thiz, proxyMethod, new Object[]{arg0});
+    }
+
+    /**
+     * Handle a proxy method invocation with two arguments.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The first argument
+     * @param arg1        The second argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object arg0, final Object arg1) {
+        return this.invoke(thiz, proxyMethod, new Object[]{arg0, arg1});
+    }
+
+    /**
+     * Handle a proxy method invocation with three arguments.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The first argument
+     * @param arg1        The second argument
+     * @param arg2        The third argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object arg0, final Object arg1, final Object arg2) {
+        return this.invoke(thiz, proxyMethod, new Object[]{arg0, arg1, arg2});
+    }
+
+    /**
+     * Handle a proxy method invocation with four arguments.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The first argument
+     * @param arg1        The second argument
+     * @param arg2        The third argument
+     * @param arg3        The fourth argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final Object arg0, final Object arg1, final Object arg2, final Object arg3) {
+        return this.invoke(thiz, proxyMethod, new Object[]{arg0, arg1, arg2, arg3});
+    }
+
+    /**
+     * Handle a proxy method invocation with a single {@code boolean} argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final boolean arg0) {
+        return this.invoke(thiz, proxyMethod, (Object) arg0);
+    }
+
+    /**
+     * Handle a proxy method invocation with a single {@code byte} argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final byte arg0) {
+        return this.invoke(thiz, proxyMethod, (Object) arg0);
+    }
+
+    /**
+     * Handle a proxy method invocation with a single {@code short} argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final short arg0) {
+        return this.invoke(thiz, proxyMethod, (Object) arg0);
+    }
+
+    /**
+     * Handle a proxy method invocation with a single {@code char} argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final char arg0) {
+        return this.invoke(thiz, proxyMethod, (Object) arg0);
+    }
+
+    /**
+     * Handle a proxy method invocation with a single {@code int} argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final int arg0) {
+        return this.invoke(thiz, proxyMethod, (Object) arg0);
+    }
+
+    /**
+     * Handle a proxy method invocation with a single {@code long} argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final long arg0) {
+        return this.invoke(thiz, proxyMethod, (Object) arg0);
+    }
+
+    /**
+     * Handle a proxy method invocation with a single {@code float} argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final float arg0) {
+        return this.invoke(thiz, proxyMethod, (Object) arg0);
+    }
+
+    /**
+     * Handle a proxy method invocation with a single {@code double} argument.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param arg0        The argument
+     * @return The result of the method call
+     * @see #invoke(Object, ProxyMethod, Object...)
+     */
+    default Object invoke(final Object thiz, final ProxyMethod proxyMethod, final double arg0) {
+        return this.invoke(thiz, proxyMethod, (Object) arg0);
+    }
+
 }
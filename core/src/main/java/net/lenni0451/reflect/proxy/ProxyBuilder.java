@@ -4,11 +4,19 @@ import net.lenni0451.reflect.Fields;
 import net.lenni0451.reflect.bytecode.BytecodeUtils;
 import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
 import net.lenni0451.reflect.bytecode.builder.ClassBuilder;
+import net.lenni0451.reflect.bytecode.builder.MethodBuilder;
+import net.lenni0451.reflect.bytecode.cache.BytecodeCache;
+import net.lenni0451.reflect.bytecode.cache.LazyBuiltClass;
 import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeLabel;
+import net.lenni0451.reflect.proxy.impl.BatchQueue;
+import net.lenni0451.reflect.proxy.impl.DelegatingProxy;
+import net.lenni0451.reflect.proxy.impl.MemoCache;
+import net.lenni0451.reflect.proxy.impl.MethodMetrics;
 import net.lenni0451.reflect.proxy.impl.Proxy;
 import net.lenni0451.reflect.proxy.impl.ProxyMethod;
 import net.lenni0451.reflect.proxy.impl.ProxyRuntime;
+import net.lenni0451.reflect.proxy.internal.ProxyCache;
 import net.lenni0451.reflect.proxy.internal.ProxyMethodBuilder;
 import net.lenni0451.reflect.proxy.internal.ProxyUtils;
 
@@ -18,8 +26,16 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static net.lenni0451.reflect.bytecode.BytecodeUtils.*;
 
@@ -29,9 +45,39 @@ import static net.lenni0451.reflect.bytecode.BytecodeUtils.*;
 public class ProxyBuilder {
 
     private static final BytecodeBuilder BUILDER = BytecodeBuilder.get();
-    private static final String METHODS_FIELD = "METHODS";
-    private static final String PROXY_METHOD_CLASSES_FIELD = "PROXY_METHOD_CLASSES";
-    private static final String INVOCATION_HANDLER_FIELD = "invocationHandler";
+    private static final String PROXY_METHODS_FIELD = "PROXY_METHODS";
+    static final String INVOCATION_HANDLER_FIELD = "invocationHandler";
+    private static final String DELEGATE_FIELD = "delegate";
+    private static final String INTERCEPTORS_FIELD = "INTERCEPTORS";
+    static final String METRICS_FIELD = "METRICS";
+    private static final String BATCH_QUEUE_FIELD = "BATCH_QUEUE";
+    static final String LAZY_SUPPLIER_FIELD = "lazySupplier";
+    private static final String DELEGATE_UPDATER_FIELD = "DELEGATE_UPDATER";
+    static final String INIT_MEMO_CACHES_METHOD = "initMemoCaches";
+    private static final Predicate<Method> DEFAULT_METHOD_FILTER = m -> true;
+    private static final Predicate<Method> LAZY_METHOD_FILTER = m -> false;
+    private static final Function<Method, Method> DEFAULT_METHOD_MAPPER = Function.identity();
+    private static final ProxyClassDefiner DEFAULT_CLASS_DEFINER = ProxyClassDefiner.loader(ProxyBuilder.class.getClassLoader());
+
+    /**
+     * Create a builder for a lazy proxy of the given type.<br>
+     * The target is created by the supplier when the first method is called and all public methods are directly forwarded to it.<br>
+     * Use {@link ProxyClass#allocateInstance()} to create instances without calling a constructor of the type.
+     *
+     * @param type           The class or interface to proxy
+     * @param targetSupplier The supplier of the target
+     * @return The configured builder
+     * @see #setLazy(Supplier)
+     */
+    public static ProxyBuilder lazy(@Nonnull final Class<?> type, @Nonnull final Supplier<?> targetSupplier) {
+        ProxyBuilder builder = new ProxyBuilder();
+        if (type.isInterface()) builder.setInterfaces(type);
+        else builder.setSuperClass(type);
+        return builder
+                .setDelegating(true)
+                .setMethodFilter(LAZY_METHOD_FILTER)
+                .setLazy(targetSupplier);
+    }
 
     @Nullable
     private Class<?> superClass;
@@ -39,10 +85,22 @@ public class ProxyBuilder {
     private Class<?>[] interfaces;
     @Nullable
     private String packageName;
-    private Predicate<Method> methodFilter = m -> true;
-    private Function<Method, Method> methodMapper = Function.identity();
+    private Predicate<Method> methodFilter = DEFAULT_METHOD_FILTER;
+    private Function<Method, Method> methodMapper = DEFAULT_METHOD_MAPPER;
     private InvocationHandler invocationHandler = InvocationHandler.forwarding();
-    private ProxyClassDefiner classDefiner = ProxyClassDefiner.loader(ProxyBuilder.class.getClassLoader());
+    @Nullable
+    private ProxyInterceptor[] interceptors;
+    private ProxyClassDefiner classDefiner = DEFAULT_CLASS_DEFINER;
+    private boolean delegating;
+    private boolean metrics;
+    private int memoizingMaxSize;
+    private long memoizingTtl;
+    @Nullable
+    private BatchQueue batchQueue;
+    @Nullable
+    private Supplier<?> lazySupplier;
+    @Nullable
+    private Object cacheKey;
 
     private Class<?> proxyClass;
 
@@ -129,6 +187,7 @@ public class ProxyBuilder {
      * @return This builder
      */
     public ProxyBuilder setPackageName(@Nullable final String packageName) {
+        this.reset();
         this.packageName = packageName;
         return this;
     }
@@ -195,6 +254,47 @@ public class ProxyBuilder {
         return this;
     }
 
+    /**
+     * @return The interceptors of the proxy class
+     */
+    @Nullable
+    public ProxyInterceptor[] getInterceptors() {
+        return this.interceptors;
+    }
+
+    /**
+     * Add an interceptor to the proxy class.<br>
+     * Interceptors are called around the invocation handler of all methods passed to it.
+     *
+     * @param interceptor The interceptor to add
+     * @return This builder
+     * @see ProxyInterceptor
+     */
+    public ProxyBuilder addInterceptor(@Nonnull final ProxyInterceptor interceptor) {
+        this.reset();
+        if (this.interceptors == null) {
+            this.interceptors = new ProxyInterceptor[]{interceptor};
+        } else {
+            this.interceptors = Arrays.copyOf(this.interceptors, this.interceptors.length + 1);
+            this.interceptors[this.interceptors.length - 1] = interceptor;
+        }
+        return this;
+    }
+
+    /**
+     * Set the interceptors of the proxy class.<br>
+     * Interceptors are called around the invocation handler of all methods passed to it.
+     *
+     * @param interceptors The interceptors
+     * @return This builder
+     * @see ProxyInterceptor
+     */
+    public ProxyBuilder setInterceptors(@Nullable final ProxyInterceptor... interceptors) {
+        this.reset();
+        this.interceptors = interceptors;
+        return this;
+    }
+
     /**
      * @return The current class definer
      */
@@ -215,29 +315,253 @@ public class ProxyBuilder {
     }
 
     /**
-     * Build the proxy class.
+     * @return If the proxy class forwards not handled methods to a delegate
+     */
+    public boolean isDelegating() {
+        return this.delegating;
+    }
+
+    /**
+     * Set if the proxy class should forward not handled methods to a delegate.<br>
+     * Methods accepted by the method filter are passed to the invocation handler.<br>
+     * All other methods directly call the same method of the delegate without going through the invocation handler.<br>
+     * Non-public methods can't be called on the delegate and are always passed to the invocation handler.<br>
+     * The proxy class implements {@link DelegatingProxy} which is used to set the delegate.
+     *
+     * @param delegating If the proxy class should be delegating
+     * @return This builder
+     */
+    public ProxyBuilder setDelegating(final boolean delegating) {
+        this.reset();
+        this.delegating = delegating;
+        return this;
+    }
+
+    /**
+     * @return If the proxy class records invocation metrics
+     */
+    public boolean isMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Set if the proxy class should record invocation metrics.<br>
+     * The call count and latency of every overridden method are recorded directly in the generated code.<br>
+     * The metrics can be read using {@link ProxyClass#getMetrics()}.
+     *
+     * @param metrics If the proxy class should record metrics
+     * @return This builder
+     */
+    public ProxyBuilder setMetrics(final boolean metrics) {
+        this.reset();
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * @return The maximum amount of memoized results per method and instance or {@code 0} if memoizing is disabled
+     */
+    public int getMemoizingMaxSize() {
+        return this.memoizingMaxSize;
+    }
+
+    /**
+     * @return The time to live of memoized results in nanoseconds or {@code 0} if they never expire
+     */
+    public long getMemoizingTtl() {
+        return this.memoizingTtl;
+    }
+
+    /**
+     * Set if the proxy class should memoize the results of the methods passed to the invocation handler.<br>
+     * The methods are selected using the method filter. Void methods are never memoized.<br>
+     * Results are cached per proxy instance and keyed by the method arguments using {@link Object#equals(Object)}.
+     * Cached calls return directly without calling the interceptors or the invocation handler.<br>
+     * Single primitive arguments are used as keys without boxing and no argument array is allocated for up to four arguments.
+     *
+     * @param maxSize The maximum amount of cached results per method and instance or {@code 0} to disable memoizing
+     * @param ttl     The time to live of a cached result or {@code 0} if results never expire
+     * @param unit    The time unit of the time to live
+     * @return This builder
+     */
+    public ProxyBuilder setMemoizing(final int maxSize, final long ttl, @Nonnull final TimeUnit unit) {
+        if (maxSize < 0) throw new IllegalArgumentException("The max size must not be negative");
+        if (ttl < 0) throw new IllegalArgumentException("The time to live must not be negative");
+
+        this.reset();
+        this.memoizingMaxSize = maxSize;
+        this.memoizingTtl = unit.toNanos(ttl);
+        return this;
+    }
+
+    /**
+     * @return The queue the void methods are batched into or null if batching is disabled
+     */
+    @Nullable
+    public BatchQueue getBatchQueue() {
+        return this.batchQueue;
+    }
+
+    /**
+     * Set if the proxy class should queue the calls of void methods instead of passing them to the invocation handler.<br>
+     * The methods are selected using the method filter. Methods with a return value are still passed to the invocation handler.<br>
+     * Queued calls return immediately and are delivered in batches by the worker of the queue.
+     * Interceptors and metrics only see the queueing of the call.<br>
+     * The queue is shared by all instances of the proxy class.
+     *
+     * @param batchQueue The queue or null to disable batching
+     * @return This builder
+     */
+    public ProxyBuilder setBatching(@Nullable final BatchQueue batchQueue) {
+        this.reset();
+        this.batchQueue = batchQueue;
+        return this;
+    }
+
+    /**
+     * @return The supplier of the lazily created delegate or null if the delegate is set manually
+     */
+    @Nullable
+    public Supplier<?> getLazySupplier() {
+        return this.lazySupplier;
+    }
+
+    /**
+     * Set if the delegate of the proxy class should be created lazily.<br>
+     * When a delegated method is called and no delegate is set, the supplier is called and the result is published as the delegate.
+     * The delegate is published using a compare-and-set without locking.
+     * If multiple threads race for the first call, the supplier may be called more than once but only one result is used.<br>
+     * Once the delegate is set, methods are forwarded to it without calling the supplier or the invocation handler.<br>
+     * The proxy class has to be delegating and the supplier is set on all instances created by the built {@link ProxyClass}.<br>
+     * The supplier is not part of the proxy class, so lazy proxies with different suppliers share the same class.
+     *
+     * @param lazySupplier The supplier of the delegate or null to disable lazy creation
+     * @return This builder
+     * @see #lazy(Class, Supplier)
+     */
+    public ProxyBuilder setLazy(@Nullable final Supplier<?> lazySupplier) {
+        this.reset();
+        this.lazySupplier = lazySupplier;
+        return this;
+    }
+
+    /**
+     * @return The key used to cache the proxy class
+     */
+    @Nullable
+    public Object getCacheKey() {
+        return this.cacheKey;
+    }
+
+    /**
+     * Set the key used to cache the proxy class.<br>
+     * Builders with the same configuration and an equal cache key share the same proxy class.<br>
+     * Method filters and mappers can't be compared, so a cache key is required to cache proxy classes using them.<br>
+     * The invocation handler is not part of the cached proxy class and can be different for every builder.
+     *
+     * @param cacheKey The cache key or null to only cache the default configuration
+     * @return This builder
+     */
+    public ProxyBuilder setCacheKey(@Nullable final Object cacheKey) {
+        this.reset();
+        this.cacheKey = cacheKey;
+        return this;
+    }
+
+    /**
+     * Build the proxy class.<br>
+     * If the configuration is cacheable, a previously built proxy class will be reused.
      *
      * @return The built proxy class
      */
     public ProxyClass build() {
         if (this.proxyClass == null) {
-            Reference<Method[]> methodsReference = new Reference<>();
-            Reference<Method[]> originalMethodsReference = new Reference<>();
-            BuiltClass builtClass = this.buildClass(methodsReference, originalMethodsReference);
-            this.proxyClass = this.classDefiner.defineProxyClass(builtClass, this.superClass, this.interfaces);
-
-            //Set the static fields
-            Field methods = Fields.getDeclaredField(this.proxyClass, METHODS_FIELD);
-            Fields.setObject(null, methods, methodsReference.value);
-
-            Class<ProxyMethod>[] proxyMethodClasses = this.buildProxyMethodClasses(methodsReference.value, originalMethodsReference.value);
-            Field proxyMethodClassesField = Fields.getDeclaredField(this.proxyClass, PROXY_METHOD_CLASSES_FIELD);
-            Fields.setObject(null, proxyMethodClassesField, proxyMethodClasses);
+            ProxyCache.Key cacheKey = this.makeCacheKey();
+            if (cacheKey == null) this.proxyClass = this.buildProxyClass();
+            else this.proxyClass = ProxyCache.get(cacheKey, this::buildProxyClass);
         }
-        return new ProxyClass(this.proxyClass, this.invocationHandler);
+        return new ProxyClass(this.proxyClass, this.invocationHandler, this.lazySupplier);
+    }
+
+    @Nullable
+    private ProxyCache.Key makeCacheKey() {
+        //The filters of this builder are known and part of the key, other filters and mappers require a cache key
+        boolean knownMethodFilter = this.methodFilter == DEFAULT_METHOD_FILTER || this.methodFilter == LAZY_METHOD_FILTER;
+        if (this.cacheKey == null && (!knownMethodFilter || this.methodMapper != DEFAULT_METHOD_MAPPER)) return null;
+
+        int interfaceCount = this.interfaces == null ? 0 : this.interfaces.length;
+        int interceptorCount = this.interceptors == null ? 0 : this.interceptors.length;
+        Object[] weakParts = new Object[interfaceCount + interceptorCount + 3];
+        weakParts[0] = this.classDefiner;
+        weakParts[1] = this.superClass;
+        weakParts[2] = this.batchQueue;
+        if (this.interfaces != null) System.arraycopy(this.interfaces, 0, weakParts, 3, interfaceCount);
+        if (this.interceptors != null) System.arraycopy(this.interceptors, 0, weakParts, 3 + interfaceCount, interceptorCount);
+        return new ProxyCache.Key(weakParts, this.packageName, this.delegating, this.lazySupplier != null, this.metrics, this.memoizingMaxSize, this.memoizingTtl, interfaceCount, this.methodFilter == LAZY_METHOD_FILTER, this.cacheKey);
     }
 
-    private BuiltClass buildClass(final Reference<Method[]> methodsReference, final Reference<Method[]> originalMethodsReference) {
+    private Class<?> buildProxyClass() {
+        if (this.lazySupplier != null && !this.delegating) throw new IllegalStateException("Lazy proxy classes have to be delegating");
+
+        Method[] methods;
+        Method[] delegatedMethods;
+        if (this.delegating) {
+            Method[] allMethods = ProxyUtils.getOverridableMethod(this.superClass, this.interfaces, m -> true);
+            Map<Boolean, List<Method>> partitionedMethods = Arrays.stream(allMethods).collect(Collectors.partitioningBy(m -> !this.methodFilter.test(m) && ProxyUtils.canDelegate(m)));
+            methods = partitionedMethods.get(false).toArray(new Method[0]);
+            delegatedMethods = partitionedMethods.get(true).toArray(new Method[0]);
+        } else {
+            methods = ProxyUtils.getOverridableMethod(this.superClass, this.interfaces, this.methodFilter);
+            delegatedMethods = new Method[0];
+        }
+        Method[] originalMethods = ProxyUtils.mapMethods(methods, this.methodMapper);
+
+        String className = this.getClassName();
+        Supplier<String> hash = () -> BytecodeCache.hash(
+                className.substring(0, className.lastIndexOf('/') + 1),
+                this.superClass == null ? null : this.superClass.getName(),
+                this.superClass == null ? null : ProxyUtils.getPublicConstructors(this.superClass),
+                this.interfaces == null ? null : Arrays.stream(this.interfaces).map(Class::getName).toArray(),
+                this.delegating,
+                this.metrics,
+                this.memoizingMaxSize,
+                this.memoizingTtl,
+                this.batchQueue != null,
+                this.lazySupplier != null,
+                methods,
+                delegatedMethods,
+                this.getInterceptors(false, "before", Object.class, ProxyMethod.class),
+                this.getInterceptors(false, "before", Object.class, ProxyMethod.class, Object[].class),
+                this.getInterceptors(true, "after", Object.class, ProxyMethod.class, Object.class),
+                this.getInterceptors(true, "afterThrowing", Object.class, ProxyMethod.class, Throwable.class),
+                this.interceptors == null ? 0 : this.interceptors.length
+        );
+        LazyBuiltClass builtClass = new LazyBuiltClass(className, hash, () -> this.buildClass(className, methods, delegatedMethods));
+        Class<?> proxyClass = this.classDefiner.defineProxyClass(builtClass, this.superClass, this.interfaces);
+
+        //Set the static fields before the proxy class is initialized
+        ProxyMethod[] proxyMethods = ProxyMethodBuilder.buildProxyMethods(proxyClass, methods, originalMethods);
+        Field proxyMethodsField = Fields.getDeclaredField(proxyClass, PROXY_METHODS_FIELD);
+        Fields.setObject(null, proxyMethodsField, proxyMethods);
+        if (this.interceptors != null && this.interceptors.length != 0) {
+            Field interceptorsField = Fields.getDeclaredField(proxyClass, INTERCEPTORS_FIELD);
+            Fields.setObject(null, interceptorsField, this.interceptors.clone());
+        }
+        if (this.batchQueue != null) {
+            Field batchQueueField = Fields.getDeclaredField(proxyClass, BATCH_QUEUE_FIELD);
+            Fields.setObject(null, batchQueueField, this.batchQueue);
+        }
+        if (this.metrics) {
+            MethodMetrics[] metrics = new MethodMetrics[methods.length + delegatedMethods.length];
+            for (int i = 0; i < methods.length; i++) metrics[i] = new MethodMetrics(methods[i]);
+            for (int i = 0; i < delegatedMethods.length; i++) metrics[methods.length + i] = new MethodMetrics(delegatedMethods[i]);
+            Field metricsField = Fields.getDeclaredField(proxyClass, METRICS_FIELD);
+            Fields.setObject(null, metricsField, metrics);
+        }
+        return proxyClass;
+    }
+
+    private String getClassName() {
         String pkg;
         if (this.packageName != null) {
             pkg = this.packageName.replace('.', '/');
@@ -254,13 +578,17 @@ public class ProxyBuilder {
         } else {
             pkg = "net/lenni0451/reflect/proxy/impl/";
         }
-        String className = pkg + "ProxyImpl$" + System.nanoTime();
+        return pkg + "ProxyImpl$" + System.nanoTime();
+    }
+
+    private BuiltClass buildClass(final String className, final Method[] methods, final Method[] delegatedMethods) {
+        Class<?> proxyInterface = this.delegating ? DelegatingProxy.class : Proxy.class;
         Class<?>[] interfaces = this.interfaces;
         if (interfaces == null) {
-            interfaces = new Class[]{Proxy.class};
+            interfaces = new Class[]{proxyInterface};
         } else {
             interfaces = Arrays.copyOf(interfaces, interfaces.length + 1);
-            interfaces[interfaces.length - 1] = Proxy.class;
+            interfaces[interfaces.length - 1] = proxyInterface;
         }
 
         return BUILDER.class_(
@@ -270,26 +598,33 @@ public class ProxyBuilder {
                 this.superClass == null ? slash(Object.class) : slash(this.superClass),
                 Arrays.stream(interfaces).map(BytecodeUtils::slash).toArray(String[]::new),
                 cb -> {
-                    this.addConstructors(cb);
-
-                    Method[] methods = ProxyUtils.getOverridableMethod(this.superClass, this.interfaces, this.methodFilter);
-                    methodsReference.value = methods;
-                    originalMethodsReference.value = ProxyUtils.mapMethods(methods, this.methodMapper);
-                    this.addFields(cb, methods);
+                    this.addConstructors(cb, methods);
+                    this.addFields(cb, methods, delegatedMethods);
+                    this.addStaticBlock(cb, methods, delegatedMethods);
                     this.addMethods(cb, methods);
+                    this.addDelegatedMethods(cb, delegatedMethods, methods.length);
+                    if (this.lazySupplier != null) this.addLazyInitializer(cb);
                     this.addDefaultMethods(cb);
                 }
         );
     }
 
-    private void addConstructors(final ClassBuilder cb) {
+    private void addConstructors(final ClassBuilder cb, final Method[] methods) {
+        boolean memoized = Arrays.stream(methods).anyMatch(this::isMemoized);
         if (this.superClass == null) {
-            cb.method(BUILDER.opcode("ACC_PUBLIC"), "<init>", mdesc(void.class), null, null, mb -> mb
-                    .aload(0)
-                    .invokespecial(slash(Object.class), "<init>", mdesc(void.class), false)
-                    .return_()
-                    .maxs(1, 1)
-            );
+            cb.method(BUILDER.opcode("ACC_PUBLIC"), "<init>", mdesc(void.class), null, null, mb -> {
+                mb
+                        .aload(0)
+                        .invokespecial(slash(Object.class), "<init>", mdesc(void.class), false);
+                if (memoized) {
+                    mb
+                            .aload(0)
+                            .invokespecial(cb.getName(), INIT_MEMO_CACHES_METHOD, mdesc(void.class), false);
+                }
+                mb
+                        .return_()
+                        .maxs(1, 1);
+            });
         } else {
             Constructor<?>[] constructors = ProxyUtils.getPublicConstructors(this.superClass);
             for (Constructor<?> constructor : constructors) {
@@ -300,70 +635,167 @@ public class ProxyBuilder {
                         mb.load(parameter, index);
                         index += getStackSize(parameter);
                     }
+                    mb.invokespecial(slash(this.superClass), "<init>", mdesc(void.class, constructor.getParameterTypes()), false);
+                    if (memoized) {
+                        mb
+                                .aload(0)
+                                .invokespecial(cb.getName(), INIT_MEMO_CACHES_METHOD, mdesc(void.class), false);
+                    }
                     mb
-                            .invokespecial(slash(this.superClass), "<init>", mdesc(void.class, constructor.getParameterTypes()), false)
                             .return_()
                             .maxs(index, index);
                 });
             }
         }
+        if (memoized) {
+            cb.method(BUILDER.opcode("ACC_PRIVATE"), INIT_MEMO_CACHES_METHOD, mdesc(void.class), null, null, mb -> {
+                for (int i = 0; i < methods.length; i++) {
+                    if (!this.isMemoized(methods[i])) continue;
+                    mb
+                            .aload(0) //this
+                            .new_(slash(MemoCache.class)) //this, cache
+                            .dup() //this, cache, cache
+                            .intPush(this.memoizingMaxSize) //this, cache, cache, maxSize
+                            .ldc(this.memoizingTtl) //this, cache, cache, maxSize, ttl
+                            .invokespecial(slash(MemoCache.class), "<init>", mdesc(void.class, int.class, long.class), false) //this, cache
+                            .putfield(cb.getName(), "memoCache" + i, desc(MemoCache.class));
+                }
+                mb
+                        .return_()
+                        .maxs(6, 1);
+            });
+        }
     }
 
-    private void addFields(final ClassBuilder cb, final Method[] methods) {
-        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), METHODS_FIELD, desc(Method[].class), null, null);
-        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), PROXY_METHOD_CLASSES_FIELD, desc(Class[].class), null, null);
+    private void addFields(final ClassBuilder cb, final Method[] methods, final Method[] delegatedMethods) {
+        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), PROXY_METHODS_FIELD, desc(ProxyMethod[].class), null, null);
         cb.field(BUILDER.opcode("ACC_PRIVATE"), INVOCATION_HANDLER_FIELD, desc(InvocationHandler.class), null, null);
+        if (this.lazySupplier != null) {
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_VOLATILE"), DELEGATE_FIELD, desc(Object.class), null, null);
+            cb.field(BUILDER.opcode("ACC_PRIVATE"), LAZY_SUPPLIER_FIELD, desc(Supplier.class), null, null);
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), DELEGATE_UPDATER_FIELD, desc(AtomicReferenceFieldUpdater.class), null, null);
+        } else if (this.delegating) {
+            cb.field(BUILDER.opcode("ACC_PRIVATE"), DELEGATE_FIELD, desc(Object.class), null, null);
+        }
         for (int i = 0; i < methods.length; i++) {
-            cb.field(BUILDER.opcode("ACC_PRIVATE"), "method" + i, desc(ProxyMethod.class), null, null);
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), "method" + i, desc(ProxyMethod.class), null, null);
+            if (this.isMemoized(methods[i])) cb.field(BUILDER.opcode("ACC_PRIVATE"), "memoCache" + i, desc(MemoCache.class), null, null);
+        }
+        if (this.interceptors != null && this.interceptors.length != 0) {
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), INTERCEPTORS_FIELD, desc(ProxyInterceptor[].class), null, null);
+            for (int i = 0; i < this.interceptors.length; i++) {
+                cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), "interceptor" + i, desc(ProxyInterceptor.class), null, null);
+            }
+        }
+        if (this.batchQueue != null) {
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), BATCH_QUEUE_FIELD, desc(BatchQueue.class), null, null);
+        }
+        if (this.metrics) {
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), METRICS_FIELD, desc(MethodMetrics[].class), null, null);
+            for (int i = 0; i < methods.length + delegatedMethods.length; i++) {
+                cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), "metrics" + i, desc(MethodMetrics.class), null, null);
+            }
         }
     }
 
+    private void addStaticBlock(final ClassBuilder cb, final Method[] methods, final Method[] delegatedMethods) {
+        cb.method(BUILDER.opcode("ACC_STATIC"), "<clinit>", mdesc(void.class), null, null, mb -> {
+            for (int i = 0; i < methods.length; i++) {
+                mb
+                        .getstatic(cb.getName(), PROXY_METHODS_FIELD, desc(ProxyMethod[].class)) //PROXY_METHODS
+                        .intPush(i) //PROXY_METHODS, methodId
+                        .aaload() //proxyMethod
+                        .putstatic(cb.getName(), "method" + i, desc(ProxyMethod.class));
+            }
+            if (this.interceptors != null) {
+                for (int i = 0; i < this.interceptors.length; i++) {
+                    mb
+                            .getstatic(cb.getName(), INTERCEPTORS_FIELD, desc(ProxyInterceptor[].class)) //INTERCEPTORS
+                            .intPush(i) //INTERCEPTORS, interceptorId
+                            .aaload() //interceptor
+                            .putstatic(cb.getName(), "interceptor" + i, desc(ProxyInterceptor.class));
+                }
+            }
+            if (this.metrics) {
+                for (int i = 0; i < methods.length + delegatedMethods.length; i++) {
+                    mb
+                            .getstatic(cb.getName(), METRICS_FIELD, desc(MethodMetrics[].class)) //METRICS
+                            .intPush(i) //METRICS, metricsId
+                            .aaload() //metrics
+                            .putstatic(cb.getName(), "metrics" + i, desc(MethodMetrics.class));
+                }
+            }
+            if (this.lazySupplier != null) {
+                mb
+                        .ldc(BUILDER.type("L" + cb.getName() + ";")) //proxyClass
+                        .ldc(BUILDER.type(desc(Object.class))) //proxyClass, Object.class
+                        .ldc(DELEGATE_FIELD) //proxyClass, Object.class, fieldName
+                        .invokestatic(slash(AtomicReferenceFieldUpdater.class), "newUpdater", mdesc(AtomicReferenceFieldUpdater.class, Class.class, Class.class, String.class), false) //updater
+                        .putstatic(cb.getName(), DELEGATE_UPDATER_FIELD, desc(AtomicReferenceFieldUpdater.class));
+            }
+            mb
+                    .return_()
+                    .maxs(3, 0);
+        });
+    }
+
     private void addMethods(final ClassBuilder cb, final Method[] methods) {
+        int[] beforeInterceptors = this.getInterceptors(false, "before", Object.class, ProxyMethod.class);
+        int[] beforeArgsInterceptors = this.getInterceptors(false, "before", Object.class, ProxyMethod.class, Object[].class);
+        int[] afterInterceptors = this.getInterceptors(true, "after", Object.class, ProxyMethod.class, Object.class);
+        int[] afterThrowingInterceptors = this.getInterceptors(true, "afterThrowing", Object.class, ProxyMethod.class, Throwable.class);
         for (int i = 0; i < methods.length; i++) {
             final int methodId = i;
             Method method = methods[i];
             cb.method(BUILDER.opcode("ACC_PUBLIC"), method.getName(), desc(method), null, null, mb -> {
-                BytecodeLabel elseLabel = mb.newLabel();
+                int localVarIndex = 1;
+                for (Class<?> parameter : method.getParameterTypes()) localVarIndex += getStackSize(parameter);
+                int startTimeVarIndex = localVarIndex + 1;
+                int keyVarIndex = startTimeVarIndex + 2;
+                int cacheVarIndex = keyVarIndex + 1;
+                BytecodeLabel[] metricsLabels = this.startMetrics(mb, startTimeVarIndex);
+                boolean memoized = this.isMemoized(method);
+                BytecodeLabel memoHit = mb.newLabel();
+                BytecodeLabel memoReturn = mb.newLabel();
+                if (memoized) this.getMemoized(mb, cb, method, methodId, keyVarIndex, cacheVarIndex, memoHit);
 
-                mb
-                        .aload(0) //this
-                        .getfield(cb.getName(), INVOCATION_HANDLER_FIELD, desc(InvocationHandler.class)) //this.invocationHandler
-                        .aload(0) //this.invocationHandler, this
-                        .dup() //this.invocationHandler, this, this
-                        .getfield(cb.getName(), "method" + methodId, desc(ProxyMethod.class)) //this.invocationHandler, this, this.methodN
-                        .dup() //this.invocationHandler, this, this.methodN, this.methodN
-                        .ifnonnull(elseLabel) //this.invocationHandler, this, this.methodN
-                        .pop(); //this.invocationHandler, this
-                mb
-                        .aload(0) //^, this
-                        .getstatic(cb.getName(), PROXY_METHOD_CLASSES_FIELD, desc(Class[].class)) //^, this, PROXY_METHOD_CLASSES
-                        .intPush(methodId) //^, this, PROXY_METHOD_CLASSES, methodId
-                        .aaload() //^, this, proxyMethodClass
-                        .aload(0) //^, this, proxyMethodClass, this
-                        .getstatic(cb.getName(), METHODS_FIELD, desc(Method[].class)) //^, this, proxyMethodClass, this, METHODS
-                        .intPush(methodId) //^, this, proxyMethodClass, this, METHODS, methodId
-                        .aaload() //^, this, proxyMethodClass, this, method
-                        .invokestatic(slash(ProxyRuntime.class), "instantiateProxyMethod", mdesc(ProxyMethod.class, Class.class, Object.class, Method.class), false) //^, this, proxyMethod
-                        .dupX1() //^, proxyMethod, this, proxyMethod
-                        .putfield(cb.getName(), "method" + methodId, desc(ProxyMethod.class)); //^, proxyMethod
-                mb
-                        .label(elseLabel) //this.invocationHandler, this, proxyMethod
-                        .intPush(method.getParameterCount()) //this.invocationHandler, this, proxyMethod, parameterCount
-                        .anewarray(slash(Object.class)); //this.invocationHandler, this, proxyMethod, parameters
+                if (beforeArgsInterceptors.length != 0) {
+                    this.loadArgumentArray(mb, method); //parameters
+                    mb.astore(localVarIndex);
+                }
+                for (int interceptorId = 0; this.interceptors != null && interceptorId < this.interceptors.length; interceptorId++) {
+                    if (contains(beforeInterceptors, interceptorId)) {
+                        this.loadInterceptorArguments(mb, cb, interceptorId, methodId) //interceptor, this, proxyMethod
+                                .invokeinterface(slash(ProxyInterceptor.class), "before", mdesc(void.class, Object.class, ProxyMethod.class));
+                    }
+                    if (contains(beforeArgsInterceptors, interceptorId)) {
+                        this.loadInterceptorArguments(mb, cb, interceptorId, methodId) //interceptor, this, proxyMethod
+                                .aload(localVarIndex) //interceptor, this, proxyMethod, parameters
+                                .invokeinterface(slash(ProxyInterceptor.class), "before", mdesc(void.class, Object.class, ProxyMethod.class, Object[].class));
+                    }
+                }
 
-                int paramVarIndex = 1;
-                for (int param = 0; param < method.getParameterCount(); param++) {
-                    Class<?> parameter = method.getParameterTypes()[param];
+                BytecodeLabel tryStart = mb.newLabel();
+                BytecodeLabel tryEnd = mb.newLabel();
+                BytecodeLabel tryHandler = mb.newLabel();
+                if (afterThrowingInterceptors.length != 0) mb.label(tryStart);
+                this.invokeHandler(mb, cb, method, methodId); //result
+                if (afterThrowingInterceptors.length != 0) mb.label(tryEnd);
+                for (int interceptorId : afterInterceptors) {
+                    mb.astore(localVarIndex);
+                    this.loadInterceptorArguments(mb, cb, interceptorId, methodId) //interceptor, this, proxyMethod
+                            .aload(localVarIndex) //interceptor, this, proxyMethod, result
+                            .invokeinterface(slash(ProxyInterceptor.class), "after", mdesc(Object.class, Object.class, ProxyMethod.class, Object.class)); //result
+                }
+                if (memoized) {
                     mb
-                            .dup() //this.invocationHandler, this, proxyMethod, parameters, parameters
-                            .intPush(param) //this.invocationHandler, this, proxyMethod, parameters, parameters, parameterIndex
-                            .load(parameter, paramVarIndex) //this.invocationHandler, this, proxyMethod, parameters, parameters, parameterIndex, parameterValue
-                            .box(parameter) //this.invocationHandler, this, proxyMethod, parameters, parameters, parameterIndex, parameterValue
-                            .aastore(); //this.invocationHandler, this, proxyMethod, parameters
-                    paramVarIndex += getStackSize(parameter);
+                            .astore(localVarIndex)
+                            .aload(cacheVarIndex) //cache
+                            .aload(keyVarIndex) //cache, key
+                            .aload(localVarIndex) //cache, key, result
+                            .invokevirtual(slash(MemoCache.class), "put", mdesc(Object.class, Object.class, Object.class)) //result
+                            .label(memoReturn);
                 }
-
-                mb.invokeinterface(slash(InvocationHandler.class), "invoke", mdesc(Object.class, Object.class, ProxyMethod.class, Object[].class)); //this.invocationHandler, this, proxyMethod, parameters
                 if (method.getReturnType() == void.class) {
                     mb.pop();
                 } else {
@@ -371,13 +803,247 @@ public class ProxyBuilder {
                             .checkcast(slash(boxed(method.getReturnType())))
                             .unbox(method.getReturnType());
                 }
+                if (metricsLabels != null) this.recordMetrics(mb, cb, methodId, startTimeVarIndex, "record"); //returnValue (if not void)
+                mb.return_(method.getReturnType()); //returnValue (if not void)
+                if (memoized) {
+                    mb
+                            .label(memoHit) //cachedResult
+                            .invokestatic(slash(MemoCache.class), "unwrap", mdesc(Object.class, Object.class), false) //result
+                            .goto_(memoReturn);
+                }
+
+                if (afterThrowingInterceptors.length != 0) {
+                    mb
+                            .label(tryHandler) //throwable
+                            .astore(localVarIndex);
+                    for (int interceptorId : afterThrowingInterceptors) {
+                        this.loadInterceptorArguments(mb, cb, interceptorId, methodId) //interceptor, this, proxyMethod
+                                .aload(localVarIndex) //interceptor, this, proxyMethod, throwable
+                                .invokeinterface(slash(ProxyInterceptor.class), "afterThrowing", mdesc(void.class, Object.class, ProxyMethod.class, Throwable.class));
+                    }
+                    mb
+                            .aload(localVarIndex) //throwable
+                            .athrow()
+                            .tryCatch(tryStart, tryEnd, tryHandler, slash(Throwable.class));
+                }
+                if (metricsLabels != null) this.endMetrics(mb, cb, metricsLabels, methodId, localVarIndex, startTimeVarIndex);
+                mb.maxs(localVarIndex + 4, cacheVarIndex + 1);
+            });
+        }
+    }
+
+    private void invokeHandler(final MethodBuilder mb, final ClassBuilder cb, final Method method, final int methodId) {
+        if (this.batchQueue != null && method.getReturnType() == void.class) {
+            mb
+                    .getstatic(cb.getName(), BATCH_QUEUE_FIELD, desc(BatchQueue.class)) //BATCH_QUEUE
+                    .aload(0) //BATCH_QUEUE, this
+                    .getstatic(cb.getName(), "method" + methodId, desc(ProxyMethod.class)); //BATCH_QUEUE, this, methodN
+            this.loadArgumentArray(mb, method); //BATCH_QUEUE, this, methodN, parameters
+            mb
+                    .invokevirtual(slash(BatchQueue.class), "submit", mdesc(void.class, Object.class, ProxyMethod.class, Object[].class))
+                    .aconstNull(); //result
+            return;
+        }
+        mb
+                .aload(0) //this
+                .getfield(cb.getName(), INVOCATION_HANDLER_FIELD, desc(InvocationHandler.class)) //this.invocationHandler
+                .aload(0) //this.invocationHandler, this
+                .getstatic(cb.getName(), "method" + methodId, desc(ProxyMethod.class)); //this.invocationHandler, this, methodN
+
+        Class<?>[] specializedParameters = ProxyUtils.getSpecializedParameters(method.getParameterTypes());
+        if (specializedParameters != null) {
+            int paramVarIndex = 1;
+            for (int param = 0; param < method.getParameterCount(); param++) {
+                Class<?> parameter = method.getParameterTypes()[param];
+                mb.load(parameter, paramVarIndex); //this.invocationHandler, this, proxyMethod, ..., parameterValue
+                if (!specializedParameters[param].isPrimitive()) mb.box(parameter); //this.invocationHandler, this, proxyMethod, ..., parameterValue
+                paramVarIndex += getStackSize(parameter);
+            }
+
+            Class<?>[] invokeParameters = new Class<?>[specializedParameters.length + 2];
+            invokeParameters[0] = Object.class;
+            invokeParameters[1] = ProxyMethod.class;
+            System.arraycopy(specializedParameters, 0, invokeParameters, 2, specializedParameters.length);
+            mb.invokeinterface(slash(InvocationHandler.class), "invoke", mdesc(Object.class, invokeParameters)); //result
+        } else {
+            this.loadArgumentArray(mb, method); //this.invocationHandler, this, proxyMethod, parameters
+            mb.invokeinterface(slash(InvocationHandler.class), "invoke", mdesc(Object.class, Object.class, ProxyMethod.class, Object[].class)); //result
+        }
+    }
+
+    private void loadArgumentArray(final MethodBuilder mb, final Method method) {
+        if (method.getParameterCount() == 0) {
+            mb.getstatic(slash(ProxyRuntime.class), "EMPTY_ARGS", desc(Object[].class)); //parameters
+            return;
+        }
+        mb
+                .intPush(method.getParameterCount()) //parameterCount
+                .anewarray(slash(Object.class)); //parameters
+        int paramVarIndex = 1;
+        for (int param = 0; param < method.getParameterCount(); param++) {
+            Class<?> parameter = method.getParameterTypes()[param];
+            mb
+                    .dup() //parameters, parameters
+                    .intPush(param) //parameters, parameters, parameterIndex
+                    .load(parameter, paramVarIndex) //parameters, parameters, parameterIndex, parameterValue
+                    .box(parameter) //parameters, parameters, parameterIndex, parameterValue
+                    .aastore(); //parameters
+            paramVarIndex += getStackSize(parameter);
+        }
+    }
+
+    private MethodBuilder loadInterceptorArguments(final MethodBuilder mb, final ClassBuilder cb, final int interceptorId, final int methodId) {
+        return mb
+                .getstatic(cb.getName(), "interceptor" + interceptorId, desc(ProxyInterceptor.class)) //interceptor
+                .aload(0) //interceptor, this
+                .getstatic(cb.getName(), "method" + methodId, desc(ProxyMethod.class)); //interceptor, this, methodN
+    }
+
+    private boolean isMemoized(final Method method) {
+        return this.memoizingMaxSize > 0 && method.getReturnType() != void.class;
+    }
+
+    private void getMemoized(final MethodBuilder mb, final ClassBuilder cb, final Method method, final int methodId, final int keyVarIndex, final int cacheVarIndex, final BytecodeLabel hitLabel) {
+        mb
+                .aload(0) //this
+                .getfield(cb.getName(), "memoCache" + methodId, desc(MemoCache.class)) //cache
+                .astore(cacheVarIndex);
+
+        Class<?>[] specializedParameters = ProxyUtils.getSpecializedParameters(method.getParameterTypes());
+        if (specializedParameters != null) {
+            int paramVarIndex = 1;
+            for (int param = 0; param < method.getParameterCount(); param++) {
+                Class<?> parameter = method.getParameterTypes()[param];
+                mb.load(parameter, paramVarIndex); //..., parameterValue
+                if (!specializedParameters[param].isPrimitive()) mb.box(parameter); //..., parameterValue
+                paramVarIndex += getStackSize(parameter);
+            }
+            mb.invokestatic(slash(MemoCache.class), "key", mdesc(Object.class, specializedParameters), false); //key
+        } else {
+            this.loadArgumentArray(mb, method); //parameters
+            mb.invokestatic(slash(MemoCache.class), "key", mdesc(Object.class, Object[].class), false); //key
+        }
+        mb
+                .astore(keyVarIndex)
+                .aload(cacheVarIndex) //cache
+                .aload(keyVarIndex) //cache, key
+                .invokevirtual(slash(MemoCache.class), "get", mdesc(Object.class, Object.class)) //cachedResult
+                .dup() //cachedResult, cachedResult
+                .ifnonnull(hitLabel) //cachedResult
+                .pop();
+    }
+
+    @Nullable
+    private BytecodeLabel[] startMetrics(final MethodBuilder mb, final int startTimeVarIndex) {
+        if (!this.metrics) return null;
+        BytecodeLabel[] labels = {mb.newLabel(), mb.newLabel(), mb.newLabel()};
+        mb
+                .invokestatic(slash(System.class), "nanoTime", mdesc(long.class), false) //startTime
+                .lstore(startTimeVarIndex)
+                .label(labels[0]);
+        return labels;
+    }
+
+    private void recordMetrics(final MethodBuilder mb, final ClassBuilder cb, final int metricsId, final int startTimeVarIndex, final String recordMethod) {
+        mb
+                .getstatic(cb.getName(), "metrics" + metricsId, desc(MethodMetrics.class)) //metrics
+                .lload(startTimeVarIndex) //metrics, startTime
+                .invokevirtual(slash(MethodMetrics.class), recordMethod, mdesc(void.class, long.class));
+    }
+
+    private void endMetrics(final MethodBuilder mb, final ClassBuilder cb, final BytecodeLabel[] labels, final int metricsId, final int throwableVarIndex, final int startTimeVarIndex) {
+        mb
+                .label(labels[1])
+                .label(labels[2]) //throwable
+                .astore(throwableVarIndex);
+        this.recordMetrics(mb, cb, metricsId, startTimeVarIndex, "recordFailure");
+        mb
+                .aload(throwableVarIndex) //throwable
+                .athrow()
+                .tryCatch(labels[0], labels[1], labels[2], slash(Throwable.class));
+    }
+
+    private static boolean contains(final int[] interceptors, final int interceptorId) {
+        for (int id : interceptors) {
+            if (id == interceptorId) return true;
+        }
+        return false;
+    }
+
+    private int[] getInterceptors(final boolean reverse, final String name, final Class<?>... parameters) {
+        if (this.interceptors == null) return new int[0];
+        return IntStream.range(0, this.interceptors.length)
+                .map(i -> reverse ? this.interceptors.length - 1 - i : i)
+                .filter(i -> ProxyUtils.isOverridden(this.interceptors[i], ProxyInterceptor.class, name, parameters))
+                .toArray();
+    }
+
+    private void addDelegatedMethods(final ClassBuilder cb, final Method[] methods, final int metricsOffset) {
+        for (int i = 0; i < methods.length; i++) {
+            final int metricsId = metricsOffset + i;
+            Method method = methods[i];
+            Class<?> owner = method.getDeclaringClass();
+            cb.method(BUILDER.opcode("ACC_PUBLIC"), method.getName(), desc(method), null, null, mb -> {
+                int localVarIndex = 1;
+                for (Class<?> parameter : method.getParameterTypes()) localVarIndex += getStackSize(parameter);
+                int startTimeVarIndex = localVarIndex + 1;
+                BytecodeLabel[] metricsLabels = this.startMetrics(mb, startTimeVarIndex);
+
                 mb
-                        .return_(method.getReturnType()) //returnValue (if not void)
-                        .maxs(paramVarIndex, 1);
+                        .aload(0) //this
+                        .getfield(cb.getName(), DELEGATE_FIELD, desc(Object.class)); //this.delegate
+                if (this.lazySupplier != null) {
+                    BytecodeLabel initialized = mb.newLabel();
+                    mb
+                            .dup() //this.delegate, this.delegate
+                            .ifnonnull(initialized) //this.delegate
+                            .pop()
+                            .aload(0) //this
+                            .invokespecial(cb.getName(), "initDelegate", mdesc(Object.class), false) //delegate
+                            .label(initialized); //delegate
+                }
+                mb.checkcast(slash(owner)); //delegate
+                int paramVarIndex = 1;
+                for (Class<?> parameter : method.getParameterTypes()) {
+                    mb.load(parameter, paramVarIndex); //delegate, ..., parameterValue
+                    paramVarIndex += getStackSize(parameter);
+                }
+                if (owner.isInterface()) mb.invokeinterface(slash(owner), method.getName(), desc(method)); //result (if not void)
+                else mb.invokevirtual(slash(owner), method.getName(), desc(method)); //result (if not void)
+                if (metricsLabels != null) this.recordMetrics(mb, cb, metricsId, startTimeVarIndex, "record"); //result (if not void)
+                mb.return_(method.getReturnType()); //returnValue (if not void)
+                if (metricsLabels != null) this.endMetrics(mb, cb, metricsLabels, metricsId, localVarIndex, startTimeVarIndex);
+                mb.maxs(paramVarIndex + 2, startTimeVarIndex + 2);
             });
         }
     }
 
+    private void addLazyInitializer(final ClassBuilder cb) {
+        cb.method(BUILDER.opcode("ACC_PRIVATE", "ACC_SYNTHETIC"), "initDelegate", mdesc(Object.class), null, null, mb -> {
+            BytecodeLabel published = mb.newLabel();
+            mb
+                    .aload(0) //this
+                    .getfield(cb.getName(), LAZY_SUPPLIER_FIELD, desc(Supplier.class)) //this.lazySupplier
+                    .invokeinterface(slash(Supplier.class), "get", mdesc(Object.class)) //delegate
+                    .ldc("The lazy supplier returned null") //delegate, message
+                    .invokestatic(slash(Objects.class), "requireNonNull", mdesc(Object.class, Object.class, String.class), false) //delegate
+                    .astore(1)
+                    .getstatic(cb.getName(), DELEGATE_UPDATER_FIELD, desc(AtomicReferenceFieldUpdater.class)) //DELEGATE_UPDATER
+                    .aload(0) //DELEGATE_UPDATER, this
+                    .aconstNull() //DELEGATE_UPDATER, this, null
+                    .aload(1) //DELEGATE_UPDATER, this, null, delegate
+                    .invokevirtual(slash(AtomicReferenceFieldUpdater.class), "compareAndSet", mdesc(boolean.class, Object.class, Object.class, Object.class)) //success
+                    .ifne(published)
+                    .aload(0) //this
+                    .getfield(cb.getName(), DELEGATE_FIELD, desc(Object.class)) //this.delegate
+                    .areturn()
+                    .label(published)
+                    .aload(1) //delegate
+                    .areturn()
+                    .maxs(4, 2);
+        });
+    }
+
     private void addDefaultMethods(final ClassBuilder cb) {
         cb.method(BUILDER.opcode("ACC_PUBLIC"), "setInvocationHandler", mdesc(void.class, InvocationHandler.class), null, null, mb -> {
             mb
@@ -394,23 +1060,27 @@ public class ProxyBuilder {
                     .areturn()
                     .maxs(1, 1);
         });
-    }
-
-    private Class<ProxyMethod>[] buildProxyMethodClasses(final Method[] methods, final Method[] originalMethods) {
-        Class<ProxyMethod>[] proxyMethodClasses = new Class[methods.length];
-        for (int i = 0; i < methods.length; i++) {
-            proxyMethodClasses[i] = ProxyMethodBuilder.buildProxyMethodClass(this.proxyClass, methods[i], originalMethods[i]);
+        if (this.delegating) {
+            cb.method(BUILDER.opcode("ACC_PUBLIC"), "setDelegate", mdesc(void.class, Object.class), null, null, mb -> {
+                mb
+                        .aload(0)
+                        .aload(1)
+                        .putfield(cb.getName(), DELEGATE_FIELD, desc(Object.class))
+                        .return_()
+                        .maxs(2, 2);
+            });
+            cb.method(BUILDER.opcode("ACC_PUBLIC"), "getDelegate", mdesc(Object.class), null, null, mb -> {
+                mb
+                        .aload(0)
+                        .getfield(cb.getName(), DELEGATE_FIELD, desc(Object.class))
+                        .areturn()
+                        .maxs(1, 1);
+            });
         }
-        return proxyMethodClasses;
     }
 
     private void reset() {
         this.proxyClass = null;
     }
 
-
-    private static class Reference<T> {
-        private T value;
-    }
-
 }
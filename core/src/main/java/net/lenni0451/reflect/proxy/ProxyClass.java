@@ -1,11 +1,30 @@
 package net.lenni0451.reflect.proxy;
 
+import lombok.SneakyThrows;
 import net.lenni0451.reflect.Constructors;
+import net.lenni0451.reflect.Fields;
+import net.lenni0451.reflect.Methods;
 import net.lenni0451.reflect.Objects;
 import net.lenni0451.reflect.exceptions.ConstructorNotFoundException;
+import net.lenni0451.reflect.proxy.impl.DelegatingProxy;
+import net.lenni0451.reflect.proxy.impl.MethodMetrics;
 import net.lenni0451.reflect.proxy.impl.Proxy;
+import net.lenni0451.reflect.proxy.internal.ProxyFactoryBuilder;
 
+import javax.annotation.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static net.lenni0451.reflect.JavaBypass.TRUSTED_LOOKUP;
 
 /**
  * Represents a built proxy class.<br>
@@ -14,11 +33,32 @@ import java.lang.reflect.Constructor;
 public class ProxyClass {
 
     private final Class<?> proxyClass;
+    private final Map<List<Class<?>>, ProxyFactory> factories = new ConcurrentHashMap<>();
+    @Nullable
+    private final Supplier<?> lazySupplier;
+    @Nullable
+    private final MethodHandle initMemoCaches;
+    @Nullable
+    private final MethodHandle lazySupplierSetter;
     private InvocationHandler invocationHandler;
 
     public ProxyClass(final Class<?> proxyClass, final InvocationHandler invocationHandler) {
+        this(proxyClass, invocationHandler, null);
+    }
+
+    @SneakyThrows
+    public ProxyClass(final Class<?> proxyClass, final InvocationHandler invocationHandler, @Nullable final Supplier<?> lazySupplier) {
         this.proxyClass = proxyClass;
         this.invocationHandler = invocationHandler;
+        this.lazySupplier = lazySupplier;
+
+        //Resolve the members used by allocateInstance() once, so allocating instances stays cheap
+        Method initMemoCaches = Methods.getDeclaredMethod(proxyClass, ProxyBuilder.INIT_MEMO_CACHES_METHOD);
+        if (initMemoCaches == null) this.initMemoCaches = null;
+        else this.initMemoCaches = TRUSTED_LOOKUP.unreflect(initMemoCaches).asType(MethodType.methodType(void.class, Object.class));
+        Field lazySupplierField = lazySupplier == null ? null : Fields.getDeclaredField(proxyClass, ProxyBuilder.LAZY_SUPPLIER_FIELD);
+        if (lazySupplierField == null) this.lazySupplierSetter = null;
+        else this.lazySupplierSetter = TRUSTED_LOOKUP.unreflectSetter(lazySupplierField).asType(MethodType.methodType(void.class, Object.class, Supplier.class));
     }
 
     /**
@@ -35,6 +75,14 @@ public class ProxyClass {
         return this.invocationHandler;
     }
 
+    /**
+     * @return The supplier of the lazily created delegate which is set on all new instances or null if the proxy class is not lazy
+     */
+    @Nullable
+    public Supplier<?> getLazySupplier() {
+        return this.lazySupplier;
+    }
+
     /**
      * Sets the invocation handler for the proxy class.
      *
@@ -42,24 +90,58 @@ public class ProxyClass {
      */
     public void setInvocationHandler(final InvocationHandler invocationHandler) {
         this.invocationHandler = invocationHandler;
+        this.factories.clear();
+    }
+
+    /**
+     * Get the invocation metrics of all overridden methods.<br>
+     * The metrics are shared between all instances of the proxy class.
+     *
+     * @return The metrics of all methods or an empty array if the proxy class doesn't record metrics
+     * @see ProxyBuilder#setMetrics(boolean)
+     */
+    public MethodMetrics[] getMetrics() {
+        Field metricsField = Fields.getDeclaredField(this.proxyClass, ProxyBuilder.METRICS_FIELD);
+        if (metricsField == null) return new MethodMetrics[0];
+        MethodMetrics[] metrics = Fields.getObject(null, metricsField);
+        return metrics.clone();
     }
 
     /**
      * Allocate a new instance of the proxy class without calling a constructor.<br>
-     * The invocation handler will be set automatically.
+     * The invocation handler, the lazy supplier and the memoizing caches will be set automatically.
      *
      * @param <T> The type of the proxy class
      * @return The new instance of the proxy class
      */
+    @SneakyThrows
     public <T> T allocateInstance() {
         Object instance = Objects.allocate(this.proxyClass);
+        if (this.initMemoCaches != null) this.initMemoCaches.invokeExact(instance);
+        if (this.lazySupplierSetter != null) this.lazySupplierSetter.invokeExact(instance, this.lazySupplier);
         ((Proxy) instance).setInvocationHandler(this.invocationHandler);
         return (T) instance;
     }
 
+    /**
+     * Allocate a new instance of a delegating proxy class without calling a constructor.<br>
+     * The invocation handler and the delegate will be set automatically.
+     *
+     * @param delegate The delegate which receives all not handled method calls
+     * @param <T>      The type of the proxy class
+     * @return The new instance of the proxy class
+     * @throws IllegalStateException If the proxy class is not delegating
+     */
+    public <T> T allocateInstance(@Nullable final Object delegate) {
+        if (!DelegatingProxy.class.isAssignableFrom(this.proxyClass)) throw new IllegalStateException("The proxy class is not delegating");
+        Object instance = this.allocateInstance();
+        ((DelegatingProxy) instance).setDelegate(delegate);
+        return (T) instance;
+    }
+
     /**
      * Instantiate a new instance of the proxy class with the given constructor parameters and arguments.<br>
-     * The invocation handler will be set automatically.
+     * The invocation handler and the lazy supplier will be set automatically.
      *
      * @param constructorParameters The parameters of the constructor
      * @param constructorArguments  The arguments for the constructor
@@ -67,11 +149,28 @@ public class ProxyClass {
      * @return The new instance of the proxy class
      */
     public <T> T instantiate(final Class<?>[] constructorParameters, final Object[] constructorArguments) {
+        return this.factory(constructorParameters).newInstance(constructorArguments);
+    }
+
+    /**
+     * Get a factory for creating instances of the proxy class using the constructor with the given parameters.<br>
+     * The factory class is only generated once per proxy class and constructor and calls the constructor directly.<br>
+     * The factory uses the invocation handler which was set when the factory was created.
+     *
+     * @param constructorParameters The parameters of the constructor
+     * @return The factory for the constructor
+     * @throws ConstructorNotFoundException If the proxy class has no constructor with the given parameters
+     */
+    public ProxyFactory factory(final Class<?>... constructorParameters) {
+        InvocationHandler invocationHandler = this.invocationHandler;
+        ProxyFactory factory = this.factories.get(Arrays.asList(constructorParameters));
+        if (factory != null) return factory;
+
         Constructor<?> constructor = Constructors.getDeclaredConstructor(this.proxyClass, constructorParameters);
         if (constructor == null) throw new ConstructorNotFoundException("Proxy", constructorParameters);
-        Object instance = Constructors.invoke(constructor, constructorArguments);
-        ((Proxy) instance).setInvocationHandler(this.invocationHandler);
-        return (T) instance;
+        factory = ProxyFactoryBuilder.buildFactory(constructor, ProxyBuilder.INVOCATION_HANDLER_FIELD, invocationHandler, ProxyBuilder.LAZY_SUPPLIER_FIELD, this.lazySupplier);
+        if (invocationHandler == this.invocationHandler) this.factories.putIfAbsent(Arrays.asList(constructorParameters.clone()), factory);
+        return factory;
     }
 
 }
@@ -2,11 +2,15 @@ package net.lenni0451.reflect.proxy;
 
 import lombok.SneakyThrows;
 import net.lenni0451.reflect.ClassLoaders;
+import net.lenni0451.reflect.bytecode.cache.BytecodeCache;
+import net.lenni0451.reflect.bytecode.cache.LazyBuiltClass;
 import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
 
 import javax.annotation.Nullable;
 import java.io.File;
 import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static net.lenni0451.reflect.bytecode.BytecodeUtils.dot;
 import static net.lenni0451.reflect.bytecode.BytecodeUtils.slash;
@@ -47,6 +51,35 @@ public interface ProxyClassDefiner {
         };
     }
 
+    /**
+     * Create a new class definer that caches the generated class files in a directory.<br>
+     * Proxy classes with the same members and configuration are loaded from the cache instead of being generated again.<br>
+     * Every cache entry is only loaded once per definer, because the same class can't be defined twice in a class loader.
+     * Later builds with the same configuration generate a new class.<br>
+     * The defining of the class will be delegated to the given class definer.
+     *
+     * @param classDefiner The class definer
+     * @param cacheDir     The cache directory
+     * @return The class definer
+     */
+    static ProxyClassDefiner caching(final ProxyClassDefiner classDefiner, final File cacheDir) {
+        BytecodeCache cache = new BytecodeCache(cacheDir);
+        Set<String> loadedHashes = ConcurrentHashMap.newKeySet();
+        return (builtClass, superClass, interfaces) -> {
+            if (builtClass instanceof LazyBuiltClass && loadedHashes.add(((LazyBuiltClass) builtClass).getHash())) {
+                BuiltClass cachedClass = cache.get((LazyBuiltClass) builtClass);
+                if (cachedClass != builtClass) {
+                    try {
+                        return classDefiner.defineProxyClass(cachedClass, superClass, interfaces);
+                    } catch (LinkageError ignored) {
+                        //The cached class has already been defined by another definer using the same directory
+                    }
+                }
+            }
+            return classDefiner.defineProxyClass(builtClass, superClass, interfaces);
+        };
+    }
+
 
     /**
      * Define a built proxy class.
@@ -0,0 +1,21 @@
+package net.lenni0451.reflect.proxy;
+
+/**
+ * A generated factory for creating instances of a proxy class using a specific constructor.<br>
+ * The constructor is called directly and the invocation handler field is set without going through the {@link net.lenni0451.reflect.proxy.impl.Proxy} interface.
+ *
+ * @see ProxyClass#factory(Class[])
+ */
+public interface ProxyFactory {
+
+    /**
+     * Create a new instance of the proxy class.<br>
+     * The arguments must match the constructor parameters of the factory. Primitive arguments have to be passed boxed.
+     *
+     * @param args The constructor arguments
+     * @param <T>  The type of the proxy class
+     * @return The new instance of the proxy class
+     */
+    <T> T newInstance(final Object... args);
+
+}
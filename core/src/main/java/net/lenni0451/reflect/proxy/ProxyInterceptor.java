@@ -0,0 +1,64 @@
+package net.lenni0451.reflect.proxy;
+
+import net.lenni0451.reflect.proxy.impl.ProxyMethod;
+
+import javax.annotation.Nullable;
+
+/**
+ * An interceptor which is called around the invocation handler of a proxy method.<br>
+ * The calls to all interceptors are compiled directly into the proxy methods.
+ * Only the overridden methods of an interceptor are called.<br>
+ * The {@code before} methods are called in the order the interceptors were added,
+ * {@link #after(Object, ProxyMethod, Object)} and {@link #afterThrowing(Object, ProxyMethod, Throwable)} in reverse order.<br>
+ * Around advice is implemented using the {@link InvocationHandler}.
+ */
+public interface ProxyInterceptor {
+
+    /**
+     * Called before the invocation handler is invoked.<br>
+     * Override this method instead of {@link #before(Object, ProxyMethod, Object[])} if the arguments are not needed,
+     * so no argument array has to be created for the call.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     */
+    default void before(final Object thiz, final ProxyMethod proxyMethod) {
+    }
+
+    /**
+     * Called before the invocation handler is invoked.<br>
+     * Modifications of the argument array are not passed to the invocation handler.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param args        The arguments of the method call
+     */
+    default void before(final Object thiz, final ProxyMethod proxyMethod, final Object[] args) {
+    }
+
+    /**
+     * Called after the invocation handler returned.<br>
+     * Primitive return values are boxed and have to be returned as the same type.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param result      The result of the method call
+     * @return The new result of the method call
+     */
+    @Nullable
+    default Object after(final Object thiz, final ProxyMethod proxyMethod, @Nullable final Object result) {
+        return result;
+    }
+
+    /**
+     * Called after the invocation handler threw an exception.<br>
+     * The exception is rethrown after all interceptors have been called.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param throwable   The thrown exception
+     */
+    default void afterThrowing(final Object thiz, final ProxyMethod proxyMethod, final Throwable throwable) {
+    }
+
+}
@@ -0,0 +1,14 @@
+package net.lenni0451.reflect.proxy.impl;
+
+/**
+ * This class contains methods which need to be replaced by other implementations for newer JDKs.
+ */
+class BatchQueue$MR {
+
+    public static Thread newWorker(final String name, final Runnable runnable) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+}
@@ -0,0 +1,183 @@
+package net.lenni0451.reflect.proxy.impl;
+
+import net.lenni0451.reflect.proxy.BatchHandler;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A write-behind queue for the void methods of a batching proxy.<br>
+ * Calls are queued without locking and delivered to the {@link BatchHandler} by a background worker.
+ * A batch is delivered when the maximum batch size is reached or the flush latency has passed.<br>
+ * The worker is a virtual thread on Java 21+ and a daemon thread on older versions.
+ */
+public class BatchQueue implements AutoCloseable {
+
+    private final BatchHandler batchHandler;
+    private final int maxBatchSize;
+    private final long flushLatency;
+    private final Queue<Invocation> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Lock drainLock = new ReentrantLock(); //Not synchronized to avoid pinning the virtual worker thread while the handler runs
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * @param batchHandler The handler which receives the batches
+     * @param maxBatchSize The maximum amount of calls in a batch
+     * @param flushLatency The maximum time a call is queued before it is delivered
+     * @param unit         The time unit of the flush latency
+     */
+    public BatchQueue(@Nonnull final BatchHandler batchHandler, final int maxBatchSize, final long flushLatency, @Nonnull final TimeUnit unit) {
+        if (maxBatchSize <= 0) throw new IllegalArgumentException("The max batch size must be positive");
+        if (flushLatency <= 0) throw new IllegalArgumentException("The flush latency must be positive");
+
+        this.batchHandler = batchHandler;
+        this.maxBatchSize = maxBatchSize;
+        this.flushLatency = unit.toNanos(flushLatency);
+        this.worker = BatchQueue$MR.newWorker("Reflect BatchQueue Worker", this::work);
+        this.worker.start();
+    }
+
+    /**
+     * @return The maximum amount of calls in a batch
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * @return The maximum time a call is queued before it is delivered in nanoseconds
+     */
+    public long getFlushLatency() {
+        return this.flushLatency;
+    }
+
+    /**
+     * @return The amount of queued calls
+     */
+    public int size() {
+        return this.size.get();
+    }
+
+    /**
+     * Queue a call.<br>
+     * This method is called by the generated proxy methods.
+     *
+     * @param thiz        The instance of the proxy
+     * @param proxyMethod The proxy method which was invoked
+     * @param args        The arguments of the method call
+     */
+    public void submit(final Object thiz, final ProxyMethod proxyMethod, final Object[] args) {
+        if (!this.running) throw new IllegalStateException("The batch queue is closed");
+        this.queue.offer(new Invocation(thiz, proxyMethod, args));
+        if (this.size.incrementAndGet() == this.maxBatchSize) LockSupport.unpark(this.worker);
+        if (!this.running) this.drain(); //The queue was closed concurrently and the last drain might have missed this call
+    }
+
+    /**
+     * Deliver all queued calls on the current thread.
+     */
+    public void flush() {
+        this.drain();
+    }
+
+    /**
+     * Stop the worker after all queued calls have been delivered.<br>
+     * Calls queued after closing are rejected, calls queued while closing are delivered by the submitting thread.<br>
+     * If the queue is closed by the batch handler on the worker thread, the remaining calls are delivered directly.
+     *
+     * @throws InterruptedException If the current thread was interrupted while waiting for the worker
+     */
+    @Override
+    public void close() throws InterruptedException {
+        this.running = false;
+        if (Thread.currentThread() != this.worker) {
+            LockSupport.unpark(this.worker);
+            this.worker.join();
+        }
+        this.drain();
+    }
+
+    private void work() {
+        while (this.running) {
+            if (this.size.get() < this.maxBatchSize) LockSupport.parkNanos(this, this.flushLatency);
+            this.drain();
+        }
+    }
+
+    private void drain() {
+        this.drainLock.lock();
+        try {
+            while (true) {
+                List<Invocation> batch = new ArrayList<>(Math.min(this.maxBatchSize, Math.max(1, this.size.get())));
+                Invocation invocation;
+                while (batch.size() < this.maxBatchSize && (invocation = this.queue.poll()) != null) {
+                    this.size.decrementAndGet();
+                    batch.add(invocation);
+                }
+                if (batch.isEmpty()) return;
+                try {
+                    this.batchHandler.handleBatch(batch);
+                } catch (Throwable t) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                }
+            }
+        } finally {
+            this.drainLock.unlock();
+        }
+    }
+
+
+    /**
+     * A queued call of a proxy method.
+     */
+    public static final class Invocation {
+        private final Object thiz;
+        private final ProxyMethod proxyMethod;
+        private final Object[] args;
+
+        private Invocation(final Object thiz, final ProxyMethod proxyMethod, final Object[] args) {
+            this.thiz = thiz;
+            this.proxyMethod = proxyMethod;
+            this.args = args;
+        }
+
+        /**
+         * @return The instance of the proxy
+         */
+        public Object getThis() {
+            return this.thiz;
+        }
+
+        /**
+         * @return The proxy method which was invoked
+         */
+        public ProxyMethod getProxyMethod() {
+            return this.proxyMethod;
+        }
+
+        /**
+         * @return The arguments of the method call
+         */
+        public Object[] getArgs() {
+            return this.args;
+        }
+
+        @Override
+        public String toString() {
+            return "Invocation{method=" + this.proxyMethod.getInvokedMethod().getName() + ", args=" + Arrays.toString(this.args) + "}";
+        }
+    }
+
+}
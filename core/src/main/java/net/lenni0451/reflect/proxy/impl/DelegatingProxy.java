@@ -0,0 +1,23 @@
+package net.lenni0451.reflect.proxy.impl;
+
+import javax.annotation.Nullable;
+
+/**
+ * Represents a proxy class which forwards all not handled methods to a delegate.
+ */
+public interface DelegatingProxy extends Proxy {
+
+    /**
+     * Set the delegate which receives all not handled method calls.
+     *
+     * @param delegate The delegate
+     */
+    void setDelegate(@Nullable final Object delegate);
+
+    /**
+     * @return The current delegate
+     */
+    @Nullable
+    Object getDelegate();
+
+}
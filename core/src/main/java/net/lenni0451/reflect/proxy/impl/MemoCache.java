@@ -0,0 +1,300 @@
+package net.lenni0451.reflect.proxy.impl;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded thread safe cache for the results of a memoized proxy method.<br>
+ * Cached results are read without locking. When the maximum size is exceeded, the oldest stored entries are evicted first.
+ * Entries expire after the time to live has passed since they were stored.<br>
+ * The static {@code key} methods are used by the generated proxy methods to create the cache keys.
+ * Single arguments are used as the key directly, single primitive arguments use a primitive key without boxing.
+ */
+public class MemoCache {
+
+    private static final Object NULL = new Object();
+    private static final Object EMPTY_KEY = new Object();
+
+    private final int maxSize;
+    private final long ttl;
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger insertionOrderSize = new AtomicInteger();
+
+    /**
+     * @param maxSize The maximum amount of cached results
+     * @param ttl     The time to live of a cached result in nanoseconds or {@code 0} if results never expire
+     */
+    public MemoCache(final int maxSize, final long ttl) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Get a cached result.<br>
+     * Cached {@code null} results are returned as a marker object which has to be passed to {@link #unwrap(Object)}.
+     *
+     * @param key The key of the arguments
+     * @return The cached result or null if there is no valid cached result
+     */
+    @Nullable
+    public Object get(final Object key) {
+        Entry entry = this.entries.get(key);
+        if (entry == null) return null;
+        if (this.ttl > 0 && System.nanoTime() - entry.time > this.ttl) {
+            this.entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Store a result in the cache.
+     *
+     * @param key   The key of the arguments
+     * @param value The result
+     * @return The given result
+     */
+    @Nullable
+    public Object put(final Object key, @Nullable final Object value) {
+        Entry entry = new Entry(key, value == null ? NULL : value, System.nanoTime());
+        this.entries.put(key, entry);
+        this.insertionOrder.offer(entry);
+        int queued = this.insertionOrderSize.incrementAndGet();
+        while (this.entries.size() > this.maxSize) {
+            Entry oldest = this.insertionOrder.poll();
+            if (oldest == null) break;
+            this.insertionOrderSize.decrementAndGet();
+            this.entries.remove(oldest.key, oldest); //Replaced entries are skipped
+        }
+        if (queued > this.maxSize * 2 + 16) this.compact();
+        return value;
+    }
+
+    /**
+     * @return The amount of cached results
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Remove all cached results.
+     */
+    public void clear() {
+        this.entries.clear();
+        this.insertionOrder.clear();
+        this.insertionOrderSize.set(0);
+    }
+
+    private void compact() {
+        //Remove the entries of replaced and expired results which are still queued
+        Iterator<Entry> it = this.insertionOrder.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (this.entries.get(entry.key) != entry) {
+                it.remove();
+                this.insertionOrderSize.decrementAndGet();
+            }
+        }
+    }
+
+
+    /**
+     * Unwrap a value returned by {@link #get(Object)}.
+     *
+     * @param value The cached value
+     * @return The actual result
+     */
+    @Nullable
+    public static Object unwrap(final Object value) {
+        return value == NULL ? null : value;
+    }
+
+    public static Object key() {
+        return EMPTY_KEY;
+    }
+
+    public static Object key(@Nullable final Object arg0) {
+        return arg0 == null ? NULL : arg0;
+    }
+
+    public static Object key(final boolean arg0) {
+        return new PrimitiveKey(arg0 ? 1 : 0);
+    }
+
+    public static Object key(final byte arg0) {
+        return new PrimitiveKey(arg0);
+    }
+
+    public static Object key(final short arg0) {
+        return new PrimitiveKey(arg0);
+    }
+
+    public static Object key(final char arg0) {
+        return new PrimitiveKey(arg0);
+    }
+
+    public static Object key(final int arg0) {
+        return new PrimitiveKey(arg0);
+    }
+
+    public static Object key(final long arg0) {
+        return new PrimitiveKey(arg0);
+    }
+
+    public static Object key(final float arg0) {
+        return new PrimitiveKey(Float.floatToIntBits(arg0));
+    }
+
+    public static Object key(final double arg0) {
+        return new PrimitiveKey(Double.doubleToLongBits(arg0));
+    }
+
+    public static Object key(@Nullable final Object arg0, @Nullable final Object arg1) {
+        return new Key2(arg0, arg1);
+    }
+
+    public static Object key(@Nullable final Object arg0, @Nullable final Object arg1, @Nullable final Object arg2) {
+        return new Key3(arg0, arg1, arg2);
+    }
+
+    public static Object key(@Nullable final Object arg0, @Nullable final Object arg1, @Nullable final Object arg2, @Nullable final Object arg3) {
+        return new Key4(arg0, arg1, arg2, arg3);
+    }
+
+    public static Object key(final Object[] args) {
+        return new ArrayKey(args);
+    }
+
+
+    private static class Entry {
+        private final Object key;
+        private final Object value;
+        private final long time;
+
+        private Entry(final Object key, final Object value, final long time) {
+            this.key = key;
+            this.value = value;
+            this.time = time;
+        }
+    }
+
+    private static final class PrimitiveKey {
+        private final long value;
+
+        private PrimitiveKey(final long value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof PrimitiveKey && ((PrimitiveKey) o).value == this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.value);
+        }
+    }
+
+    private static final class Key2 {
+        private final Object arg0;
+        private final Object arg1;
+
+        private Key2(final Object arg0, final Object arg1) {
+            this.arg0 = arg0;
+            this.arg1 = arg1;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key2)) return false;
+            Key2 key = (Key2) o;
+            return Objects.equals(this.arg0, key.arg0) && Objects.equals(this.arg1, key.arg1);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(this.arg0) + Objects.hashCode(this.arg1);
+        }
+    }
+
+    private static final class Key3 {
+        private final Object arg0;
+        private final Object arg1;
+        private final Object arg2;
+
+        private Key3(final Object arg0, final Object arg1, final Object arg2) {
+            this.arg0 = arg0;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key3)) return false;
+            Key3 key = (Key3) o;
+            return Objects.equals(this.arg0, key.arg0) && Objects.equals(this.arg1, key.arg1) && Objects.equals(this.arg2, key.arg2);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Objects.hashCode(this.arg0) + Objects.hashCode(this.arg1)) + Objects.hashCode(this.arg2);
+        }
+    }
+
+    private static final class Key4 {
+        private final Object arg0;
+        private final Object arg1;
+        private final Object arg2;
+        private final Object arg3;
+
+        private Key4(final Object arg0, final Object arg1, final Object arg2, final Object arg3) {
+            this.arg0 = arg0;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+            this.arg3 = arg3;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key4)) return false;
+            Key4 key = (Key4) o;
+            return Objects.equals(this.arg0, key.arg0) && Objects.equals(this.arg1, key.arg1) && Objects.equals(this.arg2, key.arg2) && Objects.equals(this.arg3, key.arg3);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * Objects.hashCode(this.arg0) + Objects.hashCode(this.arg1)) + Objects.hashCode(this.arg2)) + Objects.hashCode(this.arg3);
+        }
+    }
+
+    private static final class ArrayKey {
+        private final Object[] args;
+        private final int hashCode;
+
+        private ArrayKey(final Object[] args) {
+            this.args = args;
+            this.hashCode = Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof ArrayKey && Arrays.equals(this.args, ((ArrayKey) o).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+}
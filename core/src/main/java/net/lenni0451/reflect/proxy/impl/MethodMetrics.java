@@ -0,0 +1,129 @@
+package net.lenni0451.reflect.proxy.impl;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The invocation metrics of a single proxy method.<br>
+ * All counters are updated without locking and can be read while the method is being invoked.<br>
+ * The latency histogram uses power of two buckets. Bucket {@code i} counts the calls which took less than {@code 2^i} nanoseconds.
+ */
+public class MethodMetrics {
+
+    /**
+     * The amount of buckets in the latency histogram.
+     */
+    public static final int BUCKET_COUNT = 64;
+
+    private final Method method;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] histogram = new LongAdder[BUCKET_COUNT];
+
+    public MethodMetrics(final Method method) {
+        this.method = method;
+        for (int i = 0; i < this.histogram.length; i++) this.histogram[i] = new LongAdder();
+    }
+
+    /**
+     * @return The proxied method
+     */
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * @return The amount of calls
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return The amount of calls which threw an exception
+     */
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return The total time spent in the method in nanoseconds
+     */
+    public long getTotalTime() {
+        return this.totalTime.sum();
+    }
+
+    /**
+     * @return The average time spent in the method in nanoseconds
+     */
+    public double getAverageTime() {
+        long count = this.count.sum();
+        if (count == 0) return 0;
+        return (double) this.totalTime.sum() / count;
+    }
+
+    /**
+     * @return The longest time spent in the method in nanoseconds
+     */
+    public long getMaxTime() {
+        return this.maxTime.get();
+    }
+
+    /**
+     * Get a snapshot of the latency histogram.<br>
+     * The value at index {@code i} is the amount of calls which took between {@code 2^(i-1)} (inclusive) and {@code 2^i} (exclusive) nanoseconds.
+     *
+     * @return The latency histogram
+     */
+    public long[] getHistogram() {
+        long[] histogram = new long[this.histogram.length];
+        for (int i = 0; i < histogram.length; i++) histogram[i] = this.histogram[i].sum();
+        return histogram;
+    }
+
+    /**
+     * Reset all counters.<br>
+     * Calls which are recorded while resetting may be partially lost.
+     */
+    public void reset() {
+        this.count.reset();
+        this.failures.reset();
+        this.totalTime.reset();
+        this.maxTime.reset();
+        for (LongAdder bucket : this.histogram) bucket.reset();
+    }
+
+    /**
+     * Record a successful call.<br>
+     * This method is called by the generated proxy methods.
+     *
+     * @param startTime The {@link System#nanoTime()} when the call started
+     */
+    public void record(final long startTime) {
+        long time = Math.max(0, System.nanoTime() - startTime);
+        this.count.increment();
+        this.totalTime.add(time);
+        this.maxTime.accumulate(time);
+        this.histogram[Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(time))].increment();
+    }
+
+    /**
+     * Record a call which threw an exception.<br>
+     * This method is called by the generated proxy methods.
+     *
+     * @param startTime The {@link System#nanoTime()} when the call started
+     */
+    public void recordFailure(final long startTime) {
+        this.failures.increment();
+        this.record(startTime);
+    }
+
+    @Override
+    public String toString() {
+        return "MethodMetrics{method=" + this.method + ", count=" + this.getCount() + ", failures=" + this.getFailures() + ", averageTime=" + this.getAverageTime() + ", maxTime=" + this.getMaxTime() + "}";
+    }
+
+}
@@ -3,8 +3,10 @@ package net.lenni0451.reflect.proxy.impl;
 import java.lang.reflect.Method;
 
 /**
- * Represents a proxied method call.<br>
- * The original call can be forwarded to the super class, forwarded to another instance or cancelled.
+ * Represents a proxied method.<br>
+ * Proxy methods are shared by all instances of a proxy class, so the instance of the proxy has to be passed to every call.<br>
+ * The original call can be forwarded to the super class, forwarded to another instance or cancelled.<br>
+ * The arity and primitive specialized invoke methods don't allocate an argument array if they match the proxied method.
  */
 public interface ProxyMethod {
 
@@ -22,14 +24,337 @@ public interface ProxyMethod {
      */
     Object invokeWith(final Object instance, final Object... args);
 
+    /**
+     * Invoke the proxied method with the given instance and without arguments.
+     *
+     * @param instance The instance to invoke the method on
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance) {
+        return this.invokeWith(instance, ProxyRuntime.EMPTY_ARGS);
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and one argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The first argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final Object arg0) {
+        return this.invokeWith(instance, new Object[]{arg0});
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and two arguments.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The first argument
+     * @param arg1     The second argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final Object arg0, final Object arg1) {
+        return this.invokeWith(instance, new Object[]{arg0, arg1});
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and three arguments.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The first argument
+     * @param arg1     The second argument
+     * @param arg2     The third argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final Object arg0, final Object arg1, final Object arg2) {
+        return this.invokeWith(instance, new Object[]{arg0, arg1, arg2});
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and four arguments.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The first argument
+     * @param arg1     The second argument
+     * @param arg2     The third argument
+     * @param arg3     The fourth argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final Object arg0, final Object arg1, final Object arg2, final Object arg3) {
+        return this.invokeWith(instance, new Object[]{arg0, arg1, arg2, arg3});
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and a single {@code boolean} argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final boolean arg0) {
+        return this.invokeWith(instance, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and a single {@code byte} argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final byte arg0) {
+        return this.invokeWith(instance, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and a single {@code short} argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final short arg0) {
+        return this.invokeWith(instance, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and a single {@code char} argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final char arg0) {
+        return this.invokeWith(instance, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and a single {@code int} argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final int arg0) {
+        return this.invokeWith(instance, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and a single {@code long} argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final long arg0) {
+        return this.invokeWith(instance, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and a single {@code float} argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final float arg0) {
+        return this.invokeWith(instance, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method with the given instance and a single {@code double} argument.
+     *
+     * @param instance The instance to invoke the method on
+     * @param arg0     The argument
+     * @return The result of the method call
+     * @see #invokeWith(Object, Object...)
+     */
+    default Object invokeWith(final Object instance, final double arg0) {
+        return this.invokeWith(instance, (Object) arg0);
+    }
+
     /**
      * Invoke the proxied method on the proxy super class with the given arguments.<br>
      * This will not work if the super method is abstract.
      *
+     * @param thiz The instance of the proxy
      * @param args The arguments to pass to the method
      * @return The result of the method call
      */
-    Object invokeSuper(final Object... args);
+    Object invokeSuperWith(final Object thiz, final Object... args);
+
+    /**
+     * Invoke the proxied method on the proxy super class without arguments.
+     *
+     * @param thiz The instance of the proxy
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz) {
+        return this.invokeSuperWith(thiz, ProxyRuntime.EMPTY_ARGS);
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with one argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The first argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final Object arg0) {
+        return this.invokeSuperWith(thiz, new Object[]{arg0});
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with two arguments.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The first argument
+     * @param arg1 The second argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final Object arg0, final Object arg1) {
+        return this.invokeSuperWith(thiz, new Object[]{arg0, arg1});
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with three arguments.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The first argument
+     * @param arg1 The second argument
+     * @param arg2 The third argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final Object arg0, final Object arg1, final Object arg2) {
+        return this.invokeSuperWith(thiz, new Object[]{arg0, arg1, arg2});
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with four arguments.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The first argument
+     * @param arg1 The second argument
+     * @param arg2 The third argument
+     * @param arg3 The fourth argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final Object arg0, final Object arg1, final Object arg2, final Object arg3) {
+        return this.invokeSuperWith(thiz, new Object[]{arg0, arg1, arg2, arg3});
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with a single {@code boolean} argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final boolean arg0) {
+        return this.invokeSuperWith(thiz, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with a single {@code byte} argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final byte arg0) {
+        return this.invokeSuperWith(thiz, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with a single {@code short} argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final short arg0) {
+        return this.invokeSuperWith(thiz, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with a single {@code char} argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final char arg0) {
+        return this.invokeSuperWith(thiz, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with a single {@code int} argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final int arg0) {
+        return this.invokeSuperWith(thiz, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with a single {@code long} argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final long arg0) {
+        return this.invokeSuperWith(thiz, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with a single {@code float} argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final float arg0) {
+        return this.invokeSuperWith(thiz, (Object) arg0);
+    }
+
+    /**
+     * Invoke the proxied method on the proxy super class with a single {@code double} argument.
+     *
+     * @param thiz The instance of the proxy
+     * @param arg0 The argument
+     * @return The result of the method call
+     * @see #invokeSuperWith(Object, Object...)
+     */
+    default Object invokeSuperWith(final Object thiz, final double arg0) {
+        return this.invokeSuperWith(thiz, (Object) arg0);
+    }
 
     /**
      * Get the default return value of the method.<br>
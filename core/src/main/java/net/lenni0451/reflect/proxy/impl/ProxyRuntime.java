@@ -4,8 +4,6 @@ import org.jetbrains.annotations.ApiStatus;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodType;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import static net.lenni0451.reflect.JavaBypass.TRUSTED_LOOKUP;
@@ -17,43 +15,35 @@ import static net.lenni0451.reflect.JavaBypass.TRUSTED_LOOKUP;
 public class ProxyRuntime {
 
     /**
-     * Invoked in the static initializer of the proxy method class.<br>
-     * This will get the required method handles for the method.
-     *
-     * @param owner      The owner of the method
-     * @param name       The name of the method
-     * @param parameters The parameter types of the method
-     * @param returnType The return type of the method
-     * @return The method handles for the method
-     * @throws NoSuchMethodException  If the method does not exist
-     * @throws IllegalAccessException If the method is not accessible
+     * An empty argument array shared by all proxy methods without arguments.
      */
-    public static MethodHandle[] getMethodHandles(final Class<?> owner, final Class<?> superOwner, final String name, final Class<?>[] parameters, final Class<?> returnType) throws NoSuchMethodException, IllegalAccessException {
-        MethodHandle[] methodHandles = new MethodHandle[2];
-        methodHandles[0] = TRUSTED_LOOKUP.findVirtual(owner, name, MethodType.methodType(returnType, parameters));
-        try {
-            methodHandles[1] = TRUSTED_LOOKUP.findSpecial(superOwner, name, MethodType.methodType(returnType, parameters), superOwner);
-        } catch (Throwable ignored) {
-        }
-        return methodHandles;
-    }
+    public static final Object[] EMPTY_ARGS = new Object[0];
 
     /**
-     * Invoked in the proxy methods.
+     * Invoked when building the proxy methods of a proxy class.<br>
+     * This will get the required method handles for all methods in one batch.<br>
+     * The handles are stored as pairs of the handle for invoking other instances and the handle for invoking the super method.
+     * The super handle is {@code null} if the super method can't be invoked.
      *
-     * @param clazz    The class of the proxy method to instantiate
-     * @param instance The instance of the proxy
-     * @param method   The method to proxy
-     * @return The instantiated proxy method
-     * @throws NoSuchMethodException     If the constructor does not exist
-     * @throws InvocationTargetException If the constructor throws an exception
-     * @throws InstantiationException    If the class is abstract
-     * @throws IllegalAccessException    If the constructor is not accessible
+     * @param methods         The proxied methods
+     * @param originalMethods The original methods of mapped methods or {@code null} for unmapped methods
+     * @return The method handles for all methods
+     * @throws NoSuchMethodException  If a method does not exist
+     * @throws IllegalAccessException If a method is not accessible
      */
-    public static ProxyMethod instantiateProxyMethod(final Class<ProxyMethod> clazz, final Object instance, final Method method) throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<?> constructor = clazz.getDeclaredConstructor(instance.getClass(), Method.class);
-        constructor.setAccessible(true);
-        return (ProxyMethod) constructor.newInstance(instance, method);
+    public static MethodHandle[] getMethodHandles(final Method[] methods, final Method[] originalMethods) throws NoSuchMethodException, IllegalAccessException {
+        MethodHandle[] methodHandles = new MethodHandle[methods.length * 2];
+        for (int i = 0; i < methods.length; i++) {
+            Method method = methods[i];
+            Class<?> superOwner = originalMethods[i] == null ? method.getDeclaringClass() : originalMethods[i].getDeclaringClass();
+            MethodType methodType = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+            methodHandles[i * 2] = TRUSTED_LOOKUP.findVirtual(method.getDeclaringClass(), method.getName(), methodType);
+            try {
+                methodHandles[i * 2 + 1] = TRUSTED_LOOKUP.findSpecial(superOwner, method.getName(), methodType, superOwner);
+            } catch (Throwable ignored) {
+            }
+        }
+        return methodHandles;
     }
 
 }
@@ -0,0 +1,161 @@
+package net.lenni0451.reflect.proxy.internal;
+
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.ApiStatus;
+
+import javax.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * A cache for already built proxy classes.<br>
+ * Classes and class definers are only weakly referenced, so they can still be unloaded.<br>
+ * Parallel builds of the same configuration will wait for the first build to finish.
+ */
+@ApiStatus.Internal
+public class ProxyCache {
+
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+    private static final Map<Key, Entry> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Get a cached proxy class or build it if it is not cached yet.
+     *
+     * @param key     The cache key
+     * @param builder The builder for the proxy class
+     * @return The cached or built proxy class
+     */
+    public static Class<?> get(final Key key, final Supplier<Class<?>> builder) {
+        expungeStaleEntries();
+        while (true) {
+            Entry entry = CACHE.get(key);
+            if (entry == null) {
+                Entry newEntry = new Entry(builder);
+                entry = CACHE.putIfAbsent(key, newEntry);
+                if (entry == null) return newEntry.build(key);
+            }
+
+            Class<?> clazz = entry.await();
+            if (clazz != null) return clazz;
+            CACHE.remove(key, entry); //The proxy class has been unloaded
+        }
+    }
+
+    /**
+     * @return The amount of cached proxy classes
+     */
+    public static int size() {
+        expungeStaleEntries();
+        return CACHE.size();
+    }
+
+    private static void expungeStaleEntries() {
+        Reference<?> reference;
+        while ((reference = QUEUE.poll()) != null) {
+            CACHE.remove(((KeyReference) reference).key);
+        }
+    }
+
+
+    /**
+     * The key for a cached proxy class.<br>
+     * All weak parts are compared by identity, all other parts are compared using {@link Object#equals(Object)}.
+     */
+    public static class Key {
+        private final KeyReference[] weakParts;
+        private final Object[] parts;
+        private final int hashCode;
+
+        public Key(final Object[] weakParts, final Object... parts) {
+            this.weakParts = new KeyReference[weakParts.length];
+            int hashCode = 1;
+            for (int i = 0; i < weakParts.length; i++) {
+                Object weakPart = weakParts[i];
+                if (weakPart != null) this.weakParts[i] = new KeyReference(weakPart, this);
+                hashCode = 31 * hashCode + System.identityHashCode(weakPart);
+            }
+            this.parts = parts;
+            this.hashCode = 31 * hashCode + Arrays.hashCode(parts);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            if (this.hashCode != key.hashCode) return false;
+            if (this.weakParts.length != key.weakParts.length) return false;
+            for (int i = 0; i < this.weakParts.length; i++) {
+                Object part = this.weakParts[i] == null ? null : this.weakParts[i].get();
+                Object otherPart = key.weakParts[i] == null ? null : key.weakParts[i].get();
+                if (part != otherPart) return false;
+                if (part == null && (this.weakParts[i] != null || key.weakParts[i] != null)) return false; //One of the parts has been collected
+            }
+            return Arrays.equals(this.parts, key.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static class KeyReference extends WeakReference<Object> {
+        private final Key key;
+
+        private KeyReference(final Object referent, final Key key) {
+            super(referent, QUEUE);
+            this.key = key;
+        }
+    }
+
+    private static class Entry {
+        @Nullable
+        private volatile FutureTask<Class<?>> task;
+        @Nullable
+        private volatile WeakReference<Class<?>> clazz;
+
+        private Entry(final Supplier<Class<?>> builder) {
+            this.task = new FutureTask<>(builder::get);
+        }
+
+        @SneakyThrows
+        private Class<?> build(final Key key) {
+            FutureTask<Class<?>> task = Objects.requireNonNull(this.task);
+            task.run();
+            try {
+                Class<?> clazz = task.get();
+                this.clazz = new WeakReference<>(clazz);
+                this.task = null;
+                return clazz;
+            } catch (ExecutionException e) {
+                CACHE.remove(key, this);
+                throw e.getCause();
+            }
+        }
+
+        @Nullable
+        @SneakyThrows
+        private Class<?> await() {
+            FutureTask<Class<?>> task = this.task;
+            if (task != null) {
+                try {
+                    return task.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+            WeakReference<Class<?>> clazz = this.clazz;
+            return clazz == null ? null : clazz.get();
+        }
+    }
+
+}
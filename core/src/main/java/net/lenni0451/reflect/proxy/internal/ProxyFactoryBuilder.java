@@ -0,0 +1,99 @@
+package net.lenni0451.reflect.proxy.internal;
+
+import net.lenni0451.reflect.Constructors;
+import net.lenni0451.reflect.Fields;
+import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
+import net.lenni0451.reflect.bytecode.builder.ComputeMode;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import net.lenni0451.reflect.proxy.InvocationHandler;
+import net.lenni0451.reflect.proxy.ProxyFactory;
+import org.jetbrains.annotations.ApiStatus;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static net.lenni0451.reflect.bytecode.BytecodeUtils.*;
+
+/**
+ * A builder for creating the {@link ProxyFactory} implementations.<br>
+ * The factory is defined as a nestmate of the proxy class, so it can directly set the private invocation handler field.<br>
+ * Factory classes are only defined once per proxy class and constructor and are cached next to the proxy class.
+ */
+@ApiStatus.Internal
+public class ProxyFactoryBuilder {
+
+    private static final BytecodeBuilder BUILDER = BytecodeBuilder.get();
+    private static final ClassValue<Map<List<Class<?>>, Constructor<?>>> FACTORY_CONSTRUCTORS = new ClassValue<Map<List<Class<?>>, Constructor<?>>>() {
+        @Override
+        protected Map<List<Class<?>>, Constructor<?>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public static ProxyFactory buildFactory(final Constructor<?> constructor, final String invocationHandlerField, final InvocationHandler invocationHandler, final String lazySupplierField, @Nullable final Supplier<?> lazySupplier) {
+        Map<List<Class<?>>, Constructor<?>> factoryConstructors = FACTORY_CONSTRUCTORS.get(constructor.getDeclaringClass());
+        Constructor<?> factoryConstructor = factoryConstructors.computeIfAbsent(Arrays.asList(constructor.getParameterTypes()), parameters -> defineFactory(constructor, invocationHandlerField, lazySupplierField));
+        return (ProxyFactory) Constructors.invoke(factoryConstructor, invocationHandler, lazySupplier);
+    }
+
+    private static Constructor<?> defineFactory(final Constructor<?> constructor, final String invocationHandlerField, final String lazySupplierField) {
+        Class<?> proxyClass = constructor.getDeclaringClass();
+        Class<?>[] parameters = constructor.getParameterTypes();
+        boolean lazy = Fields.getDeclaredField(proxyClass, lazySupplierField) != null;
+        BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_SUPER", "ACC_FINAL", "ACC_SYNTHETIC"), slash(proxyClass) + "$ProxyFactory", null, slash(Object.class), new String[]{slash(ProxyFactory.class)}, ComputeMode.MAXS, cb -> {
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_FINAL"), "invocationHandler", desc(InvocationHandler.class), null, null);
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_FINAL"), "lazySupplier", desc(Supplier.class), null, null);
+
+            cb.method(BUILDER.opcode("ACC_PUBLIC"), "<init>", mdesc(void.class, InvocationHandler.class, Supplier.class), null, null, mb -> mb
+                    .aload(0)
+                    .invokespecial(slash(Object.class), "<init>", mdesc(void.class), false)
+                    .aload(0)
+                    .aload(1)
+                    .putfield(cb.getName(), "invocationHandler", desc(InvocationHandler.class))
+                    .aload(0)
+                    .aload(2)
+                    .putfield(cb.getName(), "lazySupplier", desc(Supplier.class))
+                    .return_()
+                    .maxs(2, 3)
+            );
+            cb.method(BUILDER.opcode("ACC_PUBLIC", "ACC_VARARGS"), "newInstance", mdesc(Object.class, Object[].class), null, null, mb -> {
+                mb
+                        .new_(slash(proxyClass)) //proxy
+                        .dup(); //proxy, proxy
+                for (int i = 0; i < parameters.length; i++) {
+                    mb
+                            .aload(1) //proxy, proxy, ..., args
+                            .intPush(i) //proxy, proxy, ..., args, index
+                            .aaload() //proxy, proxy, ..., arg
+                            .checkcast(slash(boxed(parameters[i]))) //proxy, proxy, ..., arg
+                            .unbox(parameters[i]); //proxy, proxy, ..., arg
+                }
+                mb
+                        .invokespecial(slash(proxyClass), "<init>", mdesc(void.class, parameters), false) //proxy
+                        .dup() //proxy, proxy
+                        .aload(0) //proxy, proxy, this
+                        .getfield(cb.getName(), "invocationHandler", desc(InvocationHandler.class)) //proxy, proxy, invocationHandler
+                        .putfield(slash(proxyClass), invocationHandlerField, desc(InvocationHandler.class)); //proxy
+                if (lazy) {
+                    mb
+                            .dup() //proxy, proxy
+                            .aload(0) //proxy, proxy, this
+                            .getfield(cb.getName(), "lazySupplier", desc(Supplier.class)) //proxy, proxy, lazySupplier
+                            .putfield(slash(proxyClass), lazySupplierField, desc(Supplier.class)); //proxy
+                }
+                mb
+                        .areturn()
+                        .maxs(parameters.length * 2 + 2, 2);
+            });
+        });
+
+        Class<?> factoryClass = builtClass.defineMetafactory(proxyClass, false); //Kept alive by the cache of the proxy class
+        return Constructors.getDeclaredConstructor(factoryClass, InvocationHandler.class, Supplier.class);
+    }
+
+}
@@ -1,7 +1,11 @@
 package net.lenni0451.reflect.proxy.internal;
 
+import lombok.SneakyThrows;
+import net.lenni0451.reflect.Constructors;
+import net.lenni0451.reflect.Fields;
 import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
 import net.lenni0451.reflect.bytecode.builder.ClassBuilder;
+import net.lenni0451.reflect.bytecode.builder.MethodBuilder;
 import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeLabel;
 import net.lenni0451.reflect.proxy.impl.ProxyMethod;
@@ -10,207 +14,247 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.*;
 
 import static net.lenni0451.reflect.bytecode.BytecodeUtils.*;
 
 /**
  * A builder for creating the {@link ProxyMethod} implementations.<br>
- * They are unique to every method and therefore need to be created at runtime.
+ * They are unique to every proxy class and therefore need to be created at runtime.<br>
+ * All methods of a proxy class are implemented by a single dispatcher class which switches over the method id.<br>
+ * The instances don't hold a reference to the proxy instance and are shared by all instances of a proxy class.
  */
 @ApiStatus.Internal
 public class ProxyMethodBuilder {
 
     private static final BytecodeBuilder BUILDER = BytecodeBuilder.get();
+    private static final String HANDLES_FIELD = "HANDLES";
 
-    public static Class<ProxyMethod> buildProxyMethodClass(final Class<?> proxyClass, final Method method, @Nullable final Method originalMethod) {
+    @SneakyThrows
+    public static ProxyMethod[] buildProxyMethods(final Class<?> proxyClass, final Method[] methods, final Method[] originalMethods) {
+        if (methods.length == 0) return new ProxyMethod[0];
+
+        Method[] superMethods = new Method[methods.length];
+        for (int i = 0; i < methods.length; i++) superMethods[i] = originalMethods[i] == null ? methods[i] : originalMethods[i];
+        MethodHandle[] handles = ProxyRuntime.getMethodHandles(methods, originalMethods);
         BuiltClass builtClass = BUILDER.class_(BUILDER.opcode("ACC_PUBLIC"), slash(proxyClass) + "$ProxyMethodImpl", null, slash(Object.class), new String[]{slash(ProxyMethod.class)}, cb -> {
-            addFields(proxyClass, cb);
-            addStaticBlock(method, originalMethod, cb);
-            addConstructor(proxyClass, cb);
-            addMethodGetter(cb);
-            addInvokeWith(method, cb);
-            addInvokeSuper(proxyClass, originalMethod == null ? method : originalMethod, cb);
-            addCancel(method, cb);
+            addFields(handles, cb);
+            addStaticBlock(handles, cb);
+            addConstructor(cb);
+            addGetters(cb);
+            addInvoke(methods, handles, 0, "invokeWith", cb);
+            addInvoke(superMethods, handles, 1, "invokeSuperWith", cb);
         });
 
-        return (Class<ProxyMethod>) builtClass.defineAnonymous(proxyClass);
+        Class<?> dispatcherClass = builtClass.defineAnonymous(proxyClass);
+        Fields.setObject(null, Fields.getDeclaredField(dispatcherClass, HANDLES_FIELD), handles); //Set the handles before the class is initialized
+        Constructor<?> constructor = Constructors.getDeclaredConstructor(dispatcherClass, int.class, Method.class, Object.class);
+        ProxyMethod[] proxyMethods = new ProxyMethod[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            proxyMethods[i] = (ProxyMethod) Constructors.invoke(constructor, i, methods[i], ProxyUtils.getDefaultValue(methods[i].getReturnType()));
+        }
+        return proxyMethods;
     }
 
-    private static void addFields(final Class<?> proxyClass, final ClassBuilder cb) {
-        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), "INVOKE_OTHER", desc(MethodHandle.class), null, null);
-        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), "INVOKE_SUPER", desc(MethodHandle.class), null, null);
-        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_FINAL"), "instance", desc(proxyClass), null, null);
+    private static void addFields(final MethodHandle[] handles, final ClassBuilder cb) {
+        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), HANDLES_FIELD, desc(MethodHandle[].class), null, null);
+        for (int i = 0; i < handles.length; i++) {
+            if (handles[i] == null) continue;
+            cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_STATIC", "ACC_FINAL"), getHandleField(i), desc(MethodHandle.class), null, null);
+        }
+        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_FINAL"), "id", desc(int.class), null, null);
         cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_FINAL"), "method", desc(Method.class), null, null);
+        cb.field(BUILDER.opcode("ACC_PRIVATE", "ACC_FINAL"), "cancelValue", desc(Object.class), null, null);
     }
 
-    private static void addStaticBlock(final Method method, @Nullable final Method originalMethod, final ClassBuilder cb) {
-        cb.method(BUILDER.opcode("ACC_PUBLIC", "ACC_STATIC"), "<clinit>", mdesc(void.class), null, null, mb -> {
-            mb.typeLdc(BUILDER, method.getDeclaringClass()); //Instance class
-            if (originalMethod != null) {
-                mb.typeLdc(BUILDER, originalMethod.getDeclaringClass()); //Super class
-            } else {
-                mb.dup();
-            }
-            mb
-                    .ldc(method.getName()) //Method name
-                    .intPush(method.getParameterCount())
-                    .anewarray(slash(Class.class)); //Parameter array
-            for (int i = 0; i < method.getParameterTypes().length; i++) {
-                Class<?> parameter = method.getParameterTypes()[i];
+    private static void addStaticBlock(final MethodHandle[] handles, final ClassBuilder cb) {
+        cb.method(BUILDER.opcode("ACC_STATIC"), "<clinit>", mdesc(void.class), null, null, mb -> {
+            for (int i = 0; i < handles.length; i++) {
+                if (handles[i] == null) continue;
                 mb
-                        .dup()
+                        .getstatic(cb.getName(), HANDLES_FIELD, desc(MethodHandle[].class))
                         .intPush(i)
-                        .typeLdc(BUILDER, parameter)
-                        .aastore();
+                        .aaload()
+                        .putstatic(cb.getName(), getHandleField(i), desc(MethodHandle.class));
             }
-            mb
-                    .typeLdc(BUILDER, method.getReturnType()) //Return type
-                    .invokestatic(slash(ProxyRuntime.class), "getMethodHandles", mdesc(MethodHandle[].class, Class.class, Class.class, String.class, Class[].class, Class.class), false);
-            mb //Store the method handles
-                    .dup()
-                    .intPush(0)
-                    .aaload()
-                    .putstatic(cb.getName(), "INVOKE_OTHER", desc(MethodHandle.class))
-
-                    .intPush(1)
-                    .aaload()
-                    .putstatic(cb.getName(), "INVOKE_SUPER", desc(MethodHandle.class));
-
             mb
                     .return_()
-                    .maxs(6, 0);
+                    .maxs(2, 0);
         });
     }
 
-    private static void addConstructor(final Class<?> proxyClass, final ClassBuilder cb) {
-        cb.method(BUILDER.opcode("ACC_PUBLIC"), "<init>", mdesc(void.class, proxyClass, Method.class), null, null, mb -> mb
+    private static void addConstructor(final ClassBuilder cb) {
+        cb.method(BUILDER.opcode("ACC_PUBLIC"), "<init>", mdesc(void.class, int.class, Method.class, Object.class), null, null, mb -> mb
                 .aload(0)
                 .invokespecial(slash(Object.class), "<init>", mdesc(void.class), false)
 
                 .aload(0)
-                .aload(1)
-                .putfield(cb.getName(), "instance", desc(proxyClass))
+                .iload(1)
+                .putfield(cb.getName(), "id", desc(int.class))
 
                 .aload(0)
                 .aload(2)
                 .putfield(cb.getName(), "method", desc(Method.class))
 
+                .aload(0)
+                .aload(3)
+                .putfield(cb.getName(), "cancelValue", desc(Object.class))
+
                 .return_()
-                .maxs(3, 3)
+                .maxs(2, 4)
         );
     }
 
-    private static void addMethodGetter(final ClassBuilder cb) {
+    private static void addGetters(final ClassBuilder cb) {
         cb.method(BUILDER.opcode("ACC_PUBLIC"), "getInvokedMethod", mdesc(Method.class), null, null, mb -> mb
                 .aload(0)
                 .getfield(cb.getName(), "method", desc(Method.class))
                 .areturn()
-                .maxs(2, 1)
+                .maxs(1, 1)
+        );
+        cb.method(BUILDER.opcode("ACC_PUBLIC"), "cancel", mdesc(Object.class), null, null, mb -> mb
+                .aload(0)
+                .getfield(cb.getName(), "cancelValue", desc(Object.class))
+                .areturn()
+                .maxs(1, 1)
         );
     }
 
-    private static void addInvokeWith(final Method method, final ClassBuilder cb) {
-        cb.method(BUILDER.opcode("ACC_PUBLIC"), "invokeWith", mdesc(Object.class, Object.class, Object[].class), null, null, mb -> {
-            String polymorphicSignature = "(" + desc(method.getDeclaringClass());
-            for (Class<?> parameter : method.getParameterTypes()) polymorphicSignature += desc(parameter);
-            polymorphicSignature += ")" + desc(method.getReturnType());
-
-            mb.getstatic(cb.getName(), "INVOKE_OTHER", desc(MethodHandle.class));
-            mb //Cast instance to owner class
-                    .aload(1)
-                    .checkcast(slash(method.getDeclaringClass()));
-            for (int i = 0; i < method.getParameterTypes().length; i++) {
-                Class<?> parameter = method.getParameterTypes()[i];
-                mb //Load and cast all parameters
-                        .aload(2)
-                        .intPush(i)
-                        .aaload()
-                        .checkcast(slash(boxed(parameter)))
-                        .unbox(parameter);
-            }
-            mb //invokeExact() so the JVM can inline the method call
-                    .invokevirtual(slash(MethodHandle.class), "invokeExact", polymorphicSignature);
-            if (method.getReturnType().equals(void.class)) mb.aconstNull();
-            else mb.box(method.getReturnType());
-            mb
-                    .areturn()
-                    .maxs(method.getParameterCount() + 2, method.getParameterCount() + 1)
-            ;
-        });
+    private static void addInvoke(final Method[] methods, final MethodHandle[] handles, final int handleOffset, final String name, final ClassBuilder cb) {
+        Map<List<Class<?>>, List<Integer>> specializedMethods = new LinkedHashMap<>();
+        for (int i = 0; i < methods.length; i++) {
+            Class<?>[] specializedParameters = ProxyUtils.getSpecializedParameters(methods[i].getParameterTypes());
+            if (specializedParameters == null) continue;
+            specializedMethods.computeIfAbsent(Arrays.asList(specializedParameters), k -> new ArrayList<>()).add(i);
+        }
+
+        List<Integer> allMethods = new ArrayList<>();
+        for (int i = 0; i < methods.length; i++) allMethods.add(i);
+        addInvoke(methods, handles, handleOffset, name, null, allMethods, cb);
+        for (Map.Entry<List<Class<?>>, List<Integer>> entry : specializedMethods.entrySet()) {
+            addInvoke(methods, handles, handleOffset, name, entry.getKey().toArray(new Class<?>[0]), entry.getValue(), cb);
+        }
     }
 
-    private static void addInvokeSuper(final Class<?> proxyClass, final Method method, final ClassBuilder cb) {
-        cb.method(BUILDER.opcode("ACC_PUBLIC"), "invokeSuper", mdesc(Object.class, Object[].class), null, null, mb -> {
-            String polymorphicSignature = "(" + desc(method.getDeclaringClass());
-            for (Class<?> parameter : method.getParameterTypes()) polymorphicSignature += desc(parameter);
-            polymorphicSignature += ")" + desc(method.getReturnType());
+    private static void addInvoke(final Method[] methods, final MethodHandle[] handles, final int handleOffset, final String name, @Nullable final Class<?>[] specializedParameters, final List<Integer> methodIds, final ClassBuilder cb) {
+        Class<?>[] parameters = prependParameter(Object.class, specializedParameters);
+        cb.method(BUILDER.opcode("ACC_PUBLIC"), name, mdesc(Object.class, parameters), null, null, mb -> {
+            int min = methodIds.get(0);
+            int max = methodIds.get(methodIds.size() - 1);
+            BytecodeLabel defaultLabel = mb.newLabel();
+            BytecodeLabel[] labels = new BytecodeLabel[max - min + 1];
+            for (int id : methodIds) labels[id - min] = mb.newLabel();
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == null) labels[i] = defaultLabel;
+            }
 
-            BytecodeLabel elseLabel = mb.newLabel();
             mb
                     .aload(0)
-                    .getstatic(cb.getName(), "INVOKE_SUPER", desc(MethodHandle.class))
-                    .ifnonnull(elseLabel)
-                    .new_(slash(AbstractMethodError.class))
-                    .dup()
-                    .ldc(slash(method.getDeclaringClass()) + "." + method.getName() + desc(method))
-                    .invokespecial(slash(AbstractMethodError.class), "<init>", mdesc(void.class, String.class), false)
-                    .athrow()
-                    .label(elseLabel);
-
-            mb.getstatic(cb.getName(), "INVOKE_SUPER", desc(MethodHandle.class));
-            mb //Cast instance to owner class
-                    .aload(0)
-                    .getfield(cb.getName(), "instance", desc(proxyClass))
-                    .checkcast(slash(method.getDeclaringClass()));
-            for (int i = 0; i < method.getParameterTypes().length; i++) {
-                Class<?> parameter = method.getParameterTypes()[i];
-                mb //Load and cast all parameters
+                    .getfield(cb.getName(), "id", desc(int.class))
+                    .tableswitch(min, max, defaultLabel, labels);
+            int varIndex = 0;
+            for (int id : methodIds) {
+                Method method = methods[id];
+                int handleIndex = id * 2 + handleOffset;
+                mb.label(labels[id - min]);
+                if (handles[handleIndex] == null) {
+                    mb
+                            .new_(slash(AbstractMethodError.class))
+                            .dup()
+                            .ldc(slash(method.getDeclaringClass()) + "." + method.getName() + desc(method))
+                            .invokespecial(slash(AbstractMethodError.class), "<init>", mdesc(void.class, String.class), false)
+                            .athrow();
+                    continue;
+                }
+
+                mb.getstatic(cb.getName(), getHandleField(handleIndex), desc(MethodHandle.class));
+                mb //Cast instance to owner class
                         .aload(1)
-                        .intPush(i)
-                        .aaload()
-                        .checkcast(slash(boxed(parameter)))
-                        .unbox(parameter);
+                        .checkcast(slash(method.getDeclaringClass()));
+                varIndex = loadArguments(method, specializedParameters, 2, mb);
+                mb //invokeExact() so the JVM can inline the method call
+                        .invokevirtual(slash(MethodHandle.class), "invokeExact", getPolymorphicSignature(method));
+                if (method.getReturnType().equals(void.class)) mb.aconstNull();
+                else mb.box(method.getReturnType());
+                mb.areturn();
             }
-            mb //invokeExact() so the JVM can inline the method call
-                    .invokevirtual(slash(MethodHandle.class), "invokeExact", polymorphicSignature);
-            if (method.getReturnType().equals(void.class)) mb.aconstNull();
-            else mb.box(method.getReturnType());
-            mb
-                    .areturn()
-                    .maxs(method.getParameterCount() + 2, method.getParameterCount() + 1)
-            ;
-        });
-    }
 
-    private static void addCancel(final Method method, final ClassBuilder cb) {
-        cb.method(BUILDER.opcode("ACC_PUBLIC"), "cancel", mdesc(Object.class), null, null, mb -> {
-            if (method.getReturnType() == void.class) {
-                mb.aconstNull();
-            } else if (method.getReturnType() == boolean.class) {
-                mb.getstatic(slash(Boolean.class), "FALSE", desc(Boolean.class));
-            } else if (method.getReturnType() == byte.class || method.getReturnType() == short.class || method.getReturnType() == char.class || method.getReturnType() == int.class) {
-                mb
-                        .intPush(0)
-                        .box(method.getReturnType());
-            } else if (method.getReturnType() == long.class) {
+            mb.label(defaultLabel);
+            if (specializedParameters == null) {
                 mb
-                        .ldc(0L)
-                        .box(method.getReturnType());
-            } else if (method.getReturnType() == float.class) {
-                mb
-                        .ldc(0F)
-                        .box(method.getReturnType());
-            } else if (method.getReturnType() == double.class) {
-                mb
-                        .ldc(0D)
-                        .box(method.getReturnType());
+                        .new_(slash(IllegalStateException.class))
+                        .dup()
+                        .ldc("Unknown proxy method id")
+                        .invokespecial(slash(IllegalStateException.class), "<init>", mdesc(void.class, String.class), false)
+                        .athrow();
             } else {
-                mb.aconstNull();
+                //Methods with other parameters are passed on to the more generic invoke method
+                mb
+                        .aload(0)
+                        .aload(1);
+                if (specializedParameters.length == 1 && specializedParameters[0].isPrimitive()) {
+                    mb
+                            .load(specializedParameters[0], 2)
+                            .box(specializedParameters[0])
+                            .invokeinterface(slash(ProxyMethod.class), name, mdesc(Object.class, Object.class, Object.class));
+                } else {
+                    mb
+                            .intPush(specializedParameters.length)
+                            .anewarray(slash(Object.class));
+                    for (int i = 0; i < specializedParameters.length; i++) {
+                        mb
+                                .dup()
+                                .intPush(i)
+                                .aload(i + 2)
+                                .aastore();
+                    }
+                    mb.invokeinterface(slash(ProxyMethod.class), name, mdesc(Object.class, Object.class, Object[].class));
+                }
+                mb.areturn();
             }
-            mb.areturn()
-                    .maxs(1, 1);
+            mb.maxs(Math.max(varIndex, 4) + 3, Math.max(varIndex, 3));
         });
     }
 
+    private static int loadArguments(final Method method, @Nullable final Class<?>[] specializedParameters, int varIndex, final MethodBuilder mb) {
+        for (int i = 0; i < method.getParameterTypes().length; i++) {
+            Class<?> parameter = method.getParameterTypes()[i];
+            if (specializedParameters == null) {
+                mb //Load the parameter from the argument array
+                        .aload(varIndex)
+                        .intPush(i)
+                        .aaload();
+            } else {
+                mb.load(specializedParameters[i], varIndex + i);
+                if (specializedParameters[i].isPrimitive()) continue; //Primitive parameters are passed as is
+            }
+            mb //Cast and unbox the parameter
+                    .checkcast(slash(boxed(parameter)))
+                    .unbox(parameter);
+        }
+        if (specializedParameters == null) return varIndex + 1;
+        for (Class<?> parameter : specializedParameters) varIndex += getStackSize(parameter);
+        return varIndex;
+    }
+
+    private static String getHandleField(final int handleIndex) {
+        return (handleIndex % 2 == 0 ? "INVOKE_OTHER_" : "INVOKE_SUPER_") + (handleIndex / 2);
+    }
+
+    private static String getPolymorphicSignature(final Method method) {
+        String polymorphicSignature = "(" + desc(method.getDeclaringClass());
+        for (Class<?> parameter : method.getParameterTypes()) polymorphicSignature += desc(parameter);
+        return polymorphicSignature + ")" + desc(method.getReturnType());
+    }
+
+    private static Class<?>[] prependParameter(final Class<?> parameter, @Nullable final Class<?>[] specializedParameters) {
+        if (specializedParameters == null) return new Class<?>[]{parameter, Object[].class};
+        Class<?>[] parameters = new Class<?>[specializedParameters.length + 1];
+        parameters[0] = parameter;
+        System.arraycopy(specializedParameters, 0, parameters, 1, specializedParameters.length);
+        return parameters;
+    }
+
 }
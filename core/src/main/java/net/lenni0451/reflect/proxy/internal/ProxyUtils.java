@@ -1,9 +1,12 @@
 package net.lenni0451.reflect.proxy.internal;
 
+import lombok.SneakyThrows;
 import net.lenni0451.reflect.Methods;
+import net.lenni0451.reflect.proxy.impl.DelegatingProxy;
 import net.lenni0451.reflect.proxy.impl.Proxy;
 import org.jetbrains.annotations.ApiStatus;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -20,6 +23,11 @@ import static net.lenni0451.reflect.bytecode.BytecodeUtils.desc;
 @ApiStatus.Internal
 public class ProxyUtils {
 
+    /**
+     * The maximum amount of arguments which can be passed to the arity specialized invoke methods.
+     */
+    public static final int MAX_SPECIALIZED_ARGS = 4;
+
     public static void verifySuperClass(final Class<?> clazz) {
         if (!Modifier.isPublic(clazz.getModifiers())) throw new IllegalArgumentException("The super class must be public");
         if (clazz.isInterface()) throw new IllegalArgumentException("The super class must be a class");
@@ -29,6 +37,7 @@ public class ProxyUtils {
 
     public static void verifyInterface(final Class<?> clazz) {
         if (clazz == Proxy.class) throw new IllegalArgumentException("The 'Proxy' interface is not allowed as interface");
+        if (clazz == DelegatingProxy.class) throw new IllegalArgumentException("The 'DelegatingProxy' interface is not allowed as interface");
         if (!Modifier.isPublic(clazz.getModifiers())) throw new IllegalArgumentException("The interface must be public");
         if (!clazz.isInterface()) throw new IllegalArgumentException("The interface must be an interface");
     }
@@ -52,7 +61,7 @@ public class ProxyUtils {
     }
 
     public static void getOverridableMethod(final Class<?> clazz, final Map<String, Method> methods) {
-        if (clazz == Proxy.class) return; //Ignore the Proxy interface
+        if (clazz == Proxy.class || clazz == DelegatingProxy.class) return; //Ignore the Proxy interfaces
         for (Method method : Methods.getDeclaredMethods(clazz)) {
             if (Modifier.isPrivate(method.getModifiers())) continue;
             if (Modifier.isStatic(method.getModifiers())) continue;
@@ -64,6 +73,68 @@ public class ProxyUtils {
         for (Class<?> inter : clazz.getInterfaces()) getOverridableMethod(inter, methods);
     }
 
+    /**
+     * Check if a call to the given method can be forwarded to a delegate.<br>
+     * Only public methods of public classes can be called on other instances.
+     *
+     * @param method The method to check
+     * @return If the method can be forwarded
+     */
+    public static boolean canDelegate(final Method method) {
+        return Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * Check if the given method of an interface is overridden by the class of the given instance.
+     *
+     * @param instance   The instance to check
+     * @param owner      The interface declaring the method
+     * @param name       The name of the method
+     * @param parameters The parameter types of the method
+     * @return If the method is overridden
+     */
+    @SneakyThrows
+    public static boolean isOverridden(final Object instance, final Class<?> owner, final String name, final Class<?>... parameters) {
+        return instance.getClass().getMethod(name, parameters).getDeclaringClass() != owner;
+    }
+
+    /**
+     * Get the parameter types of the specialized invoke method matching the given parameters.<br>
+     * A single primitive parameter is passed as is, up to {@link #MAX_SPECIALIZED_ARGS} other parameters are passed as objects.
+     *
+     * @param parameters The parameters of the proxied method
+     * @return The parameter types of the specialized invoke method or null if the arguments have to be passed as an array
+     */
+    @Nullable
+    public static Class<?>[] getSpecializedParameters(final Class<?>[] parameters) {
+        if (parameters.length == 1 && parameters[0].isPrimitive()) return parameters;
+        if (parameters.length > MAX_SPECIALIZED_ARGS) return null;
+
+        Class<?>[] specializedParameters = new Class<?>[parameters.length];
+        Arrays.fill(specializedParameters, Object.class);
+        return specializedParameters;
+    }
+
+    /**
+     * Get the default value of the given type.<br>
+     * This is the value returned when cancelling a proxied method call.
+     *
+     * @param type The type to get the default value for
+     * @return The default value of the type
+     */
+    @Nullable
+    public static Object getDefaultValue(final Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == char.class) return (char) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        if (type == double.class) return 0D;
+        return null;
+    }
+
     public static Method[] mapMethods(final Method[] methods, final Function<Method, Method> methodMapper) {
         Method[] originalMethods = new Method[methods.length];
         for (int i = 0; i < methods.length; i++) {
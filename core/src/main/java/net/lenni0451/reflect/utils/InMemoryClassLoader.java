@@ -0,0 +1,219 @@
+package net.lenni0451.reflect.utils;
+
+import net.lenni0451.reflect.Classes;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A parallel capable class loader which loads classes and resources from memory.<br>
+ * Classes are only defined when they are loaded for the first time, so adding many classes is cheap.
+ * Classes from different names can be loaded concurrently because the loader uses a lock per class name.<br>
+ * All classes defined by this loader are unloaded together with it once neither the loader nor any of its classes are referenced anymore.
+ */
+public class InMemoryClassLoader extends ClassLoader {
+
+    private static final String PROTOCOL = "reflect-memory";
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private final Policy policy;
+    private final Map<String, byte[]> classes = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+    private final URLStreamHandler urlHandler = new MemoryURLStreamHandler();
+
+    /**
+     * Create a new class loader which asks the parent first.
+     *
+     * @param parent The parent class loader
+     */
+    public InMemoryClassLoader(@Nullable final ClassLoader parent) {
+        this(parent, Policy.PARENT_FIRST);
+    }
+
+    /**
+     * @param parent The parent class loader
+     * @param policy Whether the parent or this class loader is asked first
+     */
+    public InMemoryClassLoader(@Nullable final ClassLoader parent, @Nonnull final Policy policy) {
+        super(parent);
+        this.policy = policy;
+    }
+
+    /**
+     * @return Whether the parent or this class loader is asked first
+     */
+    public Policy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Add a class to this class loader.<br>
+     * The class is defined when it is loaded for the first time.
+     * The bytecode is also available as a resource.<br>
+     * Cached missing lookups of the class in {@link Classes} are forgotten.
+     *
+     * @param name     The name of the class
+     * @param bytecode The bytecode of the class
+     * @return This class loader
+     * @throws IllegalStateException If a class with the same name has already been added
+     */
+    public InMemoryClassLoader addClass(@Nonnull final String name, @Nonnull final byte[] bytecode) {
+        if (this.classes.putIfAbsent(name, bytecode) != null) throw new IllegalStateException("The class " + name + " has already been added");
+        Classes.invalidateLookupCache(this);
+        return this;
+    }
+
+    /**
+     * Add multiple classes to this class loader.
+     *
+     * @param classes The names and bytecode of the classes
+     * @return This class loader
+     * @throws IllegalStateException If a class with the same name has already been added
+     * @see #addClass(String, byte[])
+     */
+    public InMemoryClassLoader addClasses(@Nonnull final Map<String, byte[]> classes) {
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) this.addClass(entry.getKey(), entry.getValue());
+        return this;
+    }
+
+    /**
+     * Add a resource to this class loader.<br>
+     * Existing resources with the same path are replaced.
+     *
+     * @param path The path of the resource (e.g. {@code META-INF/MANIFEST.MF})
+     * @param data The content of the resource
+     * @return This class loader
+     */
+    public InMemoryClassLoader addResource(@Nonnull final String path, @Nonnull final byte[] data) {
+        this.resources.put(path, data);
+        return this;
+    }
+
+    /**
+     * Check if a class has been added to this class loader.<br>
+     * This does not check if the class has already been loaded.
+     *
+     * @param name The name of the class
+     * @return If the class has been added
+     */
+    public boolean hasClass(final String name) {
+        return this.classes.containsKey(name);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (this.policy == Policy.PARENT_FIRST || !this.classes.containsKey(name)) return super.loadClass(name, resolve);
+        synchronized (this.getClassLoadingLock(name)) {
+            Class<?> clazz = this.findLoadedClass(name);
+            if (clazz == null) clazz = this.findClass(name);
+            if (resolve) this.resolveClass(clazz);
+            return clazz;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytecode = this.classes.get(name);
+        if (bytecode == null) throw new ClassNotFoundException(name);
+        return this.defineClass(name, bytecode, 0, bytecode.length);
+    }
+
+    @Override
+    public URL getResource(String name) {
+        if (this.policy == Policy.CHILD_FIRST) {
+            URL url = this.findResource(name);
+            if (url != null) return url;
+        }
+        return super.getResource(name);
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        byte[] data = this.getResourceBytes(name);
+        if (data == null) return super.getResourceAsStream(name);
+        if (this.policy == Policy.PARENT_FIRST && this.getParent() != null) {
+            InputStream parentStream = this.getParent().getResourceAsStream(name);
+            if (parentStream != null) return parentStream;
+        }
+        return new ByteArrayInputStream(data);
+    }
+
+    @Override
+    protected URL findResource(String name) {
+        if (this.getResourceBytes(name) == null) return null;
+        try {
+            return new URL(PROTOCOL, null, -1, "/" + name, this.urlHandler);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected Enumeration<URL> findResources(String name) {
+        URL url = this.findResource(name);
+        if (url == null) return Collections.emptyEnumeration();
+        return Collections.enumeration(Collections.singletonList(url));
+    }
+
+    @Nullable
+    private byte[] getResourceBytes(final String name) {
+        byte[] data = this.resources.get(name);
+        if (data == null && name.endsWith(".class")) data = this.classes.get(name.substring(0, name.length() - 6).replace('/', '.'));
+        return data;
+    }
+
+
+    /**
+     * The order in which class loaders are asked for classes and resources.
+     */
+    public enum Policy {
+        /**
+         * The parent is asked first, like most class loaders do.
+         */
+        PARENT_FIRST,
+        /**
+         * This class loader is asked first for classes and resources it contains.<br>
+         * This allows overriding classes of the parent class loader.
+         */
+        CHILD_FIRST
+    }
+
+    private class MemoryURLStreamHandler extends URLStreamHandler {
+        @Override
+        protected URLConnection openConnection(URL url) throws IOException {
+            byte[] data = InMemoryClassLoader.this.getResourceBytes(url.getPath().substring(1));
+            if (data == null) throw new IOException("The resource " + url + " does not exist");
+            return new URLConnection(url) {
+                @Override
+                public void connect() {
+                    this.connected = true;
+                }
+
+                @Override
+                public int getContentLength() {
+                    return data.length;
+                }
+
+                @Override
+                public InputStream getInputStream() {
+                    return new ByteArrayInputStream(data);
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,290 @@
+package net.lenni0451.reflect.utils;
+
+import lombok.SneakyThrows;
+import net.lenni0451.reflect.ClassLoaders;
+import net.lenni0451.reflect.Methods;
+import sun.misc.Unsafe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import static net.lenni0451.reflect.JVMConstants.*;
+import static net.lenni0451.reflect.JavaBypass.UNSAFE;
+
+/**
+ * An index of the entries of many jar files.<br>
+ * Only the central directory of each jar is memory mapped and read once, the mapping is released directly afterwards and the jars are not kept open.
+ * Data prepended to a jar (e.g. a launcher script) is skipped.
+ * Lookups first select the jars containing the package of the entry, so they don't have to scan all jars in order.<br>
+ * If multiple jars contain the same entry, the jar which has been added first is returned, like the classpath does.<br>
+ * Use a {@link JarIndexClassLoader} to load classes and resources using the index.
+ */
+public class JarIndex {
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054B50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014B50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+
+    /**
+     * Create an index of all jars in the system classpath.<br>
+     * Directories in the classpath are ignored.
+     *
+     * @return The index
+     */
+    public static JarIndex ofSystemClassPath() {
+        JarIndex index = new JarIndex();
+        for (URL url : ClassLoaders.getSystemClassPath()) index.add(url);
+        return index;
+    }
+
+    /**
+     * Get the URL of an entry in a jar.
+     *
+     * @param jar   The jar file
+     * @param entry The name of the entry without a leading slash
+     * @return The URL of the entry
+     */
+    @SneakyThrows
+    public static URL getURL(@Nonnull final File jar, @Nonnull final String entry) {
+        return new URL("jar:" + jar.toURI().toURL() + "!/" + entry);
+    }
+
+
+    private final Map<String, List<File>> packages = new ConcurrentHashMap<>();
+    private final Map<File, Set<String>> entries = new ConcurrentHashMap<>();
+    private final List<File> jars = new CopyOnWriteArrayList<>();
+
+    /**
+     * Add a jar to this index.<br>
+     * URLs which don't point to a jar file are ignored.
+     *
+     * @param url The URL of the jar
+     * @return This index
+     */
+    @SneakyThrows
+    public JarIndex add(@Nonnull final URL url) {
+        if (!url.getProtocol().equals("file")) return this;
+        File file = new File(url.toURI());
+        if (file.isFile()) this.add(file);
+        return this;
+    }
+
+    /**
+     * Add a jar to this index.<br>
+     * Jars which have already been added are ignored.
+     *
+     * @param jar The jar file
+     * @return This index
+     */
+    @SneakyThrows
+    public synchronized JarIndex add(@Nonnull final File jar) {
+        File file = jar.getAbsoluteFile();
+        if (this.entries.containsKey(file)) return this;
+
+        Set<String> jarEntries = readEntries(file);
+        Set<String> jarPackages = new HashSet<>();
+        for (String entry : jarEntries) jarPackages.add(getPackage(entry));
+        this.entries.put(file, Collections.unmodifiableSet(jarEntries));
+        for (String jarPackage : jarPackages) this.packages.computeIfAbsent(jarPackage, p -> new CopyOnWriteArrayList<>()).add(file);
+        this.jars.add(file);
+        return this;
+    }
+
+    /**
+     * @return All indexed jars in the order they were added
+     */
+    public List<File> getJars() {
+        return Collections.unmodifiableList(this.jars);
+    }
+
+    /**
+     * Get all jars containing entries in the given package.
+     *
+     * @param packageName The name of the package (e.g. {@code net.lenni0451.reflect})
+     * @return The jars containing the package in the order they were added
+     */
+    public List<File> getPackageJars(@Nonnull final String packageName) {
+        List<File> jars = this.packages.get(packageName.replace('.', '/'));
+        if (jars == null) return Collections.emptyList();
+        return Collections.unmodifiableList(jars);
+    }
+
+    /**
+     * Find the first jar containing the given entry.
+     *
+     * @param entry The name of the entry (e.g. {@code META-INF/MANIFEST.MF})
+     * @return The jar or null if no indexed jar contains the entry
+     */
+    @Nullable
+    public File findJar(@Nonnull final String entry) {
+        String name = entry.startsWith("/") ? entry.substring(1) : entry;
+        List<File> jars = this.packages.get(getPackage(name));
+        if (jars == null) return null;
+        for (File jar : jars) {
+            if (this.entries.get(jar).contains(name)) return jar;
+        }
+        return null;
+    }
+
+    /**
+     * Find all jars containing the given entry.
+     *
+     * @param entry The name of the entry (e.g. {@code META-INF/MANIFEST.MF})
+     * @return The jars containing the entry in the order they were added
+     */
+    public List<File> findJars(@Nonnull final String entry) {
+        String name = entry.startsWith("/") ? entry.substring(1) : entry;
+        List<File> jars = this.packages.get(getPackage(name));
+        if (jars == null) return Collections.emptyList();
+        List<File> found = new ArrayList<>();
+        for (File jar : jars) {
+            if (this.entries.get(jar).contains(name)) found.add(jar);
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Find the first jar containing the given class.
+     *
+     * @param className The name of the class (e.g. {@code net.lenni0451.reflect.ClassLoaders})
+     * @return The jar or null if no indexed jar contains the class
+     */
+    @Nullable
+    public File findClassJar(@Nonnull final String className) {
+        return this.findJar(className.replace('.', '/') + ".class");
+    }
+
+    /**
+     * Find the URL of the given entry.
+     *
+     * @param entry The name of the entry (e.g. {@code META-INF/MANIFEST.MF})
+     * @return The URL of the entry or null if no indexed jar contains the entry
+     */
+    @Nullable
+    @SneakyThrows
+    public URL findResource(@Nonnull final String entry) {
+        String name = entry.startsWith("/") ? entry.substring(1) : entry;
+        File jar = this.findJar(name);
+        if (jar == null) return null;
+        return getURL(jar, name);
+    }
+
+    /**
+     * Check if any indexed jar contains the given entry.
+     *
+     * @param entry The name of the entry
+     * @return If the entry is indexed
+     */
+    public boolean contains(@Nonnull final String entry) {
+        return this.findJar(entry) != null;
+    }
+
+
+    private static String getPackage(final String entry) {
+        int end = entry.endsWith("/") ? entry.length() - 1 : entry.length();
+        int index = entry.lastIndexOf('/', end - 1);
+        if (index == -1) return "";
+        return entry.substring(0, index);
+    }
+
+    @SneakyThrows
+    private static Set<String> readEntries(final File jar) {
+        try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < END_OF_CENTRAL_DIRECTORY_SIZE) throw new ZipException("The file " + jar + " is not a valid zip file");
+            int tailSize = (int) Math.min(size, END_OF_CENTRAL_DIRECTORY_SIZE + 0xFFFF); //The end of central directory record is followed by a comment of up to 65535 bytes
+            int entryCount;
+            long directorySize;
+            long directoryPosition;
+            MappedByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, size - tailSize, tailSize);
+            try {
+                tail.order(ByteOrder.LITTLE_ENDIAN);
+                int end = -1;
+                for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+                    if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+                        end = i;
+                        break;
+                    }
+                }
+                if (end == -1) throw new ZipException("The file " + jar + " is not a valid zip file");
+                entryCount = tail.getShort(end + 10) & 0xFFFF;
+                directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+                long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+                if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) return readZip64Entries(jar);
+                //The stored offset is relative to the start of the zip, the directory always directly precedes the end record
+                directoryPosition = size - tailSize + end - directorySize;
+                if (directoryPosition < 0) throw new ZipException("Invalid central directory size in " + jar);
+            } finally {
+                unmap(tail);
+            }
+
+            Set<String> entries = new HashSet<>(entryCount * 2);
+            MappedByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryPosition, directorySize);
+            try {
+                directory.order(ByteOrder.LITTLE_ENDIAN);
+                int position = 0;
+                for (int i = 0; i < entryCount; i++) {
+                    if (directory.getInt(position) != CENTRAL_DIRECTORY_HEADER) throw new ZipException("Invalid central directory header in " + jar);
+                    int nameLength = directory.getShort(position + 28) & 0xFFFF;
+                    int extraLength = directory.getShort(position + 30) & 0xFFFF;
+                    int commentLength = directory.getShort(position + 32) & 0xFFFF;
+                    byte[] name = new byte[nameLength];
+                    directory.position(position + CENTRAL_DIRECTORY_HEADER_SIZE);
+                    directory.get(name);
+                    entries.add(new String(name, StandardCharsets.UTF_8));
+                    position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+                }
+            } finally {
+                unmap(directory);
+            }
+            return entries;
+        }
+    }
+
+    @SneakyThrows
+    private static Set<String> readZip64Entries(final File jar) {
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            Set<String> entries = new HashSet<>();
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) entries.add(zipEntries.nextElement().getName());
+            return entries;
+        }
+    }
+
+    private static void unmap(final MappedByteBuffer buffer) {
+        //Release the mapping directly instead of waiting for the garbage collector, mapped files can't be deleted on Windows
+        try {
+            Method invokeCleaner = Methods.getDeclaredMethod(Unsafe.class, METHOD_Unsafe_invokeCleaner, ByteBuffer.class);
+            if (invokeCleaner != null) { //Java 9+
+                Methods.invoke(UNSAFE, invokeCleaner, buffer);
+                return;
+            }
+            for (Class<?> clazz = buffer.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+                Method cleanerMethod = Methods.getDeclaredMethod(clazz, METHOD_DirectByteBuffer_cleaner);
+                if (cleanerMethod == null) continue;
+                Object cleaner = Methods.invoke(buffer, cleanerMethod);
+                if (cleaner != null) Methods.invoke(cleaner, Methods.getDeclaredMethod(cleaner.getClass(), METHOD_Cleaner_clean));
+                return;
+            }
+        } catch (Throwable ignored) {
+            //The mapping is released by the garbage collector
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package net.lenni0451.reflect.utils;
+
+import net.lenni0451.reflect.Classes;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.SecureClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * A parallel capable class loader which loads classes and resources from the jars of a {@link JarIndex}.<br>
+ * Lookups only open the jars which contain the requested entry instead of scanning all jars in order like a {@link java.net.URLClassLoader}.
+ * Jars are opened when the first class is loaded from them and stay open until the class loader is closed.<br>
+ * The parent class loader is always asked first. Multi-release entries are not resolved.
+ */
+public class JarIndexClassLoader extends SecureClassLoader implements Closeable {
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private final JarIndex index;
+    private final Map<File, JarFile> openJars = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new class loader for all jars in the index.
+     *
+     * @param parent The parent class loader
+     * @param index  The index of the jars
+     */
+    public JarIndexClassLoader(@Nullable final ClassLoader parent, @Nonnull final JarIndex index) {
+        super(parent);
+        this.index = index;
+    }
+
+    /**
+     * @return The index of the jars
+     */
+    public JarIndex getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Add a jar to the index of this class loader.<br>
+     * Cached missing lookups of this class loader in {@link Classes} are forgotten.
+     *
+     * @param url The URL of the jar
+     * @return This class loader
+     */
+    public JarIndexClassLoader addJar(@Nonnull final URL url) {
+        this.index.add(url);
+        Classes.invalidateLookupCache(this);
+        return this;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        String entryName = name.replace('.', '/') + ".class";
+        File jar = this.index.findJar(entryName);
+        if (jar == null) throw new ClassNotFoundException(name);
+        try {
+            JarFile jarFile = this.open(jar);
+            JarEntry entry = jarFile.getJarEntry(entryName);
+            if (entry == null) throw new ClassNotFoundException(name);
+            byte[] bytecode;
+            try (InputStream is = jarFile.getInputStream(entry)) {
+                bytecode = readAll(is);
+            }
+            URL jarUrl = jar.toURI().toURL();
+            this.definePackageOf(name, jarFile, jarUrl);
+            return this.defineClass(name, bytecode, 0, bytecode.length, new CodeSource(jarUrl, entry.getCodeSigners())); //The signers are only available after reading the entry
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+    @Override
+    protected URL findResource(String name) {
+        return this.index.findResource(name);
+    }
+
+    @Override
+    protected Enumeration<URL> findResources(String name) {
+        String entryName = name.startsWith("/") ? name.substring(1) : name;
+        List<URL> urls = new ArrayList<>();
+        for (File jar : this.index.findJars(entryName)) urls.add(JarIndex.getURL(jar, entryName));
+        return Collections.enumeration(urls);
+    }
+
+    /**
+     * Close all jars opened by this class loader.<br>
+     * Classes which have already been loaded can still be used, new classes are loaded by opening the jars again.
+     *
+     * @throws IOException If a jar could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+        for (File jar : new ArrayList<>(this.openJars.keySet())) {
+            JarFile jarFile = this.openJars.remove(jar);
+            if (jarFile == null) continue;
+            try {
+                jarFile.close();
+            } catch (IOException e) {
+                if (exception == null) exception = e;
+                else exception.addSuppressed(e);
+            }
+        }
+        if (exception != null) throw exception;
+    }
+
+    private JarFile open(final File jar) throws IOException {
+        JarFile jarFile = this.openJars.get(jar);
+        if (jarFile != null) return jarFile;
+        jarFile = new JarFile(jar);
+        JarFile existing = this.openJars.putIfAbsent(jar, jarFile);
+        if (existing == null) return jarFile;
+        jarFile.close();
+        return existing;
+    }
+
+    private void definePackageOf(final String className, final JarFile jarFile, final URL jarUrl) throws IOException {
+        int index = className.lastIndexOf('.');
+        if (index == -1) return;
+        String packageName = className.substring(0, index);
+        if (this.getPackage(packageName) != null) return;
+
+        Manifest manifest = jarFile.getManifest();
+        Attributes attributes = manifest == null ? null : manifest.getMainAttributes();
+        try {
+            if (attributes == null) {
+                this.definePackage(packageName, null, null, null, null, null, null, null);
+            } else {
+                this.definePackage(packageName,
+                        attributes.getValue(Attributes.Name.SPECIFICATION_TITLE),
+                        attributes.getValue(Attributes.Name.SPECIFICATION_VERSION),
+                        attributes.getValue(Attributes.Name.SPECIFICATION_VENDOR),
+                        attributes.getValue(Attributes.Name.IMPLEMENTATION_TITLE),
+                        attributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION),
+                        attributes.getValue(Attributes.Name.IMPLEMENTATION_VENDOR),
+                        "true".equalsIgnoreCase(attributes.getValue(Attributes.Name.SEALED)) ? jarUrl : null);
+            }
+        } catch (IllegalArgumentException ignored) {
+            //The package has been defined concurrently
+        }
+    }
+
+    private static byte[] readAll(final InputStream is) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int length;
+        while ((length = is.read(buffer)) != -1) baos.write(buffer, 0, length);
+        return baos.toByteArray();
+    }
+
+}
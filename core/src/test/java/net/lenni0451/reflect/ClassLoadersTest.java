@@ -6,8 +6,20 @@ import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -74,4 +86,73 @@ class ClassLoadersTest {
         assertEquals("Hello World", response);
     }
 
+    @Test
+    void defineClasses() {
+        ClassWriter itf = new ClassWriter(0);
+        itf.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT, "net/lenni0451/reflect/ASMTestInterface", null, "java/lang/Object", null);
+        itf.visitEnd();
+        ClassWriter impl = new ClassWriter(0);
+        impl.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "net/lenni0451/reflect/ASMTestImpl", null, "java/lang/Object", new String[]{"net/lenni0451/reflect/ASMTestInterface"});
+        impl.visitEnd();
+
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        classes.put("net.lenni0451.reflect.ASMTestImpl", impl.toByteArray());
+        classes.put("net.lenni0451.reflect.ASMTestBroken", new byte[]{1, 2, 3});
+        classes.put("net.lenni0451.reflect.ASMTestInterface", itf.toByteArray());
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoadersTest.class.getClassLoader());
+        ClassLoaders.DefinitionResult result = assertDoesNotThrow(() -> ClassLoaders.defineClasses(classLoader, classes));
+
+        assertFalse(result.isSuccessful());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey("net.lenni0451.reflect.ASMTestBroken"));
+        assertEquals(Arrays.asList("net.lenni0451.reflect.ASMTestInterface", "net.lenni0451.reflect.ASMTestImpl"), new ArrayList<>(result.getClasses().keySet()));
+        Class<?> implClass = result.getClasses().get("net.lenni0451.reflect.ASMTestImpl");
+        assertEquals(classLoader, implClass.getClassLoader());
+        assertTrue(result.getClasses().get("net.lenni0451.reflect.ASMTestInterface").isAssignableFrom(implClass));
+    }
+
+    @Test
+    void defineAnonymousClasses() {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        classes.put("first", testClassBytes);
+        classes.put("broken", new byte[0]);
+        classes.put("second", testClassBytes);
+        ClassLoaders.DefinitionResult result = assertDoesNotThrow(() -> ClassLoaders.defineAnonymousClasses(ClassLoadersTest.class, classes));
+
+        assertEquals(2, result.getClasses().size());
+        assertTrue(result.getFailures().containsKey("broken"));
+        assertNotEquals(result.getClasses().get("first"), result.getClasses().get("second"));
+    }
+
+    @Test
+    void loadToFront() throws IOException {
+        URL first = writeJar("first");
+        URL second = writeJar("second");
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{first}, null);
+        assertEquals("first", readData(classLoader));
+
+        assertDoesNotThrow(() -> ClassLoaders.loadToFront(classLoader, second));
+        assertEquals("second", readData(classLoader));
+        assertEquals(second, classLoader.getURLs()[0]);
+    }
+
+    private static URL writeJar(final String content) throws IOException {
+        File file = File.createTempFile(content, ".jar");
+        file.deleteOnExit();
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(file))) {
+            jos.putNextEntry(new JarEntry("data.txt"));
+            jos.write(content.getBytes(StandardCharsets.UTF_8));
+            jos.closeEntry();
+        }
+        return file.toURI().toURL();
+    }
+
+    private static String readData(final ClassLoader classLoader) throws IOException {
+        try (InputStream is = classLoader.getResourceAsStream("data.txt")) {
+            assertNotNull(is);
+            byte[] data = new byte[16];
+            return new String(data, 0, is.read(data), StandardCharsets.UTF_8);
+        }
+    }
+
 }
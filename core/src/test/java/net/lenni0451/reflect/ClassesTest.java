@@ -1,8 +1,14 @@
 package net.lenni0451.reflect;
 
+import net.lenni0451.reflect.utils.InMemoryClassLoader;
 import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,9 +49,81 @@ class ClassesTest {
         assertEquals(String.class, assertDoesNotThrow(() -> Classes.find("java.lang.String", true, Collections.singletonList(ClassLoader.getSystemClassLoader()))));
     }
 
+    @Test
+    void ensureInitialized() {
+        Classes.ensureInitialized(SelfInitializing.class);
+        assertTrue(Classes.isMarkedInitialized(SelfInitializing.class));
+        Classes.ensureInitialized(SelfInitializing.class);
+        assertTrue(Classes.isMarkedInitialized(SelfInitializing.class));
+        assertEquals(1, SelfInitializing.initCount);
+        assertTrue(SelfInitializing.initializedDuringInit);
+        assertFalse(SelfInitializing.markedDuringInit);
+    }
+
+    @Test
+    void lookupCache() {
+        Classes.setLookupCacheSize(16);
+        try {
+            InMemoryClassLoader memoryLoader = new InMemoryClassLoader(null);
+            assertNull(Classes.byName("net.lenni0451.reflect.CachedClass", false, memoryLoader));
+            memoryLoader.addClass("net.lenni0451.reflect.CachedClass", emptyClass("net/lenni0451/reflect/CachedClass"));
+            Class<?> cachedClass = Classes.byName("net.lenni0451.reflect.CachedClass", false, memoryLoader);
+            assertNotNull(cachedClass);
+            assertSame(cachedClass, Classes.byName("net.lenni0451.reflect.CachedClass", true, memoryLoader));
+            assertSame(cachedClass, assertDoesNotThrow(() -> Classes.find("net.lenni0451.reflect.CachedClass", true, memoryLoader)));
+
+            URLClassLoader urlLoader = new URLClassLoader(new URL[0], null);
+            assertNull(Classes.byName("net.lenni0451.reflect.DefinedClass", false, urlLoader));
+            ClassLoaders.defineClass(urlLoader, "net.lenni0451.reflect.DefinedClass", emptyClass("net/lenni0451/reflect/DefinedClass"));
+            assertNotNull(Classes.byName("net.lenni0451.reflect.DefinedClass", false, urlLoader));
+
+            URLClassLoader childLoader = new URLClassLoader(new URL[0], urlLoader);
+            AtomicBoolean otherAvailable = new AtomicBoolean();
+            ClassLoader otherLoader = new ClassLoader(null) {
+                @Override
+                protected Class<?> findClass(String name) throws ClassNotFoundException {
+                    if (!otherAvailable.get() || !name.equals("net.lenni0451.reflect.ParentClass")) throw new ClassNotFoundException(name);
+                    byte[] bytecode = emptyClass("net/lenni0451/reflect/ParentClass");
+                    return this.defineClass(name, bytecode, 0, bytecode.length);
+                }
+            };
+            assertNull(Classes.byName("net.lenni0451.reflect.ParentClass", false, childLoader));
+            assertNull(Classes.byName("net.lenni0451.reflect.ParentClass", false, otherLoader));
+            otherAvailable.set(true);
+            ClassLoaders.defineClass(urlLoader, "net.lenni0451.reflect.ParentClass", emptyClass("net/lenni0451/reflect/ParentClass"));
+            assertNotNull(Classes.byName("net.lenni0451.reflect.ParentClass", false, childLoader));
+            assertNull(Classes.byName("net.lenni0451.reflect.ParentClass", false, otherLoader)); //Only the affected class loaders are invalidated
+            Classes.invalidateLookupCache();
+            assertNotNull(Classes.byName("net.lenni0451.reflect.ParentClass", false, otherLoader));
+        } finally {
+            Classes.setLookupCacheSize(0);
+        }
+    }
+
+    private static byte[] emptyClass(final String name) {
+        ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
     @Test
     void getCallerClass() {
         assertEquals(ClassesTest.class, Classes.getCallerClass(0));
     }
 
+
+    private static class SelfInitializing {
+        private static int initCount;
+        private static boolean initializedDuringInit;
+        private static boolean markedDuringInit;
+
+        static {
+            initCount++;
+            Classes.ensureInitialized(SelfInitializing.class);
+            markedDuringInit = Classes.isMarkedInitialized(SelfInitializing.class);
+            initializedDuringInit = true;
+        }
+    }
+
 }
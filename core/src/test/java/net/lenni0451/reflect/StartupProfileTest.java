@@ -0,0 +1,124 @@
+package net.lenni0451.reflect;
+
+import net.lenni0451.reflect.proxy.ProxyBuilder;
+import net.lenni0451.reflect.utils.InMemoryClassLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupProfileTest {
+
+    private static final String COUNTER = "reflect.startupProfileTest.initialized";
+    private static final String ORDER = "reflect.startupProfileTest.order";
+
+    @Test
+    void recordAndReplay() throws IOException {
+        ClassLoader classLoader = StartupProfileTest.class.getClassLoader();
+        StartupProfile profile = StartupProfile.startRecording(false);
+        try {
+            assertThrows(IllegalStateException.class, () -> StartupProfile.startRecording(false));
+            Classes.forName(Resolved.class.getName(), false, classLoader);
+            Classes.byName(Initialized.class.getName(), true, classLoader);
+        } finally {
+            profile.stop();
+        }
+        Classes.byName(StartupProfileTest.class.getName(), true, classLoader);
+
+        assertTrue(profile.getClasses().contains(Resolved.class.getName()));
+        assertFalse(profile.getClasses().contains(StartupProfileTest.class.getName()));
+        assertFalse(profile.getInitializedClasses().contains(Resolved.class.getName()));
+        assertTrue(profile.getInitializedClasses().contains(Initialized.class.getName()));
+        assertEquals(1, Integer.getInteger(COUNTER, 0));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        profile.write(baos);
+        StartupProfile read = StartupProfile.read(new ByteArrayInputStream(baos.toByteArray()));
+        assertEquals(profile.getClasses(), read.getClasses());
+        assertEquals(profile.getInitializedClasses(), read.getInitializedClasses());
+
+        InMemoryClassLoader replayLoader = new InMemoryClassLoader(classLoader, InMemoryClassLoader.Policy.CHILD_FIRST)
+                .addClass(Initialized.class.getName(), readClass(Initialized.class));
+        Map<String, Throwable> failures = read.replay(replayLoader, 2);
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(2, Integer.getInteger(COUNTER, 0));
+    }
+
+    @Test
+    void replayInitializesInRecordedOrder() throws IOException {
+        ClassLoader classLoader = StartupProfileTest.class.getClassLoader();
+        StartupProfile profile = StartupProfile.startRecording(false);
+        try {
+            Classes.forName(Second.class.getName(), false, classLoader);
+            Classes.byName(First.class.getName(), true, classLoader);
+            Classes.byName(Second.class.getName(), true, classLoader);
+        } finally {
+            profile.stop();
+        }
+        System.clearProperty(ORDER);
+
+        InMemoryClassLoader replayLoader = new InMemoryClassLoader(classLoader, InMemoryClassLoader.Policy.CHILD_FIRST)
+                .addClass(First.class.getName(), readClass(First.class))
+                .addClass(Second.class.getName(), readClass(Second.class));
+        Map<String, Throwable> failures = profile.replay(replayLoader, 4);
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals("FirstSecond", System.getProperty(ORDER));
+    }
+
+    @Test
+    void generatedClassesAreSkipped() {
+        Runnable lambda = () -> {
+        };
+        Class<?> proxyClass = new ProxyBuilder().setInterfaces(Runnable.class).build().getProxyClass();
+        StartupProfile profile = StartupProfile.startRecording(false);
+        try {
+            Classes.ensureInitialized(lambda.getClass());
+            Classes.ensureInitialized(proxyClass);
+            Classes.ensureInitialized(Resolved.class);
+        } finally {
+            profile.stop();
+        }
+        assertEquals(Collections.singletonList(Resolved.class.getName()), profile.getClasses());
+    }
+
+    @Test
+    void readInvalid() {
+        assertThrows(IOException.class, () -> StartupProfile.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4})));
+    }
+
+    private static byte[] readClass(final Class<?> clazz) throws IOException {
+        try (InputStream is = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class")) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = is.read(buffer)) != -1) baos.write(buffer, 0, length);
+            return baos.toByteArray();
+        }
+    }
+
+
+    public static class Resolved {
+    }
+
+    public static class Initialized {
+        static {
+            System.setProperty(COUNTER, String.valueOf(Integer.getInteger(COUNTER, 0) + 1));
+        }
+    }
+
+    public static class First {
+        static {
+            System.setProperty(ORDER, System.getProperty(ORDER, "") + "First");
+        }
+    }
+
+    public static class Second {
+        static {
+            System.setProperty(ORDER, System.getProperty(ORDER, "") + "Second");
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package net.lenni0451.reflect.accessor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkAccessorTest {
+
+    private IndexedAccessor accessor;
+
+    @BeforeEach
+    void setUp() {
+        Field[] fields = assertDoesNotThrow(() -> new Field[]{
+                EntityClass.class.getDeclaredField("name"),
+                EntityClass.class.getDeclaredField("age"),
+                EntityClass.class.getDeclaredField("ID"),
+                EntityClass.class.getDeclaredField("count")
+        });
+        Method[] methods = assertDoesNotThrow(() -> new Method[]{
+                EntityClass.class.getDeclaredMethod("describe", String.class, long.class),
+                EntityClass.class.getDeclaredMethod("reset"),
+                EntityClass.class.getDeclaredMethod("twice", int.class)
+        });
+        this.accessor = assertDoesNotThrow(() -> BulkAccessor.make(EntityClass.class, fields, methods));
+    }
+
+    @Test
+    void fields() {
+        EntityClass entity = new EntityClass();
+        assertEquals("Test", this.accessor.get(0, entity));
+        assertEquals(18, this.accessor.get(1, entity));
+        assertEquals("entity", this.accessor.get(2, null));
+
+        this.accessor.set(0, entity, "Other");
+        this.accessor.set(1, entity, 42);
+        this.accessor.set(3, null, 5L);
+        assertEquals("Other", entity.name);
+        assertEquals(42, entity.age);
+        assertEquals(5L, EntityClass.count);
+        assertThrows(IllegalStateException.class, () -> this.accessor.set(2, null, "final"));
+        assertThrows(IllegalArgumentException.class, () -> this.accessor.get(4, entity));
+    }
+
+    @Test
+    void methods() {
+        EntityClass entity = new EntityClass();
+        assertEquals("Hello Test 18 3", this.accessor.invoke(0, entity, "Hello", 3L));
+        assertNull(this.accessor.invoke(1, entity));
+        assertEquals(0, entity.age);
+        assertEquals(10, this.accessor.invoke(2, null, 5));
+        assertThrows(IllegalArgumentException.class, () -> this.accessor.invoke(-1, entity));
+    }
+
+    @Test
+    void foreignMember() {
+        Field field = assertDoesNotThrow(() -> BulkAccessorTest.class.getDeclaredField("accessor"));
+        assertThrows(IllegalArgumentException.class, () -> BulkAccessor.make(EntityClass.class, new Field[]{field}, new Method[0]));
+    }
+
+
+    private static class EntityClass {
+        private static final String ID = "entity";
+        private static long count;
+
+        private String name = "Test";
+        private int age = 18;
+
+        private static int twice(final int i) {
+            return i * 2;
+        }
+
+        private String describe(final String prefix, final long suffix) {
+            return prefix + " " + this.name + " " + this.age + " " + suffix;
+        }
+
+        private void reset() {
+            this.age = 0;
+        }
+    }
+
+}
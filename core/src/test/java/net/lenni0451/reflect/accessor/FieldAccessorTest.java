@@ -1,9 +1,12 @@
 package net.lenni0451.reflect.accessor;
 
+import net.lenni0451.reflect.bytecode.template.ClassTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -49,10 +52,26 @@ class FieldAccessorTest {
         assertEquals("Hello", dynamicGetter.apply(this.fc));
     }
 
+    @Test
+    void sharedTemplate() {
+        Field other = assertDoesNotThrow(() -> FieldClass.class.getDeclaredField("other"));
+        Field count = assertDoesNotThrow(() -> FieldClass.class.getDeclaredField("count"));
+        Function<FieldClass, String> fieldGetter = assertDoesNotThrow(() -> FieldAccessor.makeDynamicGetter(Function.class, this.field));
+        Map<String, ClassTemplate> templates = new HashMap<>(AccessorTemplate.getTemplates(Function.class));
+        Function<FieldClass, String> otherGetter = assertDoesNotThrow(() -> FieldAccessor.makeDynamicGetter(Function.class, other));
+        Function<FieldClass, Integer> countGetter = assertDoesNotThrow(() -> FieldAccessor.makeDynamicGetter(Function.class, count));
+        assertEquals("Hello", fieldGetter.apply(this.fc));
+        assertEquals("World", otherGetter.apply(this.fc));
+        assertEquals(1, countGetter.apply(this.fc));
+        assertEquals(templates, new HashMap<>(AccessorTemplate.getTemplates(Function.class))); //No new template was generated
+    }
+
 
     @SuppressWarnings("FieldMayBeFinal")
     private static class FieldClass {
         private String field = "Hello";
+        private String other = "World";
+        private Integer count = 1;
 
         public String getField() {
             return this.field;
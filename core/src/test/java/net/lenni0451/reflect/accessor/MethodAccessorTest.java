@@ -3,12 +3,21 @@ package net.lenni0451.reflect.accessor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class MethodAccessorTest {
 
@@ -47,6 +56,100 @@ class MethodAccessorTest {
         assertEquals(6, dynamicArrayInvoker.apply(this.mc, new Object[]{"abc", 1, 2.78D}));
     }
 
+    @Test
+    void cachedInvoker() throws Throwable {
+        File cacheDir = Files.createTempDirectory("accessor-cache").toFile();
+        AccessorCache.setDirectory(cacheDir);
+        try {
+            Function<String, String> first = MethodAccessor.makeInvoker(Function.class, this.mc, this.method1);
+            List<Path> files = listFiles(cacheDir);
+            assertEquals(1, files.size());
+            FileTime modified = FileTime.fromMillis(1_000_000_000_000L);
+            Files.setLastModifiedTime(files.get(0), modified);
+
+            Function<String, String> second = MethodAccessor.makeInvoker(Function.class, this.mc, this.method1);
+            assertEquals(files, listFiles(cacheDir));
+            assertEquals(modified, Files.getLastModifiedTime(files.get(0))); //The cache entry was loaded and not written again
+            assertEquals("cba", first.apply("abc"));
+            assertEquals("fed", second.apply("def"));
+        } finally {
+            AccessorCache.setDirectory(null);
+        }
+    }
+
+    private static List<Path> listFiles(final File directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void batch() {
+        AccessorBatch batch = new AccessorBatch()
+                .invoker(Function.class, this.mc, this.method1)
+                .arrayInvoker(this.mc, this.method2)
+                .dynamicInvoker(BiFunction.class, this.method1)
+                .dynamicArrayInvoker(this.method2);
+        for (int i = 0; i < 16; i++) batch.invoker(Function.class, this.mc, this.method1);
+        List<Object> accessors = assertDoesNotThrow(() -> batch.build());
+
+        assertEquals(batch.size(), accessors.size());
+        assertEquals("cba", ((Function<String, String>) accessors.get(0)).apply("abc"));
+        assertEquals(6, ((Function<Object[], Integer>) accessors.get(1)).apply(new Object[]{"abc", 1, 2.78D}));
+        assertEquals("cba", ((BiFunction<MethodClass, String, String>) accessors.get(2)).apply(this.mc, "abc"));
+        assertEquals(6, ((BiFunction<MethodClass, Object[], Integer>) accessors.get(3)).apply(this.mc, new Object[]{"abc", 1, 2.78D}));
+        for (int i = 4; i < accessors.size(); i++) assertEquals("fed", ((Function<String, String>) accessors.get(i)).apply("def"));
+    }
+
+    @Test
+    void strength() {
+        List<Object> accessors = assertDoesNotThrow(() -> new AccessorBatch()
+                .invoker(Function.class, this.mc, this.method1)
+                .strength(AccessorStrength.WEAK)
+                .invoker(Function.class, this.mc, this.method1)
+                .build());
+        Class<?> strongClass = accessors.get(0).getClass();
+        Class<?> weakClass = accessors.get(1).getClass();
+
+        assertEquals("cba", ((Function<String, String>) accessors.get(1)).apply("abc"));
+        assertEquals(AccessorStrength.STRONG, AccessorRegistry.getStrength(strongClass));
+        assertEquals(AccessorStrength.WEAK, AccessorRegistry.getStrength(weakClass));
+        assertNull(AccessorRegistry.getStrength(MethodClass.class));
+        assertTrue(AccessorRegistry.getLiveClasses().contains(weakClass));
+        assertTrue(AccessorRegistry.getLiveClasses(MethodClass.class.getClassLoader()).contains(strongClass));
+    }
+
+    @Test
+    void weakAccessorCollected() throws InterruptedException, IOException {
+        //The check runs in a new JVM because full GCs can crash a JVM in which Arrays.setLength has been used
+        Process process = new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(), "-cp", System.getProperty("java.class.path"), MethodAccessorTest.class.getName())
+                .inheritIO()
+                .start();
+        assertTrue(process.waitFor(1, TimeUnit.MINUTES));
+        assertEquals(0, process.exitValue(), "The weak accessor class was not collected");
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        MethodAccessorTest test = new MethodAccessorTest();
+        test.setUp();
+        WeakReference<Class<?>> weakClass = test.makeWeakAccessor();
+        for (int i = 0; i < 50 && weakClass.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        System.exit(weakClass.get() == null ? 0 : 1);
+    }
+
+    private WeakReference<Class<?>> makeWeakAccessor() {
+        Function<String, String> accessor = (Function<String, String>) new AccessorBatch()
+                .strength(AccessorStrength.WEAK)
+                .invoker(Function.class, this.mc, this.method1)
+                .build()
+                .get(0);
+        assertEquals("cba", accessor.apply("abc"));
+        return new WeakReference<>(accessor.getClass());
+    }
+
 
     private static class MethodClass {
         private String reverse(final String s) {
@@ -1,14 +1,22 @@
 package net.lenni0451.reflect.bytecode;
 
 import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
+import net.lenni0451.reflect.bytecode.builder.ComputeMode;
+import net.lenni0451.reflect.bytecode.template.ClassTemplate;
 import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeLabel;
 import org.junit.jupiter.api.Test;
 
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static net.lenni0451.reflect.JavaBypass.TRUSTED_LOOKUP;
+import static org.junit.jupiter.api.Assertions.*;
 
 class BytecodeBuilderTest {
 
@@ -45,4 +53,275 @@ class BytecodeBuilderTest {
         assertEquals("Hello World", supplier.get());
     }
 
+    @Test
+    void tableswitch() {
+        BytecodeBuilder builder = BytecodeBuilder.get();
+        BuiltClass builtClass = builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/BytecodeBuilderTestSwitch", null, "java/lang/Object", new String[]{"java/util/function/IntFunction"}, clazz -> {
+            clazz.method(builder.opcode("ACC_PUBLIC"), "<init>", "()V", null, null, method -> method
+                    .aload(0)
+                    .invokespecial("java/lang/Object", "<init>", "()V", false)
+                    .return_()
+                    .maxs(1, 1));
+            clazz.method(builder.opcode("ACC_PUBLIC"), "apply", "(I)Ljava/lang/Object;", null, null, method -> {
+                BytecodeLabel zero = method.newLabel();
+                BytecodeLabel one = method.newLabel();
+                BytecodeLabel other = method.newLabel();
+
+                method
+                        .iload(1)
+                        .tableswitch(0, 1, other, zero, one)
+                        .label(zero)
+                        .ldc("zero")
+                        .areturn()
+                        .label(one)
+                        .ldc("one")
+                        .areturn()
+                        .label(other)
+                        .ldc("other")
+                        .areturn()
+                        .maxs(1, 2);
+            });
+        });
+
+        Class<?> clazz = builtClass.defineAnonymous(BytecodeBuilderTest.class);
+        IntFunction<String> function = (IntFunction<String>) assertDoesNotThrow(() -> clazz.getDeclaredConstructor().newInstance());
+        assertEquals("zero", function.apply(0));
+        assertEquals("one", function.apply(1));
+        assertEquals("other", function.apply(2));
+        assertEquals("other", function.apply(-1));
+    }
+
+    @Test
+    void arrayLoop() {
+        for (BytecodeBuilder builder : builders()) this.testArrayLoop(builder);
+    }
+
+    private void testArrayLoop(final BytecodeBuilder builder) {
+        BuiltClass builtClass = builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/BytecodeBuilderTestLoop", null, "java/lang/Object", new String[]{"java/util/function/ToIntFunction"}, clazz -> {
+            clazz.method(builder.opcode("ACC_PUBLIC"), "<init>", "()V", null, null, method -> method
+                    .aload(0)
+                    .invokespecial("java/lang/Object", "<init>", "()V", false)
+                    .return_()
+                    .maxs(1, 1));
+            clazz.method(builder.opcode("ACC_PUBLIC"), "applyAsInt", "(Ljava/lang/Object;)I", null, null, method -> {
+                BytecodeLabel loop = method.newLabel();
+                BytecodeLabel check = method.newLabel();
+                method
+                        .aload(1)
+                        .checkcast("[I")
+                        .astore(2)
+                        .iconst0()
+                        .istore(3)
+                        .iconst0()
+                        .istore(4)
+                        .goto_(check)
+                        .label(loop)
+                        .iload(3)
+                        .aload(2)
+                        .iload(4)
+                        .arrayLoad(int.class)
+                        .iadd()
+                        .istore(3)
+                        .iinc(4, 1)
+                        .label(check)
+                        .iload(4)
+                        .aload(2)
+                        .arraylength()
+                        .ifIcmplt(loop)
+                        .iload(3)
+                        .ireturn()
+                        .maxs(3, 5);
+            });
+        });
+
+        Class<?> clazz = builtClass.defineAnonymous(BytecodeBuilderTest.class);
+        ToIntFunction<int[]> function = (ToIntFunction<int[]>) assertDoesNotThrow(() -> clazz.getDeclaredConstructor().newInstance());
+        assertEquals(0, function.applyAsInt(new int[0]), builder.getClass().getSimpleName());
+        assertEquals(15, function.applyAsInt(new int[]{1, 2, 3, 4, 5}), builder.getClass().getSimpleName());
+    }
+
+    @Test
+    void lookupswitch() {
+        for (BytecodeBuilder builder : builders()) this.testLookupswitch(builder);
+    }
+
+    private void testLookupswitch(final BytecodeBuilder builder) {
+        BuiltClass builtClass = builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/BytecodeBuilderTestLookup", null, "java/lang/Object", new String[]{"java/util/function/Function"}, clazz -> {
+            clazz.method(builder.opcode("ACC_PUBLIC"), "<init>", "()V", null, null, method -> method
+                    .aload(0)
+                    .invokespecial("java/lang/Object", "<init>", "()V", false)
+                    .return_()
+                    .maxs(1, 1));
+            clazz.method(builder.opcode("ACC_PUBLIC"), "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null, method -> {
+                BytecodeLabel noInteger = method.newLabel();
+                BytecodeLabel minusFive = method.newLabel();
+                BytecodeLabel hundred = method.newLabel();
+                BytecodeLabel other = method.newLabel();
+                method
+                        .aload(1)
+                        .instanceof_("java/lang/Integer")
+                        .ifeq(noInteger)
+                        .aload(1)
+                        .checkcast("java/lang/Integer")
+                        .invokevirtual("java/lang/Integer", "intValue", "()I")
+                        .lookupswitch(other, new int[]{100, -5}, hundred, minusFive) //The keys are sorted by the builder
+                        .label(minusFive)
+                        .ldc("minus five")
+                        .areturn()
+                        .label(hundred)
+                        .ldc("hundred")
+                        .areturn()
+                        .label(other)
+                        .ldc("other")
+                        .areturn()
+                        .label(noInteger)
+                        .ldc("no integer")
+                        .areturn()
+                        .maxs(1, 2);
+            });
+        });
+
+        Class<?> clazz = builtClass.defineAnonymous(BytecodeBuilderTest.class);
+        Function<Object, String> function = (Function<Object, String>) assertDoesNotThrow(() -> clazz.getDeclaredConstructor().newInstance());
+        assertEquals("minus five", function.apply(-5), builder.getClass().getSimpleName());
+        assertEquals("hundred", function.apply(100), builder.getClass().getSimpleName());
+        assertEquals("other", function.apply(7), builder.getClass().getSimpleName());
+        assertEquals("no integer", function.apply("100"), builder.getClass().getSimpleName());
+
+        assertThrows(IllegalArgumentException.class, () -> builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/BytecodeBuilderTestInvalidLookup", null, "java/lang/Object", new String[0], invalidClass -> {
+            invalidClass.method(builder.opcode("ACC_PUBLIC", "ACC_STATIC"), "test", "(I)V", null, null, method -> {
+                BytecodeLabel label = method.newLabel();
+                method
+                        .iload(0)
+                        .lookupswitch(label, new int[]{1, 2}, label)
+                        .label(label)
+                        .return_()
+                        .maxs(1, 1);
+            });
+        }));
+        assertThrows(IllegalArgumentException.class, () -> builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/BytecodeBuilderTestDuplicateLookup", null, "java/lang/Object", new String[0], invalidClass -> {
+            invalidClass.method(builder.opcode("ACC_PUBLIC", "ACC_STATIC"), "test", "(I)V", null, null, method -> {
+                BytecodeLabel label = method.newLabel();
+                method
+                        .iload(0)
+                        .lookupswitch(label, new int[]{1, 1}, label, label)
+                        .label(label)
+                        .return_()
+                        .maxs(1, 1);
+            });
+        }), builder.getClass().getSimpleName());
+    }
+
+    @Test
+    void primitiveArrays() {
+        for (BytecodeBuilder builder : builders()) this.testPrimitiveArrays(builder);
+    }
+
+    private void testPrimitiveArrays(final BytecodeBuilder builder) {
+        BuiltClass builtClass = builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/BytecodeBuilderTestSquares", null, "java/lang/Object", new String[]{"java/util/function/IntFunction"}, clazz -> {
+            clazz.method(builder.opcode("ACC_PUBLIC"), "<init>", "()V", null, null, method -> method
+                    .aload(0)
+                    .invokespecial("java/lang/Object", "<init>", "()V", false)
+                    .return_()
+                    .maxs(1, 1));
+            clazz.method(builder.opcode("ACC_PUBLIC"), "apply", "(I)Ljava/lang/Object;", null, null, method -> {
+                BytecodeLabel loop = method.newLabel();
+                BytecodeLabel check = method.newLabel();
+                method
+                        .iload(1)
+                        .newarray(long.class)
+                        .astore(2)
+                        .iconst0()
+                        .istore(3)
+                        .goto_(check)
+                        .label(loop)
+                        .aload(2)
+                        .iload(3)
+                        .iload(3)
+                        .i2l()
+                        .dup2()
+                        .lmul()
+                        .lconst1()
+                        .ladd()
+                        .arrayStore(long.class)
+                        .iinc(3, 1)
+                        .label(check)
+                        .iload(3)
+                        .iload(1)
+                        .ifIcmplt(loop)
+                        .aload(2)
+                        .areturn()
+                        .maxs(6, 4);
+            });
+        });
+
+        Class<?> clazz = builtClass.defineAnonymous(BytecodeBuilderTest.class);
+        IntFunction<long[]> function = (IntFunction<long[]>) assertDoesNotThrow(() -> clazz.getDeclaredConstructor().newInstance());
+        assertArrayEquals(new long[]{1, 2, 5, 10}, function.apply(4));
+    }
+
+    @Test
+    void computeMaxs() {
+        BytecodeBuilder builder = BytecodeBuilder.get();
+        BuiltClass builtClass = builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/BytecodeBuilderTestMaxs", null, "java/lang/Object", new String[]{"java/util/function/Supplier"}, ComputeMode.MAXS, clazz -> {
+            clazz.method(builder.opcode("ACC_PUBLIC"), "<init>", "()V", null, null, method -> method
+                    .aload(0)
+                    .invokespecial("java/lang/Object", "<init>", "()V", false)
+                    .return_()
+                    .maxs(0, 0));
+            clazz.method(builder.opcode("ACC_PUBLIC"), "get", "()Ljava/lang/Object;", null, null, method -> method
+                    .ldc(6L)
+                    .ldc(7L)
+                    .lmul()
+                    .lstore(1)
+                    .lload(1)
+                    .invokestatic("java/lang/Long", "valueOf", "(J)Ljava/lang/Long;", false)
+                    .areturn()
+                    .maxs(0, 0));
+        });
+
+        Class<?> clazz = builtClass.defineAnonymous(BytecodeBuilderTest.class);
+        Supplier<Long> supplier = (Supplier<Long>) assertDoesNotThrow(() -> clazz.getDeclaredConstructor().newInstance());
+        assertEquals(42L, supplier.get());
+    }
+
+    @Test
+    void classTemplate() {
+        BytecodeBuilder builder = BytecodeBuilder.get();
+        ClassTemplate template = new ClassTemplate(builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/" + ClassTemplate.placeholder(0), null, "java/lang/Object", new String[]{"java/util/function/Supplier"}, clazz -> {
+            clazz.method(builder.opcode("ACC_PUBLIC"), "<init>", "()V", null, null, method -> method
+                    .aload(0)
+                    .invokespecial("java/lang/Object", "<init>", "()V", false)
+                    .return_()
+                    .maxs(1, 1));
+            clazz.method(builder.opcode("ACC_PUBLIC"), "get", "()Ljava/lang/Object;", null, null, method -> method
+                    .ldc("Hello " + ClassTemplate.placeholder(1))
+                    .areturn()
+                    .maxs(1, 1));
+        }));
+        assertEquals(2, template.getPatchCount());
+
+        for (String name : new String[]{"World", "Template"}) {
+            BuiltClass builtClass = template.instantiate("BytecodeBuilderTest" + name, name);
+            assertEquals("net/lenni0451/reflect/bytecode/BytecodeBuilderTest" + name, builtClass.getName());
+            Class<?> clazz = builtClass.defineAnonymous(BytecodeBuilderTest.class);
+            Supplier<String> supplier = (Supplier<String>) assertDoesNotThrow(() -> clazz.getDeclaredConstructor().newInstance());
+            assertEquals("Hello " + name, supplier.get());
+        }
+    }
+
+    private static List<BytecodeBuilder> builders() {
+        List<BytecodeBuilder> builders = new ArrayList<>();
+        for (String impl : new String[]{"classfile.ClassFileBuilder", "asm.DirectASMBuilder", "asm.ASMBuilder"}) {
+            try {
+                Class<?> builderClass = Class.forName("net.lenni0451.reflect.bytecode.impl." + impl);
+                builders.add((BytecodeBuilder) TRUSTED_LOOKUP.findConstructor(builderClass, MethodType.methodType(void.class)).invoke());
+            } catch (Throwable ignored) {
+                //The backend is not supported by the current runtime
+            }
+        }
+        assertFalse(builders.isEmpty());
+        return builders;
+    }
+
 }
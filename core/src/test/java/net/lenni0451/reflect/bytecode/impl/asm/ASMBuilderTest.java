@@ -0,0 +1,60 @@
+package net.lenni0451.reflect.bytecode.impl.asm;
+
+import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
+import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
+import net.lenni0451.reflect.bytecode.wrapper.BytecodeLabel;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ASMBuilderTest {
+
+    @Test
+    void directBackend() {
+        assertFalse(BytecodeBuilder.get() instanceof ASMBuilder, "The reflective ASM backend is used although ASM is on the classpath");
+    }
+
+    @Test
+    void sameBytecode() {
+        byte[] reflective = build(new ASMBuilder()).toBytes();
+        BuiltClass direct = build(new DirectASMBuilder());
+        assertArrayEquals(reflective, direct.toBytes());
+
+        IntFunction<Object> function = (IntFunction<Object>) assertDoesNotThrow(() -> direct.defineAnonymous(ASMBuilderTest.class).getDeclaredConstructor().newInstance());
+        assertEquals("zero", function.apply(0));
+        assertEquals(1L, function.apply(1));
+        assertNull(function.apply(2));
+    }
+
+    private static BuiltClass build(final BytecodeBuilder builder) {
+        return builder.class_(builder.opcode("ACC_PUBLIC"), "net/lenni0451/reflect/bytecode/impl/asm/ASMBuilderTestFunction", null, "java/lang/Object", new String[]{"java/util/function/IntFunction"}, clazz -> {
+            clazz.method(builder.opcode("ACC_PUBLIC"), "<init>", "()V", null, null, method -> method
+                    .aload(0)
+                    .invokespecial("java/lang/Object", "<init>", "()V", false)
+                    .return_()
+                    .maxs(1, 1));
+            clazz.method(builder.opcode("ACC_PUBLIC"), "apply", "(I)Ljava/lang/Object;", null, null, method -> {
+                BytecodeLabel zero = method.newLabel();
+                BytecodeLabel one = method.newLabel();
+                BytecodeLabel other = method.newLabel();
+                method
+                        .iload(1)
+                        .tableswitch(0, 1, other, zero, one)
+                        .label(zero)
+                        .ldc("zero")
+                        .areturn()
+                        .label(one)
+                        .lconst1()
+                        .invokestatic("java/lang/Long", "valueOf", "(J)Ljava/lang/Long;", false)
+                        .areturn()
+                        .label(other)
+                        .aconstNull()
+                        .areturn()
+                        .maxs(2, 2);
+            });
+        });
+    }
+
+}
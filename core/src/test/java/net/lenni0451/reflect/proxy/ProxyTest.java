@@ -1,12 +1,29 @@
 package net.lenni0451.reflect.proxy;
 
 import net.lenni0451.reflect.Methods;
+import net.lenni0451.reflect.exceptions.ConstructorNotFoundException;
+import net.lenni0451.reflect.proxy.impl.BatchQueue;
+import net.lenni0451.reflect.proxy.impl.DelegatingProxy;
+import net.lenni0451.reflect.proxy.impl.MemoCache;
+import net.lenni0451.reflect.proxy.impl.MethodMetrics;
 import net.lenni0451.reflect.proxy.impl.Proxy;
+import net.lenni0451.reflect.proxy.impl.ProxyMethod;
 import net.lenni0451.reflect.proxy.test.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +52,29 @@ class ProxyTest {
         assertEquals(10L, this.proxy.conv((byte) 10));
     }
 
+    @Test
+    void testSpecializedInvoke() {
+        ((Proxy) this.proxy).setInvocationHandler(new InvocationHandler() {
+            @Override
+            public Object invoke(Object thiz, ProxyMethod proxyMethod, Object... args) {
+                throw new IllegalStateException("The specialized invoke method should have been called");
+            }
+
+            @Override
+            public Object invoke(Object thiz, ProxyMethod proxyMethod) {
+                return proxyMethod.invokeSuperWith(thiz);
+            }
+
+            @Override
+            public Object invoke(Object thiz, ProxyMethod proxyMethod, byte arg0) {
+                return proxyMethod.invokeSuperWith(thiz, arg0);
+            }
+        });
+        assertEquals(1, this.proxy.test());
+        assertEquals(10L, this.proxy.conv((byte) 10));
+        assertThrows(IllegalStateException.class, () -> this.proxy.takeAll(true, (byte) 1, (short) 2, 'c', 3, 4L, 5F, 6D, "test"));
+    }
+
     @Test
     void testInvokeOther() {
         Class2 other = new Class2();
@@ -70,7 +110,7 @@ class ProxyTest {
 
     @Test
     void testInvokeAbstractSuper() {
-        ((Proxy) this.proxy).setInvocationHandler((thiz, proxyMethod, args) -> proxyMethod.invokeSuper(args));
+        ((Proxy) this.proxy).setInvocationHandler((thiz, proxyMethod, args) -> proxyMethod.invokeSuperWith(thiz, args));
         assertThrows(AbstractMethodError.class, () -> ((Interface1) this.proxy).interfaceTest());
     }
 
@@ -148,7 +188,7 @@ class ProxyTest {
                     if (proxyMethod.getInvokedMethod().getName().equals("pkgPrivateMethod")) {
                         return 12345;
                     }
-                    return proxyMethod.invokeSuper(args);
+                    return proxyMethod.invokeSuperWith(thiz, args);
                 })
                 .build();
         Class5 proxy = proxyClass.allocateInstance();
@@ -156,4 +196,340 @@ class ProxyTest {
         assertEquals(12345, proxy.invokeMethod());
     }
 
+    @Test
+    void testCaching() {
+        ProxyClass proxyClass1 = new ProxyBuilder().setSuperClass(Class1.class).addInterface(Interface1.class).build();
+        ProxyClass proxyClass2 = new ProxyBuilder().setSuperClass(Class1.class).addInterface(Interface1.class).setInvocationHandler(InvocationHandler.cancelling()).build();
+        assertSame(proxyClass1.getProxyClass(), proxyClass2.getProxyClass());
+        assertNotSame(proxyClass1.getProxyClass(), new ProxyBuilder().setSuperClass(Class1.class).build().getProxyClass());
+
+        //Custom method filters can only be cached with a cache key
+        ProxyBuilder filteredBuilder = new ProxyBuilder().setSuperClass(Class1.class).setMethodFilter(method -> !method.getName().equals("test"));
+        assertNotSame(filteredBuilder.build().getProxyClass(), new ProxyBuilder().setSuperClass(Class1.class).setMethodFilter(filteredBuilder.getMethodFilter()).build().getProxyClass());
+        filteredBuilder.setCacheKey("no test");
+        assertSame(filteredBuilder.build().getProxyClass(), new ProxyBuilder().setSuperClass(Class1.class).setMethodFilter(method -> true).setCacheKey("no test").build().getProxyClass());
+    }
+
+    @Test
+    void testSharedProxyMethods() {
+        ProxyMethod[] proxyMethods = new ProxyMethod[2];
+        InvocationHandler handler = (thiz, proxyMethod, args) -> {
+            proxyMethods[thiz == this.proxy ? 0 : 1] = proxyMethod;
+            return proxyMethod.invokeSuperWith(thiz, args);
+        };
+        ((Proxy) this.proxy).setInvocationHandler(handler);
+        Class1 other = new ProxyBuilder().setSuperClass(Class1.class).addInterface(Interface1.class).setInvocationHandler(handler).build().allocateInstance();
+        assertEquals(10L, this.proxy.conv((byte) 10));
+        assertEquals(20L, other.conv((byte) 20));
+        assertNotNull(proxyMethods[0]);
+        assertSame(proxyMethods[0], proxyMethods[1]);
+    }
+
+    @Test
+    void testDelegating() {
+        ProxyClass proxyClass = new ProxyBuilder()
+                .setSuperClass(Class1.class)
+                .addInterface(Interface1.class)
+                .setDelegating(true)
+                .setMethodFilter(m -> m.getName().equals("getInt"))
+                .setInvocationHandler((thiz, proxyMethod, args) -> 42)
+                .build();
+        Class2 delegate = new Class2();
+        Class1 proxy = proxyClass.allocateInstance(delegate);
+        assertSame(delegate, ((DelegatingProxy) proxy).getDelegate());
+        assertEquals(2, proxy.test());
+        assertEquals(12, ((Interface1) proxy).interfaceTest());
+        assertEquals(10L, proxy.conv((byte) 10));
+        assertEquals(42, proxy.getInt());
+        assertEquals(delegate.toString(), proxy.toString());
+
+        ((DelegatingProxy) proxy).setDelegate(null);
+        assertThrows(NullPointerException.class, proxy::test);
+        assertThrows(IllegalStateException.class, () -> new ProxyBuilder().setSuperClass(Class1.class).build().allocateInstance(delegate));
+    }
+
+    @Test
+    void testInterceptors() {
+        List<String> calls = new ArrayList<>();
+        ProxyInterceptor first = new ProxyInterceptor() {
+            @Override
+            public void before(Object thiz, ProxyMethod proxyMethod, Object[] args) {
+                calls.add("before1 " + proxyMethod.getInvokedMethod().getName() + " " + args.length);
+            }
+
+            @Override
+            public Object after(Object thiz, ProxyMethod proxyMethod, Object result) {
+                calls.add("after1 " + result);
+                return result;
+            }
+        };
+        ProxyInterceptor second = new ProxyInterceptor() {
+            @Override
+            public void before(Object thiz, ProxyMethod proxyMethod) {
+                calls.add("before2 " + proxyMethod.getInvokedMethod().getName());
+            }
+
+            @Override
+            public Object after(Object thiz, ProxyMethod proxyMethod, Object result) {
+                calls.add("after2 " + result);
+                return result instanceof Long ? (Long) result * 2 : result;
+            }
+
+            @Override
+            public void afterThrowing(Object thiz, ProxyMethod proxyMethod, Throwable throwable) {
+                calls.add("throw2 " + throwable.getMessage());
+            }
+        };
+        Class1 proxy = new ProxyBuilder()
+                .setSuperClass(Class1.class)
+                .addInterceptor(first)
+                .addInterceptor(second)
+                .setInvocationHandler((thiz, proxyMethod, args) -> {
+                    if (proxyMethod.getInvokedMethod().getName().equals("getInt")) throw new IllegalStateException("failed");
+                    return proxyMethod.invokeSuperWith(thiz, args);
+                })
+                .build()
+                .allocateInstance();
+
+        assertEquals(20L, proxy.conv((byte) 10));
+        assertEquals("failed", assertThrows(IllegalStateException.class, proxy::getInt).getMessage());
+        assertEquals(Arrays.asList("before1 conv 1", "before2 conv", "after2 10", "after1 20", "before1 getInt 0", "before2 getInt", "throw2 failed"), calls);
+    }
+
+    @Test
+    void testCachingDefiner() throws Throwable {
+        File cacheDir = Files.createTempDirectory("proxy-cache").toFile();
+        ProxyClass first = new ProxyBuilder()
+                .setSuperClass(Class1.class)
+                .setMethodFilter(m -> m.getName().equals("test"))
+                .setClassDefiner(ProxyClassDefiner.caching(ProxyClassDefiner.loader(new URLClassLoader(new URL[0], ProxyTest.class.getClassLoader())), cacheDir))
+                .setInvocationHandler((thiz, proxyMethod, args) -> 5)
+                .build();
+        ProxyClass second = new ProxyBuilder()
+                .setSuperClass(Class1.class)
+                .setMethodFilter(m -> m.getName().equals("test"))
+                .setClassDefiner(ProxyClassDefiner.caching(ProxyClassDefiner.loader(new URLClassLoader(new URL[0], ProxyTest.class.getClassLoader())), cacheDir))
+                .setInvocationHandler((thiz, proxyMethod, args) -> 6)
+                .build();
+
+        assertNotSame(first.getProxyClass(), second.getProxyClass());
+        assertEquals(first.getProxyClass().getName(), second.getProxyClass().getName());
+        assertEquals(5, first.<Class1>allocateInstance().test());
+        assertEquals(6, second.<Class1>allocateInstance().test());
+    }
+
+    @Test
+    void testMetrics() {
+        ProxyClass proxyClass = new ProxyBuilder()
+                .setSuperClass(Class1.class)
+                .setDelegating(true)
+                .setMethodFilter(m -> m.getName().equals("getInt"))
+                .setMetrics(true)
+                .addInterceptor(new ProxyInterceptor() {
+                    @Override
+                    public void afterThrowing(Object thiz, ProxyMethod proxyMethod, Throwable throwable) {
+                        throwable.addSuppressed(new RuntimeException());
+                    }
+                })
+                .setInvocationHandler((thiz, proxyMethod, args) -> {
+                    throw new IllegalStateException();
+                })
+                .build();
+        Class1 proxy = proxyClass.allocateInstance(new Class2());
+        assertEquals(2, proxy.test());
+        assertEquals(2, proxy.test());
+        assertEquals(1, assertThrows(IllegalStateException.class, proxy::getInt).getSuppressed().length);
+
+        MethodMetrics testMetrics = Arrays.stream(proxyClass.getMetrics()).filter(m -> m.getMethod().getName().equals("test")).findFirst().orElseThrow(AssertionError::new);
+        MethodMetrics getIntMetrics = Arrays.stream(proxyClass.getMetrics()).filter(m -> m.getMethod().getName().equals("getInt")).findFirst().orElseThrow(AssertionError::new);
+        assertEquals(2, testMetrics.getCount());
+        assertEquals(0, testMetrics.getFailures());
+        assertEquals(2, Arrays.stream(testMetrics.getHistogram()).sum());
+        assertEquals(1, getIntMetrics.getCount());
+        assertEquals(1, getIntMetrics.getFailures());
+        assertEquals(0, new ProxyBuilder().setSuperClass(Class1.class).build().getMetrics().length);
+    }
+
+    @Test
+    void testFactory() {
+        ProxyClass proxyClass = new ProxyBuilder()
+                .setSuperClass(Class6.class)
+                .setInvocationHandler((thiz, proxyMethod, args) -> proxyMethod.getInvokedMethod().getName().equals("getValue") ? 42 : proxyMethod.invokeSuperWith(thiz, args))
+                .build();
+        ProxyFactory factory = proxyClass.factory(String.class, int.class);
+        assertSame(factory, proxyClass.factory(String.class, int.class));
+
+        Class6 proxy = factory.newInstance("test", 1);
+        assertEquals("test", proxy.getName());
+        assertEquals(42, proxy.getValue());
+        assertSame(proxyClass.getInvocationHandler(), ((Proxy) proxy).getInvocationHandler());
+        Class6 instantiated = proxyClass.instantiate(new Class[]{String.class, int.class}, new Object[]{"other", 2});
+        assertEquals("other", instantiated.getName());
+
+        InvocationHandler cancelling = InvocationHandler.cancelling();
+        proxyClass.setInvocationHandler(cancelling);
+        assertNotSame(factory, proxyClass.factory(String.class, int.class));
+        assertSame(factory.getClass(), proxyClass.factory(String.class, int.class).getClass());
+        assertSame(factory.getClass(), new ProxyClass(proxyClass.getProxyClass(), cancelling).factory(String.class, int.class).getClass());
+        assertSame(cancelling, ((Proxy) proxyClass.factory(String.class, int.class).newInstance("test", 1)).getInvocationHandler());
+        assertThrows(ConstructorNotFoundException.class, () -> proxyClass.factory(int.class));
+    }
+
+    @Test
+    void testMemoizing() {
+        AtomicInteger calls = new AtomicInteger();
+        ProxyClass proxyClass = new ProxyBuilder()
+                .setSuperClass(Class1.class)
+                .setMethodFilter(m -> m.getName().equals("conv") || m.getName().equals("getString") || m.getName().equals("takeAll"))
+                .setMemoizing(2, 0, TimeUnit.SECONDS)
+                .setInvocationHandler((thiz, proxyMethod, args) -> {
+                    calls.incrementAndGet();
+                    return proxyMethod.invokeSuperWith(thiz, args);
+                })
+                .build();
+        Class1 proxy = proxyClass.allocateInstance();
+        assertEquals(10L, proxy.conv((byte) 10));
+        assertEquals(10L, proxy.conv((byte) 10));
+        assertEquals("test", proxy.getString());
+        assertEquals("test", proxy.getString());
+        assertEquals(2, calls.get());
+
+        assertEquals(20L, proxy.conv((byte) 20));
+        assertEquals(30L, proxy.conv((byte) 30));
+        assertEquals(10L, proxy.conv((byte) 10)); //Evicted by the size limit
+        assertEquals(5, calls.get());
+
+        proxy.takeAll(true, (byte) 0, (short) 0, 'a', 0, 0, 0, 0, null);
+        proxy.takeAll(true, (byte) 0, (short) 0, 'a', 0, 0, 0, 0, null);
+        assertEquals(7, calls.get()); //Void methods are not memoized
+
+        Class1 other = proxyClass.allocateInstance();
+        assertEquals(10L, other.conv((byte) 10));
+        assertEquals(8, calls.get()); //The cache is per instance
+
+        Class1 constructed = proxyClass.instantiate(new Class[0], new Object[0]);
+        assertEquals(10L, constructed.conv((byte) 10));
+        assertEquals(10L, constructed.conv((byte) 10));
+        assertEquals(9, calls.get()); //The cache is created by the constructor
+
+        MemoCache cache = new MemoCache(2, TimeUnit.HOURS.toNanos(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 3);
+        cache.put("c", 4);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b")); //Replaced results count as new
+        assertEquals(3, cache.get("a"));
+        for (int i = 0; i < 100; i++) cache.put("a", i);
+        assertEquals(2, cache.size());
+        assertEquals(99, cache.get("a"));
+        assertEquals(4, cache.get("c"));
+    }
+
+    @Test
+    void testBatching() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        List<List<BatchQueue.Invocation>> batches = Collections.synchronizedList(new ArrayList<>());
+        BatchQueue batchQueue = new BatchQueue(batches::add, 2, 1, TimeUnit.MINUTES);
+        ProxyClass proxyClass = new ProxyBuilder()
+                .setSuperClass(Class1.class)
+                .setMethodFilter(m -> m.getName().equals("conv") || m.getName().equals("takeAll"))
+                .setBatching(batchQueue)
+                .setInvocationHandler((thiz, proxyMethod, args) -> {
+                    calls.incrementAndGet();
+                    return proxyMethod.invokeSuperWith(thiz, args);
+                })
+                .build();
+        Class1 proxy = proxyClass.allocateInstance();
+        assertEquals(10L, proxy.conv((byte) 10));
+        assertEquals(1, calls.get()); //Methods with a return value are not batched
+
+        for (int i = 0; i < 3; i++) proxy.takeAll(true, (byte) i, (short) 0, 'a', 0, 0, 0, 0, null);
+        batchQueue.close();
+        assertEquals(1, calls.get());
+        assertEquals(3, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 2));
+        BatchQueue.Invocation invocation = batches.get(batches.size() - 1).get(batches.get(batches.size() - 1).size() - 1);
+        assertSame(proxy, invocation.getThis());
+        assertEquals("takeAll", invocation.getProxyMethod().getInvokedMethod().getName());
+        assertEquals((byte) 2, invocation.getArgs()[1]);
+        assertThrows(IllegalStateException.class, () -> proxy.takeAll(true, (byte) 0, (short) 0, 'a', 0, 0, 0, 0, null));
+
+        CountDownLatch closed = new CountDownLatch(1);
+        BatchQueue[] selfClosing = new BatchQueue[1];
+        selfClosing[0] = new BatchQueue(invocations -> {
+            selfClosing[0].close(); //Must not wait for its own worker
+            closed.countDown();
+        }, 1, 1, TimeUnit.MINUTES);
+        selfClosing[0].submit(proxy, null, new Object[0]);
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testBatchingConcurrentClose() throws InterruptedException {
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger();
+        BatchQueue batchQueue = new BatchQueue(batch -> delivered.addAndGet(batch.size()), 16, 1, TimeUnit.MILLISECONDS);
+        CountDownLatch started = new CountDownLatch(4);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        batchQueue.submit(null, null, new Object[0]);
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException ignored) {
+                }
+            });
+            threads[i].start();
+        }
+        started.await();
+        Thread.sleep(10);
+        batchQueue.close();
+        for (Thread thread : threads) thread.join();
+        assertEquals(accepted.get(), delivered.get());
+        assertEquals(0, batchQueue.size());
+    }
+
+    @Test
+    void testLazy() {
+        AtomicInteger created = new AtomicInteger();
+        ProxyClass proxyClass = ProxyBuilder.lazy(Class1.class, () -> {
+            created.incrementAndGet();
+            return new Class1() {
+                @Override
+                public int test() {
+                    return 5;
+                }
+            };
+        }).build();
+        Class1 proxy = proxyClass.allocateInstance();
+        assertEquals(0, created.get());
+        assertNull(((DelegatingProxy) proxy).getDelegate());
+
+        assertEquals(5, proxy.test());
+        assertEquals(5, proxy.test());
+        assertEquals(10L, proxy.conv((byte) 10));
+        assertEquals(1, created.get());
+        assertNotNull(((DelegatingProxy) proxy).getDelegate());
+
+        Class1 other = proxyClass.allocateInstance();
+        ((DelegatingProxy) other).setDelegate(new Class1());
+        assertEquals(1, other.test());
+        assertEquals(1, created.get());
+
+        ProxyClass nullProxyClass = ProxyBuilder.lazy(Class1.class, () -> null).build();
+        assertSame(proxyClass.getProxyClass(), nullProxyClass.getProxyClass()); //The supplier is not part of the proxy class
+        ProxyClass filteredProxyClass = ProxyBuilder.lazy(Class1.class, () -> null).setMethodFilter(m -> m.getName().equals("test")).build();
+        assertNotSame(proxyClass.getProxyClass(), filteredProxyClass.getProxyClass()); //A changed filter must not reuse the lazy proxy class
+        Class1 nullProxy = nullProxyClass.allocateInstance();
+        assertThrows(NullPointerException.class, nullProxy::test);
+
+        Class1 constructed = proxyClass.instantiate(new Class[0], new Object[0]);
+        assertEquals(5, constructed.test());
+        assertEquals(2, created.get());
+    }
+
 }
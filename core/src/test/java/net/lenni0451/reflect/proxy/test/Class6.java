@@ -0,0 +1,21 @@
+package net.lenni0451.reflect.proxy.test;
+
+public class Class6 {
+
+    private final String name;
+    private final int value;
+
+    public Class6(final String name, final int value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getValue() {
+        return this.value;
+    }
+
+}
@@ -0,0 +1,127 @@
+package net.lenni0451.reflect.utils;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryClassLoaderTest {
+
+    private static final String SHADOWED = ShadowedSupplier.class.getName();
+
+    private static byte[] makeSupplier(final String name, final String value) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name.replace('.', '/'), null, "java/lang/Object", new String[]{"java/util/function/Supplier"});
+
+        MethodVisitor c = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        c.visitCode();
+        c.visitVarInsn(Opcodes.ALOAD, 0);
+        c.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        c.visitInsn(Opcodes.RETURN);
+        c.visitMaxs(0, 0);
+        c.visitEnd();
+
+        MethodVisitor s = cw.visitMethod(Opcodes.ACC_PUBLIC, "get", "()Ljava/lang/Object;", null, null);
+        s.visitCode();
+        s.visitLdcInsn(value);
+        s.visitInsn(Opcodes.ARETURN);
+        s.visitMaxs(0, 0);
+        s.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static String get(final ClassLoader classLoader, final String name) {
+        Class<?> clazz = assertDoesNotThrow(() -> Class.forName(name, true, classLoader));
+        Supplier<?> supplier = (Supplier<?>) assertDoesNotThrow(() -> clazz.getDeclaredConstructor().newInstance());
+        return (String) supplier.get();
+    }
+
+    private static byte[] read(final InputStream is) {
+        assertNotNull(is);
+        return assertDoesNotThrow(() -> {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = is.read(buffer)) != -1) baos.write(buffer, 0, length);
+            is.close();
+            return baos.toByteArray();
+        });
+    }
+
+    @Test
+    void loadClass() {
+        InMemoryClassLoader classLoader = new InMemoryClassLoader(InMemoryClassLoaderTest.class.getClassLoader());
+        classLoader.addClass("net.lenni0451.reflect.utils.MemorySupplier", makeSupplier("net.lenni0451.reflect.utils.MemorySupplier", "memory"));
+        assertEquals("memory", get(classLoader, "net.lenni0451.reflect.utils.MemorySupplier"));
+        assertThrows(ClassNotFoundException.class, () -> Class.forName("net.lenni0451.reflect.utils.MissingSupplier", false, classLoader));
+        assertThrows(IllegalStateException.class, () -> classLoader.addClass("net.lenni0451.reflect.utils.MemorySupplier", new byte[0]));
+    }
+
+    @Test
+    void policies() {
+        InMemoryClassLoader parentFirst = new InMemoryClassLoader(InMemoryClassLoaderTest.class.getClassLoader());
+        parentFirst.addClass(SHADOWED, makeSupplier(SHADOWED, "child"));
+        assertEquals("parent", get(parentFirst, SHADOWED));
+
+        InMemoryClassLoader childFirst = new InMemoryClassLoader(InMemoryClassLoaderTest.class.getClassLoader(), InMemoryClassLoader.Policy.CHILD_FIRST);
+        childFirst.addClass(SHADOWED, makeSupplier(SHADOWED, "child"));
+        assertEquals("child", get(childFirst, SHADOWED));
+        assertEquals(childFirst, assertDoesNotThrow(() -> childFirst.loadClass(SHADOWED)).getClassLoader());
+        assertEquals(Supplier.class, assertDoesNotThrow(() -> childFirst.loadClass(Supplier.class.getName())));
+    }
+
+    @Test
+    void resources() {
+        InMemoryClassLoader classLoader = new InMemoryClassLoader(InMemoryClassLoaderTest.class.getClassLoader(), InMemoryClassLoader.Policy.CHILD_FIRST);
+        byte[] bytecode = makeSupplier("net.lenni0451.reflect.utils.ResourceSupplier", "resource");
+        classLoader.addClass("net.lenni0451.reflect.utils.ResourceSupplier", bytecode);
+        classLoader.addResource("data/test.txt", "Hello World".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("Hello World", new String(read(classLoader.getResourceAsStream("data/test.txt")), StandardCharsets.UTF_8));
+        URL url = classLoader.getResource("data/test.txt");
+        assertNotNull(url);
+        assertEquals("Hello World", new String(read(assertDoesNotThrow(url::openStream)), StandardCharsets.UTF_8));
+        assertArrayEquals(bytecode, read(classLoader.getResourceAsStream("net/lenni0451/reflect/utils/ResourceSupplier.class")));
+        assertNull(classLoader.getResource("data/missing.txt"));
+    }
+
+    @Test
+    void parallelLoading() {
+        InMemoryClassLoader classLoader = new InMemoryClassLoader(InMemoryClassLoaderTest.class.getClassLoader());
+        for (int i = 0; i < 64; i++) {
+            String name = "net.lenni0451.reflect.utils.ParallelSupplier" + i;
+            classLoader.addClass(name, makeSupplier(name, String.valueOf(i)));
+        }
+        List<String> values = IntStream.range(0, 256).parallel()
+                .mapToObj(i -> get(classLoader, "net.lenni0451.reflect.utils.ParallelSupplier" + (i % 64)))
+                .collect(Collectors.toList());
+        for (int i = 0; i < values.size(); i++) assertEquals(String.valueOf(i % 64), values.get(i));
+        Set<Class<?>> classes = IntStream.range(0, 64)
+                .mapToObj(i -> assertDoesNotThrow(() -> classLoader.loadClass("net.lenni0451.reflect.utils.ParallelSupplier" + i)))
+                .collect(Collectors.toSet());
+        assertEquals(64, classes.size());
+    }
+
+
+    public static class ShadowedSupplier implements Supplier<String> {
+        @Override
+        public String get() {
+            return "parent";
+        }
+    }
+
+}
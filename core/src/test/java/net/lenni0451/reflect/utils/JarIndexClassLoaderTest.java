@@ -0,0 +1,105 @@
+package net.lenni0451.reflect.utils;
+
+import net.lenni0451.reflect.Classes;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JarIndexClassLoaderTest {
+
+    private static byte[] makeSupplier(final String name, final String value) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name.replace('.', '/'), null, "java/lang/Object", new String[]{"java/util/function/Supplier"});
+
+        MethodVisitor c = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        c.visitCode();
+        c.visitVarInsn(Opcodes.ALOAD, 0);
+        c.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        c.visitInsn(Opcodes.RETURN);
+        c.visitMaxs(0, 0);
+        c.visitEnd();
+
+        MethodVisitor s = cw.visitMethod(Opcodes.ACC_PUBLIC, "get", "()Ljava/lang/Object;", null, null);
+        s.visitCode();
+        s.visitLdcInsn(value);
+        s.visitInsn(Opcodes.ARETURN);
+        s.visitMaxs(0, 0);
+        s.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static File writeJar(final String name, final String className, final String value) throws IOException {
+        File jar = File.createTempFile(name, ".jar");
+        jar.deleteOnExit();
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar))) {
+            jos.putNextEntry(new JarEntry(className.replace('.', '/') + ".class"));
+            jos.write(makeSupplier(className, value));
+            jos.closeEntry();
+            jos.putNextEntry(new JarEntry("data/value.txt"));
+            jos.write(value.getBytes(StandardCharsets.UTF_8));
+            jos.closeEntry();
+        }
+        return jar;
+    }
+
+    private static String get(final ClassLoader classLoader, final String name) {
+        Class<?> clazz = assertDoesNotThrow(() -> Class.forName(name, true, classLoader));
+        Supplier<?> supplier = (Supplier<?>) assertDoesNotThrow(() -> clazz.getDeclaredConstructor().newInstance());
+        return (String) supplier.get();
+    }
+
+    @Test
+    void loadClassesAndResources() throws IOException {
+        File first = writeJar("first", "net.lenni0451.reflect.utils.FirstJarSupplier", "first");
+        File second = writeJar("second", "net.lenni0451.reflect.utils.SecondJarSupplier", "second");
+        try (JarIndexClassLoader classLoader = new JarIndexClassLoader(null, new JarIndex().add(first).add(second))) {
+            assertEquals("first", get(classLoader, "net.lenni0451.reflect.utils.FirstJarSupplier"));
+            assertEquals("second", get(classLoader, "net.lenni0451.reflect.utils.SecondJarSupplier"));
+            assertThrows(ClassNotFoundException.class, () -> Class.forName("net.lenni0451.reflect.utils.MissingJarSupplier", false, classLoader));
+
+            Class<?> clazz = assertDoesNotThrow(() -> Class.forName("net.lenni0451.reflect.utils.FirstJarSupplier", false, classLoader));
+            assertEquals(first.toURI().toURL(), clazz.getProtectionDomain().getCodeSource().getLocation());
+            assertEquals("net.lenni0451.reflect.utils", clazz.getPackage().getName());
+
+            try (InputStream is = classLoader.getResourceAsStream("data/value.txt")) {
+                assertNotNull(is);
+                byte[] data = new byte[16];
+                assertEquals("first", new String(data, 0, is.read(data), StandardCharsets.UTF_8));
+            }
+            List<URL> urls = Collections.list(classLoader.getResources("data/value.txt"));
+            assertEquals(2, urls.size());
+            assertTrue(urls.get(1).toString().contains(second.getName()));
+        }
+    }
+
+    @Test
+    void addJar() throws IOException {
+        File jar = writeJar("added", "net.lenni0451.reflect.utils.AddedJarSupplier", "added");
+        Classes.setLookupCacheSize(16);
+        try (JarIndexClassLoader classLoader = new JarIndexClassLoader(null, new JarIndex())) {
+            assertNull(Classes.byName("net.lenni0451.reflect.utils.AddedJarSupplier", false, classLoader));
+            classLoader.addJar(jar.toURI().toURL());
+            assertNotNull(Classes.byName("net.lenni0451.reflect.utils.AddedJarSupplier", false, classLoader));
+        } finally {
+            Classes.setLookupCacheSize(0);
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package net.lenni0451.reflect.utils;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JarIndexTest {
+
+    private static File first;
+    private static File second;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        first = writeJar("first", "a/b/Test.class", "a/b/data.txt", "root.txt");
+        second = writeJar("second", "a/b/data.txt", "a/c/Other.class");
+    }
+
+    private static File writeJar(final String name, final String... entries) throws IOException {
+        File jar = File.createTempFile(name, ".jar");
+        jar.deleteOnExit();
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar))) {
+            for (String entry : entries) {
+                jos.putNextEntry(new JarEntry(entry));
+                jos.write((name + ":" + entry).getBytes(StandardCharsets.UTF_8));
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Test
+    void findJar() {
+        JarIndex index = new JarIndex().add(first).add(second);
+        assertEquals(first.getAbsoluteFile(), index.findJar("a/b/data.txt"));
+        assertEquals(first.getAbsoluteFile(), index.findJar("/root.txt"));
+        assertEquals(first.getAbsoluteFile(), index.findClassJar("a.b.Test"));
+        assertEquals(second.getAbsoluteFile(), index.findClassJar("a.c.Other"));
+        assertNull(index.findJar("a/b/missing.txt"));
+        assertFalse(index.contains("x/y/z.txt"));
+    }
+
+    @Test
+    void getPackageJars() {
+        JarIndex index = new JarIndex().add(first).add(second).add(first);
+        assertEquals(Arrays.asList(first.getAbsoluteFile(), second.getAbsoluteFile()), index.getJars());
+        assertEquals(Arrays.asList(first.getAbsoluteFile(), second.getAbsoluteFile()), index.getPackageJars("a.b"));
+        assertEquals(Arrays.asList(second.getAbsoluteFile()), index.getPackageJars("a.c"));
+        assertTrue(index.getPackageJars("x").isEmpty());
+    }
+
+    @Test
+    void findResource() throws IOException {
+        JarIndex index = new JarIndex().add(second.toURI().toURL()).add(first.toURI().toURL());
+        URL url = index.findResource("a/b/data.txt");
+        assertNotNull(url);
+        try (InputStream is = url.openStream()) {
+            byte[] data = new byte[64];
+            int length = is.read(data);
+            assertEquals("second:a/b/data.txt", new String(data, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void prependedData() throws IOException {
+        File jar = File.createTempFile("prepended", ".jar");
+        jar.deleteOnExit();
+        try (FileOutputStream fos = new FileOutputStream(jar)) {
+            fos.write("#!/bin/sh\nexec java -jar \"$0\"\n".getBytes(StandardCharsets.UTF_8));
+            fos.write(Files.readAllBytes(first.toPath()));
+        }
+        JarIndex index = new JarIndex().add(jar);
+        assertEquals(jar.getAbsoluteFile(), index.findClassJar("a.b.Test"));
+        assertEquals(jar.getAbsoluteFile(), index.findJar("root.txt"));
+    }
+
+    @Test
+    void findJars() {
+        JarIndex index = new JarIndex().add(first).add(second);
+        assertEquals(Arrays.asList(first.getAbsoluteFile(), second.getAbsoluteFile()), index.findJars("a/b/data.txt"));
+        assertEquals(Arrays.asList(second.getAbsoluteFile()), index.findJars("/a/c/Other.class"));
+        assertTrue(index.findJars("a/b/missing.txt").isEmpty());
+    }
+
+    @Test
+    void ofSystemClassPath() {
+        JarIndex index = assertDoesNotThrow(JarIndex::ofSystemClassPath);
+        for (File jar : index.getJars()) assertTrue(jar.isFile());
+    }
+
+}
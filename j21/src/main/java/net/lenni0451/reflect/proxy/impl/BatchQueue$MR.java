@@ -0,0 +1,9 @@
+package net.lenni0451.reflect.proxy.impl;
+
+class BatchQueue$MR {
+
+    public static Thread newWorker(final String name, final Runnable runnable) {
+        return Thread.ofVirtual().name(name).unstarted(runnable);
+    }
+
+}
@@ -2,6 +2,7 @@ package net.lenni0451.reflect.bytecode.impl.classfile;
 
 import net.lenni0451.reflect.bytecode.builder.BytecodeBuilder;
 import net.lenni0451.reflect.bytecode.builder.ClassBuilder;
+import net.lenni0451.reflect.bytecode.builder.ComputeMode;
 import net.lenni0451.reflect.bytecode.wrapper.BuiltClass;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeType;
 
@@ -29,9 +30,11 @@ public class ClassFileBuilder implements BytecodeBuilder {
 
 
     @Override
-    public BuiltClass class_(int access, String name, String signature, String superName, String[] interfaces, Consumer<ClassBuilder> consumer) {
+    public BuiltClass class_(int access, String name, String signature, String superName, String[] interfaces, ComputeMode computeMode, Consumer<ClassBuilder> consumer) {
         ClassDesc desc = ClassFileBuilder.getClassDesc(name);
-        return new ClassFileBuiltClass(name, ClassFile.of().build(desc, classBuilder -> {
+        //The ClassFile API always computes the max stack size and max locals
+        ClassFile classFile = computeMode == ComputeMode.FRAMES ? ClassFile.of() : ClassFile.of(ClassFile.StackMapsOption.DROP_STACK_MAPS);
+        return new ClassFileBuiltClass(name, classFile.build(desc, classBuilder -> {
             classBuilder
                     .withFlags(access)
                     .withSuperclass(ClassFileBuilder.getClassDesc(superName));
@@ -1,15 +1,20 @@
 package net.lenni0451.reflect.bytecode.impl.classfile;
 
+import net.lenni0451.reflect.bytecode.BytecodeUtils;
 import net.lenni0451.reflect.bytecode.builder.MethodBuilder;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeLabel;
 import net.lenni0451.reflect.bytecode.wrapper.BytecodeType;
 
 import java.lang.classfile.CodeBuilder;
 import java.lang.classfile.Label;
+import java.lang.classfile.TypeKind;
+import java.lang.classfile.instruction.SwitchCase;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.DynamicConstantDesc;
 import java.lang.constant.MethodHandleDesc;
 import java.lang.constant.MethodTypeDesc;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ClassFileMethodBuilder implements MethodBuilder {
 
@@ -103,6 +108,450 @@ public class ClassFileMethodBuilder implements MethodBuilder {
         return this;
     }
 
+    @Override
+    public MethodBuilder pop2() {
+        this.codeBuilder.pop2();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dup2() {
+        this.codeBuilder.dup2();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dupX2() {
+        this.codeBuilder.dup_x2();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder swap() {
+        this.codeBuilder.swap();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder iaload() {
+        this.codeBuilder.iaload();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder laload() {
+        this.codeBuilder.laload();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder faload() {
+        this.codeBuilder.faload();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder daload() {
+        this.codeBuilder.daload();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder baload() {
+        this.codeBuilder.baload();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder caload() {
+        this.codeBuilder.caload();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder saload() {
+        this.codeBuilder.saload();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder iastore() {
+        this.codeBuilder.iastore();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lastore() {
+        this.codeBuilder.lastore();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder fastore() {
+        this.codeBuilder.fastore();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dastore() {
+        this.codeBuilder.dastore();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder bastore() {
+        this.codeBuilder.bastore();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder castore() {
+        this.codeBuilder.castore();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder sastore() {
+        this.codeBuilder.sastore();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder arraylength() {
+        this.codeBuilder.arraylength();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder iadd() {
+        this.codeBuilder.iadd();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ladd() {
+        this.codeBuilder.ladd();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder fadd() {
+        this.codeBuilder.fadd();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dadd() {
+        this.codeBuilder.dadd();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder isub() {
+        this.codeBuilder.isub();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lsub() {
+        this.codeBuilder.lsub();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder fsub() {
+        this.codeBuilder.fsub();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dsub() {
+        this.codeBuilder.dsub();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder imul() {
+        this.codeBuilder.imul();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lmul() {
+        this.codeBuilder.lmul();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder fmul() {
+        this.codeBuilder.fmul();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dmul() {
+        this.codeBuilder.dmul();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder idiv() {
+        this.codeBuilder.idiv();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ldiv() {
+        this.codeBuilder.ldiv();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder fdiv() {
+        this.codeBuilder.fdiv();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ddiv() {
+        this.codeBuilder.ddiv();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder irem() {
+        this.codeBuilder.irem();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lrem() {
+        this.codeBuilder.lrem();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder frem() {
+        this.codeBuilder.frem();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder drem() {
+        this.codeBuilder.drem();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ineg() {
+        this.codeBuilder.ineg();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lneg() {
+        this.codeBuilder.lneg();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder fneg() {
+        this.codeBuilder.fneg();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dneg() {
+        this.codeBuilder.dneg();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ishl() {
+        this.codeBuilder.ishl();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lshl() {
+        this.codeBuilder.lshl();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ishr() {
+        this.codeBuilder.ishr();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lshr() {
+        this.codeBuilder.lshr();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder iushr() {
+        this.codeBuilder.iushr();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lushr() {
+        this.codeBuilder.lushr();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder iand() {
+        this.codeBuilder.iand();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder land() {
+        this.codeBuilder.land();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ior() {
+        this.codeBuilder.ior();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lor() {
+        this.codeBuilder.lor();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ixor() {
+        this.codeBuilder.ixor();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lxor() {
+        this.codeBuilder.lxor();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder i2f() {
+        this.codeBuilder.i2f();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder i2d() {
+        this.codeBuilder.i2d();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder l2i() {
+        this.codeBuilder.l2i();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder l2f() {
+        this.codeBuilder.l2f();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder l2d() {
+        this.codeBuilder.l2d();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder f2i() {
+        this.codeBuilder.f2i();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder f2l() {
+        this.codeBuilder.f2l();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder f2d() {
+        this.codeBuilder.f2d();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder d2i() {
+        this.codeBuilder.d2i();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder d2l() {
+        this.codeBuilder.d2l();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder d2f() {
+        this.codeBuilder.d2f();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder i2b() {
+        this.codeBuilder.i2b();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder i2c() {
+        this.codeBuilder.i2c();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder i2s() {
+        this.codeBuilder.i2s();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lcmp() {
+        this.codeBuilder.lcmp();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder fcmpl() {
+        this.codeBuilder.fcmpl();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder fcmpg() {
+        this.codeBuilder.fcmpg();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dcmpl() {
+        this.codeBuilder.dcmpl();
+        return this;
+    }
+
+    @Override
+    public MethodBuilder dcmpg() {
+        this.codeBuilder.dcmpg();
+        return this;
+    }
+
     @Override
     public MethodBuilder iconstM1() {
         this.codeBuilder.iconst_m1();
@@ -259,6 +708,12 @@ public class ClassFileMethodBuilder implements MethodBuilder {
         return this;
     }
 
+    @Override
+    public MethodBuilder iinc(int varIndex, int increment) {
+        this.codeBuilder.iinc(varIndex, increment);
+        return this;
+    }
+
     @Override
     public MethodBuilder new_(String type) {
         this.codeBuilder.new_(ClassFileBuilder.getClassDesc(type));
@@ -277,6 +732,19 @@ public class ClassFileMethodBuilder implements MethodBuilder {
         return this;
     }
 
+    @Override
+    public MethodBuilder newarray(Class<?> primitiveType) {
+        if (!primitiveType.isPrimitive() || void.class.equals(primitiveType)) throw new IllegalArgumentException("Not a primitive type: " + primitiveType.getName());
+        this.codeBuilder.newarray(TypeKind.from(primitiveType));
+        return this;
+    }
+
+    @Override
+    public MethodBuilder instanceof_(String type) {
+        this.codeBuilder.instanceOf(ClassFileBuilder.getClassDesc(type));
+        return this;
+    }
+
     @Override
     public MethodBuilder putfield(String owner, String name, String descriptor) {
         this.codeBuilder.putfield(ClassFileBuilder.getClassDesc(owner), name, ClassFileBuilder.getClassDesc(descriptor));
@@ -337,12 +805,116 @@ public class ClassFileMethodBuilder implements MethodBuilder {
         return this;
     }
 
+    @Override
+    public MethodBuilder ifeq(BytecodeLabel label) {
+        this.codeBuilder.ifeq((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder iflt(BytecodeLabel label) {
+        this.codeBuilder.iflt((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifge(BytecodeLabel label) {
+        this.codeBuilder.ifge((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifgt(BytecodeLabel label) {
+        this.codeBuilder.ifgt((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifle(BytecodeLabel label) {
+        this.codeBuilder.ifle((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifIcmpeq(BytecodeLabel label) {
+        this.codeBuilder.if_icmpeq((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifIcmpne(BytecodeLabel label) {
+        this.codeBuilder.if_icmpne((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifIcmplt(BytecodeLabel label) {
+        this.codeBuilder.if_icmplt((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifIcmpge(BytecodeLabel label) {
+        this.codeBuilder.if_icmpge((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifIcmpgt(BytecodeLabel label) {
+        this.codeBuilder.if_icmpgt((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifIcmple(BytecodeLabel label) {
+        this.codeBuilder.if_icmple((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifAcmpeq(BytecodeLabel label) {
+        this.codeBuilder.if_acmpeq((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifAcmpne(BytecodeLabel label) {
+        this.codeBuilder.if_acmpne((Label) label.getHandle());
+        return this;
+    }
+
+    @Override
+    public MethodBuilder ifnull(BytecodeLabel label) {
+        this.codeBuilder.ifnull((Label) label.getHandle());
+        return this;
+    }
+
     @Override
     public MethodBuilder goto_(BytecodeLabel label) {
         this.codeBuilder.goto_((Label) label.getHandle());
         return this;
     }
 
+    @Override
+    public MethodBuilder tableswitch(int min, int max, BytecodeLabel defaultLabel, BytecodeLabel... labels) {
+        List<SwitchCase> cases = new ArrayList<>(labels.length);
+        for (int i = 0; i < labels.length; i++) cases.add(SwitchCase.of(min + i, (Label) labels[i].getHandle()));
+        this.codeBuilder.tableswitch(min, max, (Label) defaultLabel.getHandle(), cases);
+        return this;
+    }
+
+    @Override
+    public MethodBuilder lookupswitch(BytecodeLabel defaultLabel, int[] keys, BytecodeLabel... labels) {
+        int[] sortedKeys = keys.clone();
+        Object[] sortedLabels = new Object[labels.length];
+        for (int i = 0; i < labels.length; i++) sortedLabels[i] = labels[i].getHandle();
+        BytecodeUtils.sortSwitchCases(sortedKeys, sortedLabels);
+        List<SwitchCase> cases = new ArrayList<>(labels.length);
+        for (int i = 0; i < labels.length; i++) cases.add(SwitchCase.of(sortedKeys[i], (Label) sortedLabels[i]));
+        this.codeBuilder.lookupswitch((Label) defaultLabel.getHandle(), cases);
+        return this;
+    }
+
     @Override
     public BytecodeLabel newLabel() {
         return new BytecodeLabel(this.codeBuilder.newLabel());